@@ -0,0 +1,440 @@
+package business;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Archive des parties terminées, conçue pour en conserver des millions.
+ * <p>
+ * Les parties sont ajoutées à la fin d'un fichier, jamais modifiées. Chacune occupe
+ * au plus 23 octets : un octet pour le nombre de coups et le résultat, un octet pour
+ * l'abandon et le premier joueur, puis une colonne par demi-octet. Les écritures passent
+ * par un tampon vidé dans un {@link FileChannel} ; les lectures se font dans des segments
+ * du fichier projetés en mémoire, ce qui permet un parcours séquentiel sans copie.
+ * </p>
+ * <p>
+ * Un index clairsemé, rangé dans un fichier voisin ({@code .idx}), donne la position d'une
+ * partie sur {@value #PAS_INDEX} : retrouver une partie par son identifiant demande au plus
+ * autant de sauts d'enregistrement. À l'ouverture, la fin de l'archive est relue depuis la dernière
+ * entrée de l'index ; une partie incomplète (arrêt pendant une écriture) est effacée.
+ * </p>
+ */
+public class ArchiveParties implements AutoCloseable {
+
+    /**
+     * Nombre de parties entre deux entrées de l'index clairsemé.
+     */
+    public static final int PAS_INDEX = 256;
+
+    private static final int NB_CASES = Grille.NB_LIGNES * Grille.NB_COLONNES;
+    private static final byte[] ENTETE = {'P', '4', 'A', 1, 0, 0, 0, 0};
+    private static final int TAILLE_ENREGISTREMENT_MAX = 2 + (NB_CASES + 1) / 2;
+    private static final int TAILLE_TAMPON = 64 * 1024;
+    private static final int TAILLE_SEGMENT_DEFAUT = 1 << 30;
+
+    private static final int NUL = 0;
+    private static final int VICTOIRE_JAUNE = 1;
+    private static final int VICTOIRE_ROUGE = 2;
+    private static final int ABANDON = 1;
+    private static final int PREMIER_ROUGE = 1 << 1;
+
+    private final FileChannel canal;
+    private final FileChannel canalIndex;
+    private final ByteBuffer tampon;
+    private final int tailleSegment;
+    private MappedByteBuffer[] segments;
+    private long[] index;
+    private int tailleIndex;
+    private long finDisque;
+    private long nbParties;
+
+    /**
+     * Ouvre une archive, en la créant si elle n'existe pas.
+     *
+     * @param fichier le fichier de l'archive ; l'index est rangé à côté, avec l'extension {@code .idx} en plus.
+     * @throws IOException si un fichier ne peut être lu ou créé, ou si le fichier n'est pas une archive.
+     * @throws IllegalArgumentException si le chemin est null.
+     */
+    public ArchiveParties(Path fichier) throws IOException {
+        this(fichier, TAILLE_SEGMENT_DEFAUT);
+    }
+
+    /**
+     * Ouvre une archive en choisissant la taille des segments projetés en mémoire.
+     *
+     * @param fichier       le fichier de l'archive.
+     * @param tailleSegment la taille d'un segment, en octets.
+     * @throws IOException si un fichier ne peut être lu ou créé, ou si le fichier n'est pas une archive.
+     */
+    ArchiveParties(Path fichier, int tailleSegment) throws IOException {
+        if (fichier == null) {
+            throw new IllegalArgumentException("Le fichier ne peut pas être null");
+        }
+        if (tailleSegment < TAILLE_ENREGISTREMENT_MAX) {
+            throw new IllegalArgumentException("Taille de segment trop petite : " + tailleSegment);
+        }
+        this.tailleSegment = tailleSegment;
+        this.tampon = ByteBuffer.allocate(TAILLE_TAMPON);
+        this.segments = new MappedByteBuffer[0];
+        this.canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.canalIndex = FileChannel.open(fichier.resolveSibling(fichier.getFileName() + ".idx"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            verifierEntete();
+            chargerIndex();
+            relireFin();
+        } catch (IOException | RuntimeException e) {
+            this.canal.close();
+            this.canalIndex.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Ajoute une partie terminée à l'archive.
+     * <p>
+     * La partie peut rester dans un tampon mémoire jusqu'au prochain parcours,
+     * à {@link #synchroniser()} ou à {@link #close()}.
+     * </p>
+     *
+     * @param partie la partie à archiver.
+     * @return l'identifiant de la partie dans l'archive.
+     * @throws IOException si l'écriture échoue.
+     * @throws IllegalArgumentException si la partie est null, n'est pas terminée, n'est pas jouée
+     *                                  sur la grille standard ou si l'ordre de ses coups n'est pas connu.
+     */
+    public synchronized long archiver(Partie partie) throws IOException {
+        if (partie == null) {
+            throw new IllegalArgumentException("La partie ne peut pas être null");
+        }
+        if (!partie.getGrille().isStandard()) {
+            throw new IllegalArgumentException("Seules les parties sur la grille standard peuvent être archivées");
+        }
+        if (!partie.isPartieFinie()) {
+            throw new IllegalArgumentException("Seule une partie terminée peut être archivée");
+        }
+        int[] coups = partie.getHistoriqueCoups();
+        if (coups.length != partie.getGrille().nombreCoups()) {
+            throw new IllegalArgumentException("L'ordre des coups de la partie n'est pas connu");
+        }
+
+        int resultat = NUL;
+        if (partie.getGagnant() != null) {
+            resultat = partie.getGagnant().getNom() == Couleur.JAUNE ? VICTOIRE_JAUNE : VICTOIRE_ROUGE;
+        }
+        int drapeaux = 0;
+        if (partie.isParAbandon()) {
+            drapeaux |= ABANDON;
+        }
+        if (partie.getPremierJoueur().getNom() == Couleur.ROUGE) {
+            drapeaux |= PREMIER_ROUGE;
+        }
+
+        if (this.tampon.remaining() < TAILLE_ENREGISTREMENT_MAX) {
+            vider();
+        }
+        if (this.nbParties % PAS_INDEX == 0) {
+            ajouterIndex(this.finDisque + this.tampon.position());
+        }
+        this.tampon.put((byte) (coups.length | (resultat << 6)));
+        this.tampon.put((byte) drapeaux);
+        for (int i = 0; i < coups.length; i += 2) {
+            int paire = coups[i];
+            if (i + 1 < coups.length) {
+                paire |= coups[i + 1] << 4;
+            }
+            this.tampon.put((byte) paire);
+        }
+        return this.nbParties++;
+    }
+
+    /**
+     * Lit une partie de l'archive par son identifiant.
+     *
+     * @param id l'identifiant renvoyé par {@link #archiver(Partie)}.
+     * @return la partie archivée.
+     * @throws IOException si la lecture échoue.
+     * @throws IllegalArgumentException si aucune partie ne porte cet identifiant.
+     */
+    public PartieArchivee lire(long id) throws IOException {
+        PartieArchivee[] lue = new PartieArchivee[1];
+        parcourir(id, 1, (i, coups, nbCoups, premier, gagnant, parAbandon) ->
+                lue[0] = new PartieArchivee(i, Arrays.copyOf(coups, nbCoups), premier, gagnant, parAbandon));
+        if (lue[0] == null) {
+            throw new IllegalArgumentException("Partie inexistante : " + id);
+        }
+        return lue[0];
+    }
+
+    /**
+     * Parcourt toutes les parties de l'archive dans l'ordre.
+     *
+     * @param visiteur le traitement appliqué à chaque partie.
+     * @throws IOException si la lecture échoue.
+     */
+    public void parcourir(VisiteurArchive visiteur) throws IOException {
+        parcourir(0, Long.MAX_VALUE, visiteur);
+    }
+
+    /**
+     * Parcourt une suite de parties consécutives de l'archive, dans l'ordre.
+     * <p>
+     * Le parcours porte sur les parties archivées au moment de l'appel ; on peut continuer
+     * à archiver pendant ce temps depuis un autre thread.
+     * </p>
+     *
+     * @param premierId l'identifiant de la première partie à lire.
+     * @param nombre    le nombre maximal de parties à lire.
+     * @param visiteur  le traitement appliqué à chaque partie.
+     * @throws IOException si la lecture échoue.
+     * @throws IllegalArgumentException si le visiteur est null, si le nombre est négatif
+     *                                  ou si la première partie est au-delà de la fin de l'archive.
+     */
+    public void parcourir(long premierId, long nombre, VisiteurArchive visiteur) throws IOException {
+        if (visiteur == null) {
+            throw new IllegalArgumentException("Le visiteur ne peut pas être null");
+        }
+        if (nombre < 0) {
+            throw new IllegalArgumentException("Nombre de parties invalide : " + nombre);
+        }
+        long fin;
+        long dernierId;
+        long position;
+        synchronized (this) {
+            if (premierId < 0 || premierId > this.nbParties) {
+                throw new IllegalArgumentException("Partie inexistante : " + premierId);
+            }
+            dernierId = premierId + Math.min(nombre, this.nbParties - premierId);
+            if (dernierId == premierId) {
+                return;
+            }
+            vider();
+            fin = this.finDisque;
+            position = this.index[(int) (premierId / PAS_INDEX)];
+        }
+
+        // Les enregistrements déjà écrits ne changent plus : la lecture se fait sans verrou
+        int[] coups = new int[NB_CASES];
+        ByteBuffer segment = null;
+        long debutSegment = -1;
+        for (long id = premierId - premierId % PAS_INDEX; id < dernierId; id++) {
+            if (position >= debutSegment + this.tailleSegment || segment == null) {
+                int numero = (int) (position / this.tailleSegment);
+                segment = segment(numero, fin);
+                debutSegment = (long) numero * this.tailleSegment;
+            }
+            int relatif = (int) (position - debutSegment);
+            int entete = segment.get(relatif) & 0xFF;
+            int nbCoups = entete & 0x3F;
+            position += 2 + (nbCoups + 1) / 2;
+            if (id < premierId) {
+                continue;
+            }
+
+            for (int i = 0; i < nbCoups; i += 2) {
+                int paire = segment.get(relatif + 2 + i / 2);
+                coups[i] = paire & 0xF;
+                coups[i + 1] = (paire >>> 4) & 0xF;
+            }
+            int drapeaux = segment.get(relatif + 1);
+            int resultat = entete >>> 6;
+            Couleur gagnant = resultat == NUL ? null : (resultat == VICTOIRE_JAUNE ? Couleur.JAUNE : Couleur.ROUGE);
+            Couleur premier = (drapeaux & PREMIER_ROUGE) != 0 ? Couleur.ROUGE : Couleur.JAUNE;
+            visiteur.visiter(id, coups, nbCoups, premier, gagnant, (drapeaux & ABANDON) != 0);
+        }
+    }
+
+    /**
+     * Récupère le nombre de parties de l'archive.
+     *
+     * @return le nombre de parties, qui est aussi l'identifiant de la prochaine.
+     */
+    public synchronized long getNombreParties() {
+        return nbParties;
+    }
+
+    /**
+     * Récupère la taille de l'archive, tampon d'écriture compris.
+     *
+     * @return la taille en octets.
+     */
+    public synchronized long getTaille() {
+        return finDisque + tampon.position();
+    }
+
+    /**
+     * Écrit le tampon dans le fichier et force l'écriture sur le disque.
+     *
+     * @throws IOException si l'écriture échoue.
+     */
+    public synchronized void synchroniser() throws IOException {
+        vider();
+        this.canal.force(false);
+        this.canalIndex.force(false);
+    }
+
+    /**
+     * Écrit les parties en attente et ferme l'archive.
+     *
+     * @throws IOException si l'écriture ou la fermeture échoue.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            synchroniser();
+        } finally {
+            this.canal.close();
+            this.canalIndex.close();
+        }
+    }
+
+    /**
+     * Retourne une représentation textuelle de l'archive.
+     *
+     * @return une chaîne donnant le nombre de parties et la taille de l'archive.
+     */
+    @Override
+    public synchronized String toString() {
+        return "ArchiveParties{parties=" + nbParties + ", taille=" + getTaille() + "}";
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    private void vider() throws IOException {
+        this.tampon.flip();
+        while (this.tampon.hasRemaining()) {
+            this.finDisque += this.canal.write(this.tampon, this.finDisque);
+        }
+        this.tampon.clear();
+    }
+
+    private void ajouterIndex(long position) throws IOException {
+        if (this.tailleIndex == this.index.length) {
+            this.index = Arrays.copyOf(this.index, Math.max(16, 2 * this.index.length));
+        }
+        this.index[this.tailleIndex] = position;
+        ByteBuffer entree = ByteBuffer.allocate(Long.BYTES).putLong(0, position);
+        while (entree.hasRemaining()) {
+            this.canalIndex.write(entree, (long) this.tailleIndex * Long.BYTES + entree.position());
+        }
+        this.tailleIndex++;
+    }
+
+    /*
+     * Le segment i couvre le fichier à partir de i * tailleSegment, plus la taille d'un enregistrement :
+     * tout enregistrement qui commence dans un segment y est donc entièrement lisible.
+     * Il est projeté de nouveau quand l'archive a grandi depuis sa dernière projection.
+     */
+    private synchronized ByteBuffer segment(int numero, long fin) throws IOException {
+        long debut = (long) numero * this.tailleSegment;
+        long taille = Math.min(fin, debut + this.tailleSegment + TAILLE_ENREGISTREMENT_MAX) - debut;
+        if (numero >= this.segments.length) {
+            this.segments = Arrays.copyOf(this.segments, numero + 1);
+        }
+        if (this.segments[numero] == null || this.segments[numero].capacity() < taille) {
+            this.segments[numero] = this.canal.map(FileChannel.MapMode.READ_ONLY, debut, taille);
+        }
+        return this.segments[numero];
+    }
+
+    private void verifierEntete() throws IOException {
+        if (this.canal.size() == 0) {
+            ByteBuffer entete = ByteBuffer.wrap(ENTETE);
+            while (entete.hasRemaining()) {
+                this.canal.write(entete, entete.position());
+            }
+            return;
+        }
+        ByteBuffer entete = ByteBuffer.allocate(ENTETE.length);
+        while (entete.hasRemaining() && this.canal.read(entete, entete.position()) >= 0) {
+            // lecture jusqu'à remplir l'en-tête ou atteindre la fin du fichier
+        }
+        if (!Arrays.equals(entete.array(), ENTETE)) {
+            throw new IOException("Ce fichier n'est pas une archive de parties reconnue");
+        }
+    }
+
+    /*
+     * Garde les entrées de l'index qui désignent bien une position croissante dans le fichier ;
+     * celles écrites juste avant un arrêt brutal peuvent pointer au-delà de sa fin.
+     */
+    private void chargerIndex() throws IOException {
+        long taille = this.canal.size();
+        int nbEntrees = (int) (this.canalIndex.size() / Long.BYTES);
+        ByteBuffer entrees = ByteBuffer.allocate(nbEntrees * Long.BYTES);
+        while (entrees.hasRemaining() && this.canalIndex.read(entrees, entrees.position()) >= 0) {
+            // lecture de tout l'index
+        }
+        this.index = new long[Math.max(16, nbEntrees)];
+        long precedente = -1;
+        for (int i = 0; i < nbEntrees; i++) {
+            long position = entrees.getLong(i * Long.BYTES);
+            boolean valide = i == 0 ? position == ENTETE.length : position > precedente;
+            if (!valide || position >= taille) {
+                break;
+            }
+            this.index[this.tailleIndex++] = position;
+            precedente = position;
+        }
+    }
+
+    /*
+     * Relit les parties qui suivent la dernière entrée de l'index pour les compter, compléter
+     * l'index et repérer une éventuelle partie incomplète en fin de fichier.
+     */
+    private void relireFin() throws IOException {
+        long taille = this.canal.size();
+        long position = ENTETE.length;
+        long id = 0;
+        if (this.tailleIndex > 0) {
+            position = this.index[this.tailleIndex - 1];
+            id = (long) (this.tailleIndex - 1) * PAS_INDEX;
+            // L'entrée sera réécrite par le parcours
+            this.tailleIndex--;
+        }
+
+        ByteBuffer morceau = ByteBuffer.allocate(TAILLE_TAMPON);
+        morceau.limit(0);
+        long debutMorceau = position;
+        while (true) {
+            int relatif = (int) (position - debutMorceau);
+            if (morceau.limit() - relatif < TAILLE_ENREGISTREMENT_MAX && debutMorceau + morceau.limit() < taille) {
+                debutMorceau = position;
+                relatif = 0;
+                morceau.clear();
+                while (morceau.hasRemaining() && this.canal.read(morceau, debutMorceau + morceau.position()) > 0) {
+                    // remplissage du morceau
+                }
+                morceau.flip();
+            }
+            if (relatif >= morceau.limit()) {
+                break;
+            }
+            int entete = morceau.get(relatif) & 0xFF;
+            int nbCoups = entete & 0x3F;
+            int tailleEnregistrement = 2 + (nbCoups + 1) / 2;
+            if (nbCoups > NB_CASES || (entete >>> 6) > VICTOIRE_ROUGE
+                    || relatif + tailleEnregistrement > morceau.limit()) {
+                break;
+            }
+            if (id % PAS_INDEX == 0) {
+                ajouterIndex(position);
+            }
+            position += tailleEnregistrement;
+            id++;
+        }
+
+        if (position < taille) {
+            this.canal.truncate(position);
+        }
+        this.canalIndex.truncate((long) this.tailleIndex * Long.BYTES);
+        this.finDisque = position;
+        this.nbParties = id;
+    }
+}
@@ -2,7 +2,11 @@ package business;
 
 /**
  * Cette classe regroupe les constantes,
- * Elle définit les dimensions de la grille.
+ * Elle définit les dimensions de la grille standard et la longueur d'alignement gagnante.
+ * <p>
+ * Ce sont les valeurs par défaut de {@link Grille} et {@link Partie} ; d'autres variantes
+ * se choisissent à la construction (voir {@link Grille#Grille(int, int, int)}).
+ * </p>
  */
 public class Config {
     /**
@@ -13,4 +17,8 @@ public class Config {
      * Nombre de colonnes du tableau
      */
     public static final int NB_COLONNES = 7;
+    /**
+     * Nombre de jetons à aligner pour gagner
+     */
+    public static final int ALIGNEMENT = 4;
 }
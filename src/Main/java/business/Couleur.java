@@ -15,4 +15,15 @@ public enum Couleur {
      */
     ROUGE;
 
+    /**
+     * Récupère la couleur de l'adversaire.
+     *
+     * @return ROUGE pour JAUNE, JAUNE pour ROUGE.
+     */
+    public Couleur adverse() {
+        if (this == JAUNE) {
+            return ROUGE;
+        }
+        return JAUNE;
+    }
 }
@@ -0,0 +1,36 @@
+package business;
+
+/**
+ * Reçoit les parties lues par un {@link LecteurCoups}.
+ */
+public interface EcouteurCoups {
+
+    /**
+     * Traite une partie valide.
+     * <p>
+     * La grille est réutilisée pour la partie suivante : il ne faut ni la conserver ni la modifier.
+     * Le premier coup de chaque partie est joué par {@link Couleur#JAUNE}.
+     * </p>
+     *
+     * @param ligne   le numéro de la ligne de la partie dans l'entrée, à partir de 1.
+     * @param grille  la position atteinte à la fin de la partie.
+     * @param nbCoups le nombre de coups de la partie.
+     * @param issue   {@link LecteurCoups#EN_COURS}, {@link LecteurCoups#VICTOIRE} (le dernier joueur
+     *                a aligné 4 jetons) ou {@link LecteurCoups#MATCH_NUL}.
+     */
+    void partie(long ligne, Grille grille, int nbCoups, int issue);
+
+    /**
+     * Signale une partie invalide ; la lecture continue à la ligne suivante.
+     * <p>
+     * Ne fait rien par défaut.
+     * </p>
+     *
+     * @param ligne   le numéro de la ligne fautive, à partir de 1.
+     * @param colonne la position du caractère fautif dans la ligne, à partir de 1.
+     * @param erreur  {@link LecteurCoups#CARACTERE_INVALIDE}, {@link LecteurCoups#COLONNE_PLEINE}
+     *                ou {@link LecteurCoups#COUP_APRES_FIN}.
+     */
+    default void erreur(long ligne, int colonne, int erreur) {
+    }
+}
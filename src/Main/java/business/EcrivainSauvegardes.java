@@ -0,0 +1,193 @@
+package business;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Écriture des sauvegardes en arrière-plan.
+ * <p>
+ * {@link #sauvegarder(Partie, Path)} encode la partie tout de suite (quelques dizaines
+ * de nanosecondes) puis rend la main : l'écriture sur disque est faite par un thread dédié.
+ * Si plusieurs sauvegardes vers le même fichier arrivent avant que la première soit écrite,
+ * seule la plus récente est écrite, et toutes partagent la même promesse d'achèvement.
+ * </p>
+ * <p>
+ * Chaque écriture passe par un fichier temporaire synchronisé sur le disque puis renommé
+ * atomiquement : après un arrêt brutal, le fichier contient l'ancienne ou la nouvelle
+ * sauvegarde, jamais un mélange des deux.
+ * </p>
+ */
+public class EcrivainSauvegardes implements AutoCloseable {
+
+    private final ExecutorService executeur;
+    private final Map<Path, Ecriture> enAttente;
+    private long nbEcritures;
+    private long nbRegroupees;
+
+    /**
+     * Construit un écrivain et démarre son thread d'écriture.
+     */
+    public EcrivainSauvegardes() {
+        this.enAttente = new HashMap<>();
+        this.executeur = Executors.newSingleThreadExecutor(tache -> {
+            Thread thread = new Thread(tache, "ecriture-sauvegardes");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Demande la sauvegarde d'une partie, sans attendre l'écriture.
+     * <p>
+     * La partie est encodée pendant l'appel : la modifier ensuite ne change pas la sauvegarde.
+     * </p>
+     *
+     * @param partie  la partie à sauvegarder.
+     * @param fichier le fichier de destination.
+     * @return une promesse terminée quand cette sauvegarde, ou une plus récente vers le même
+     * fichier, est sur le disque ; elle échoue avec l'{@link IOException} de l'écriture.
+     * @throws IllegalArgumentException si un paramètre est null.
+     * @throws IllegalStateException    si l'écrivain est fermé.
+     */
+    public synchronized CompletableFuture<Void> sauvegarder(Partie partie, Path fichier) {
+        if (fichier == null) {
+            throw new IllegalArgumentException("Le fichier ne peut pas être null");
+        }
+        if (this.executeur.isShutdown()) {
+            throw new IllegalStateException("L'écrivain de sauvegardes est fermé");
+        }
+        byte[] donnees = FormatBinaire.encoder(partie);
+        Path cible = fichier.toAbsolutePath().normalize();
+
+        Ecriture ecriture = this.enAttente.get(cible);
+        if (ecriture != null) {
+            ecriture.donnees = donnees;
+            this.nbRegroupees++;
+            return ecriture.promesse;
+        }
+        ecriture = new Ecriture(cible, donnees);
+        this.enAttente.put(cible, ecriture);
+        Ecriture aEcrire = ecriture;
+        this.executeur.execute(() -> ecrire(aEcrire));
+        return ecriture.promesse;
+    }
+
+    /**
+     * Récupère le nombre d'écritures effectuées sur le disque.
+     *
+     * @return le nombre de fichiers écrits.
+     */
+    public synchronized long getNombreEcritures() {
+        return nbEcritures;
+    }
+
+    /**
+     * Récupère le nombre de sauvegardes absorbées par une sauvegarde plus récente du même fichier.
+     *
+     * @return le nombre de sauvegardes regroupées.
+     */
+    public synchronized long getNombreRegroupees() {
+        return nbRegroupees;
+    }
+
+    /**
+     * Termine les écritures en attente puis arrête le thread d'écriture.
+     */
+    @Override
+    public void close() {
+        this.executeur.shutdown();
+        try {
+            this.executeur.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Écrit un fichier de façon atomique : fichier temporaire dans le même répertoire,
+     * synchronisation sur le disque, puis renommage par-dessus la destination.
+     *
+     * @param fichier le fichier à écrire.
+     * @param donnees son nouveau contenu.
+     * @throws IOException si l'écriture ou le renommage échoue ; la destination est alors intacte.
+     */
+    public static void ecrireAtomiquement(Path fichier, byte[] donnees) throws IOException {
+        Path cible = fichier.toAbsolutePath();
+        Path repertoire = cible.getParent();
+        Path temporaire = Files.createTempFile(repertoire, cible.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporaire, StandardOpenOption.WRITE)) {
+                ByteBuffer tampon = ByteBuffer.wrap(donnees);
+                while (tampon.hasRemaining()) {
+                    canal.write(tampon);
+                }
+                canal.force(true);
+            }
+            Files.move(temporaire, cible, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaire);
+        }
+        // Rend le renommage durable ; certains systèmes ne permettent pas d'ouvrir un répertoire
+        try (FileChannel canal = FileChannel.open(repertoire, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Le renommage est fait, seule sa durabilité en cas de coupure n'est pas garantie
+        }
+    }
+
+    /**
+     * Retourne une représentation textuelle de l'écrivain.
+     *
+     * @return une chaîne donnant le nombre d'écritures et de sauvegardes regroupées.
+     */
+    @Override
+    public synchronized String toString() {
+        return "EcrivainSauvegardes{ecritures=" + nbEcritures + ", regroupees=" + nbRegroupees
+                + ", enAttente=" + enAttente.size() + "}";
+    }
+
+    private void ecrire(Ecriture ecriture) {
+        byte[] donnees;
+        synchronized (this) {
+            // À partir d'ici, une nouvelle sauvegarde du même fichier donnera une nouvelle écriture
+            this.enAttente.remove(ecriture.fichier);
+            donnees = ecriture.donnees;
+        }
+        try {
+            ecrireAtomiquement(ecriture.fichier, donnees);
+            synchronized (this) {
+                this.nbEcritures++;
+            }
+            ecriture.promesse.complete(null);
+        } catch (IOException | RuntimeException e) {
+            ecriture.promesse.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Une écriture en attente : le dernier contenu demandé pour un fichier.
+     */
+    private static final class Ecriture {
+
+        private final Path fichier;
+        private final CompletableFuture<Void> promesse;
+        private byte[] donnees;
+
+        private Ecriture(Path fichier, byte[] donnees) {
+            this.fichier = fichier;
+            this.donnees = donnees;
+            this.promesse = new CompletableFuture<>();
+        }
+    }
+}
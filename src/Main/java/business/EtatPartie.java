@@ -0,0 +1,241 @@
+package business;
+
+import java.util.Arrays;
+
+/**
+ * Instantané immuable d'une partie, publié par {@link Puissance4Concurrent}.
+ * <p>
+ * Un instantané n'est jamais modifié après sa construction : il peut être lu par autant
+ * de threads que l'on veut, sans verrou, et reste cohérent (grille, joueur courant et
+ * issue correspondent toujours au même coup). Chaque coup produit un nouvel instantané
+ * de version supérieure.
+ * </p>
+ */
+public final class EtatPartie {
+
+    // Jamais modifiée après la construction ; les accesseurs n'en donnent que des copies
+    private final Grille grille;
+    private final int[] coups;
+    private final Couleur premierJoueur;
+    private final Couleur joueurCourant;
+    private final Couleur gagnant;
+    private final boolean partieFinie;
+    private final boolean parAbandon;
+    private final long version;
+
+    /**
+     * Construit un instantané à partir de ses composants, qui ne doivent plus être modifiés.
+     *
+     * @param grille        la grille, propriété exclusive de l'instantané.
+     * @param coups         les colonnes jouées dans l'ordre, propriété exclusive de l'instantané.
+     * @param premierJoueur la couleur du joueur qui a commencé.
+     * @param joueurCourant la couleur du joueur au trait (partie en cours) ou du dernier à avoir joué.
+     * @param gagnant       la couleur du gagnant, ou null.
+     * @param partieFinie   true si la partie est terminée.
+     * @param parAbandon    true si la partie s'est terminée par un abandon.
+     * @param version       le numéro de l'instantané.
+     */
+    EtatPartie(Grille grille, int[] coups, Couleur premierJoueur, Couleur joueurCourant,
+               Couleur gagnant, boolean partieFinie, boolean parAbandon, long version) {
+        this.grille = grille;
+        this.coups = coups;
+        this.premierJoueur = premierJoueur;
+        this.joueurCourant = joueurCourant;
+        this.gagnant = gagnant;
+        this.partieFinie = partieFinie;
+        this.parAbandon = parAbandon;
+        this.version = version;
+    }
+
+    /**
+     * Construit l'instantané d'une partie, de version 0.
+     * <p>
+     * La partie est copiée : la modifier ensuite ne change pas l'instantané.
+     * </p>
+     *
+     * @param partie la partie à copier.
+     * @return l'instantané de la partie.
+     * @throws IllegalArgumentException si la partie est null.
+     */
+    public static EtatPartie de(Partie partie) {
+        return de(partie, 0);
+    }
+
+    /**
+     * Construit l'instantané d'une partie avec une version donnée.
+     *
+     * @param partie  la partie à copier.
+     * @param version le numéro de l'instantané.
+     * @return l'instantané de la partie.
+     * @throws IllegalArgumentException si la partie est null.
+     */
+    static EtatPartie de(Partie partie, long version) {
+        if (partie == null) {
+            throw new IllegalArgumentException("La partie ne peut pas être null");
+        }
+        return new EtatPartie(new Grille(partie.getGrille()), partie.getHistoriqueCoups(),
+                partie.getPremierJoueur().getNom(), partie.getJoueurCourant().getNom(),
+                partie.getGagnant() == null ? null : partie.getGagnant().getNom(),
+                partie.isPartieFinie(), partie.isParAbandon(), version);
+    }
+
+    /**
+     * Récupère le numéro de l'instantané ; il augmente de 1 à chaque changement de la partie.
+     *
+     * @return la version de l'état.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Récupère une copie de la grille.
+     *
+     * @return une grille indépendante de l'instantané.
+     */
+    public Grille getGrille() {
+        return new Grille(this.grille);
+    }
+
+    /**
+     * Récupère un instantané immuable de la grille, sans la copier.
+     *
+     * @return l'instantané de la grille de cet état.
+     */
+    public InstantaneGrille getInstantane() {
+        return this.grille.instantane();
+    }
+
+    /**
+     * Récupère le jeton situé à une position donnée, sans copier la grille.
+     *
+     * @param position la position (ligne, colonne) à consulter.
+     * @return le Jeton présent à cette case, ou null si la case est vide.
+     * @throws IllegalArgumentException si la position est null ou hors des limites de la grille.
+     */
+    public Jeton getJeton(Position position) {
+        return this.grille.getJeton(position);
+    }
+
+    /**
+     * Récupère le nombre de jetons présents dans la grille.
+     *
+     * @return le nombre de coups joués depuis la grille vide.
+     */
+    public int getNbCoups() {
+        return this.grille.nombreCoups();
+    }
+
+    /**
+     * Récupère les colonnes jouées depuis le début de la partie, dans l'ordre.
+     * <p>
+     * Une partie reprise d'une ancienne sauvegarde n'a pas d'historique : la liste peut être
+     * plus courte que {@link #getNbCoups()}.
+     * </p>
+     *
+     * @return une copie de l'historique des coups.
+     */
+    public int[] getCoups() {
+        return this.coups.clone();
+    }
+
+    /**
+     * Récupère la couleur du joueur qui a commencé la partie.
+     *
+     * @return la couleur du premier joueur.
+     */
+    public Couleur getPremierJoueur() {
+        return premierJoueur;
+    }
+
+    /**
+     * Récupère la couleur du joueur dont c'est le tour.
+     *
+     * @return la couleur du joueur courant.
+     */
+    public Couleur getJoueurCourant() {
+        return joueurCourant;
+    }
+
+    /**
+     * Récupère la couleur du gagnant.
+     *
+     * @return la couleur du gagnant, ou null si la partie n'est pas finie ou s'il y a match nul.
+     */
+    public Couleur getGagnant() {
+        return gagnant;
+    }
+
+    /**
+     * Vérifie si la partie est terminée.
+     *
+     * @return true si la partie est finie (victoire, nul ou abandon), false sinon.
+     */
+    public boolean isPartieFinie() {
+        return partieFinie;
+    }
+
+    /**
+     * Vérifie si la partie s'est terminée par un abandon.
+     *
+     * @return true si un joueur a abandonné, false sinon.
+     */
+    public boolean isParAbandon() {
+        return parAbandon;
+    }
+
+    /**
+     * Construit une partie modifiable dans cet état, par exemple pour la sauvegarder ou l'archiver.
+     *
+     * @return une nouvelle partie, indépendante de l'instantané.
+     */
+    public Partie versPartie() {
+        Partie partie = new Partie(this.premierJoueur, this.grille.getNbLignes(),
+                this.grille.getNbColonnes(), this.grille.getAlignement());
+        partie.setGrille(new Grille(this.grille));
+        for (int colonne : this.coups) {
+            partie.empilerCoup(colonne);
+        }
+        partie.setJoueurCourant(partie.joueur(this.joueurCourant));
+        partie.setGagnant(this.gagnant == null ? null : partie.joueur(this.gagnant));
+        partie.setPartieFinie(this.partieFinie);
+        partie.setParAbandon(this.parAbandon);
+        return partie;
+    }
+
+    /**
+     * Retourne une représentation textuelle de l'instantané.
+     *
+     * @return une chaîne décrivant la version et l'état de la partie.
+     */
+    @Override
+    public String toString() {
+        return "EtatPartie{" +
+                "version=" + version +
+                ", joueurCourant=" + joueurCourant +
+                ", partieFinie=" + partieFinie +
+                ", gagnant=" + gagnant +
+                ", parAbandon=" + parAbandon +
+                ", coups=" + Arrays.toString(coups) +
+                '}';
+    }
+
+    /**
+     * Donne accès à la grille de l'instantané, sans copie, pour calculer l'état suivant.
+     * L'appelant ne doit pas la modifier.
+     *
+     * @return la grille partagée de l'instantané.
+     */
+    Grille grille() {
+        return this.grille;
+    }
+
+    /**
+     * Donne accès à l'historique de l'instantané, sans copie. L'appelant ne doit pas le modifier.
+     *
+     * @return l'historique partagé de l'instantané.
+     */
+    int[] coups() {
+        return this.coups;
+    }
+}
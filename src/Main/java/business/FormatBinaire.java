@@ -0,0 +1,240 @@
+package business;
+
+import java.io.StreamCorruptedException;
+
+/**
+ * Encodage binaire compact d'une partie, utilisé par {@link SauvegardeManager}.
+ * <p>
+ * Une sauvegarde commence par un en-tête de 4 octets : les caractères {@code 'P' '4'},
+ * le numéro de version du format puis un octet d'indicateurs (premier joueur, joueur courant,
+ * partie finie, abandon, gagnant). Vient ensuite l'un des deux contenus suivants :
+ * </p>
+ * <ul>
+ * <li>la liste des coups : un octet pour leur nombre, puis une colonne par demi-octet ;</li>
+ * <li>les deux bitboards de la grille sur 7 octets chacun, pour les parties dont
+ * l'ordre des coups n'est pas connu (parties reprises d'une ancienne sauvegarde).</li>
+ * </ul>
+ * <p>
+ * Une partie tient donc en 26 octets au plus. Au chargement, les coups sont rejoués
+ * avec {@link Puissance4#tenterJouer(int)} : une sauvegarde incohérente est refusée.
+ * </p>
+ */
+public final class FormatBinaire {
+
+    /**
+     * Version du format produite par {@link #encoder(Partie)}.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Taille maximale d'une partie encodée, en octets.
+     */
+    public static final int TAILLE_MAX = 5 + (Grille.NB_LIGNES * Grille.NB_COLONNES + 1) / 2;
+
+    private static final byte MAGIQUE_1 = 'P';
+    private static final byte MAGIQUE_2 = '4';
+    private static final int TAILLE_ENTETE = 4;
+    private static final int OCTETS_MASQUE = 7;
+
+    private static final int PREMIER_ROUGE = 1;
+    private static final int COURANT_ROUGE = 1 << 1;
+    private static final int FINIE = 1 << 2;
+    private static final int ABANDON = 1 << 3;
+    private static final int GAGNANT = 1 << 4;
+    private static final int GAGNANT_ROUGE = 1 << 5;
+    private static final int PLATEAU = 1 << 6;
+
+    private FormatBinaire() {
+    }
+
+    /**
+     * Encode une partie.
+     *
+     * @param partie la partie à encoder.
+     * @return les octets de la sauvegarde.
+     * @throws IllegalArgumentException si la partie est null ou n'est pas jouée sur la grille standard.
+     */
+    public static byte[] encoder(Partie partie) {
+        if (partie == null) {
+            throw new IllegalArgumentException("La partie ne peut pas être null");
+        }
+        Grille grille = partie.getGrille();
+        if (!grille.isStandard()) {
+            throw new IllegalArgumentException("Seules les parties sur la grille standard peuvent être encodées : "
+                    + grille);
+        }
+        int[] coups = partie.getHistoriqueCoups();
+        boolean plateau = coups.length != grille.nombreCoups();
+
+        byte[] donnees;
+        if (plateau) {
+            donnees = new byte[TAILLE_ENTETE + 2 * OCTETS_MASQUE];
+            ecrireMasque(donnees, TAILLE_ENTETE, grille.masque(Couleur.JAUNE));
+            ecrireMasque(donnees, TAILLE_ENTETE + OCTETS_MASQUE, grille.masque(Couleur.ROUGE));
+        } else {
+            donnees = new byte[TAILLE_ENTETE + 1 + (coups.length + 1) / 2];
+            donnees[TAILLE_ENTETE] = (byte) coups.length;
+            for (int i = 0; i < coups.length; i++) {
+                donnees[TAILLE_ENTETE + 1 + i / 2] |= (byte) (coups[i] << (4 * (i % 2)));
+            }
+        }
+        donnees[0] = MAGIQUE_1;
+        donnees[1] = MAGIQUE_2;
+        donnees[2] = (byte) VERSION;
+        donnees[3] = (byte) indicateurs(partie, plateau);
+        return donnees;
+    }
+
+    /**
+     * Décode une partie.
+     *
+     * @param donnees les octets d'une sauvegarde produite par {@link #encoder(Partie)}.
+     * @return la partie reconstruite.
+     * @throws StreamCorruptedException si les octets ne forment pas une sauvegarde valide
+     *                                  ou si la version du format n'est pas reconnue.
+     * @throws IllegalArgumentException si le tableau est null.
+     */
+    public static Partie decoder(byte[] donnees) throws StreamCorruptedException {
+        verifierEntete(donnees);
+        int indicateurs = donnees[3];
+        Partie partie = new Partie((indicateurs & PREMIER_ROUGE) != 0 ? Couleur.ROUGE : Couleur.JAUNE);
+        if ((indicateurs & PLATEAU) != 0) {
+            lirePlateau(donnees, partie, indicateurs);
+        } else {
+            rejouerCoups(donnees, partie, indicateurs);
+        }
+        return partie;
+    }
+
+    /**
+     * Lit le résumé d'une partie encodée sans la rejouer : seul l'en-tête est décodé.
+     *
+     * @param id      l'identifiant de la sauvegarde.
+     * @param nom     le nom de la sauvegarde.
+     * @param date    la date de la sauvegarde, en millisecondes depuis l'époque Unix.
+     * @param donnees les octets produits par {@link #encoder(Partie)}.
+     * @return le résumé de la partie.
+     * @throws StreamCorruptedException si l'en-tête ou la taille des données sont invalides.
+     */
+    static ResumeSauvegarde resumer(int id, String nom, long date, byte[] donnees) throws StreamCorruptedException {
+        verifierEntete(donnees);
+        int indicateurs = donnees[3];
+        int nbCoups;
+        if ((indicateurs & PLATEAU) != 0) {
+            if (donnees.length != TAILLE_ENTETE + 2 * OCTETS_MASQUE) {
+                throw new StreamCorruptedException("Taille de sauvegarde incorrecte");
+            }
+            nbCoups = Long.bitCount(lireMasque(donnees, TAILLE_ENTETE) | lireMasque(donnees, TAILLE_ENTETE + OCTETS_MASQUE));
+        } else {
+            if (donnees.length < TAILLE_ENTETE + 1
+                    || donnees.length != TAILLE_ENTETE + 1 + ((donnees[TAILLE_ENTETE] & 0xFF) + 1) / 2) {
+                throw new StreamCorruptedException("Taille de sauvegarde incorrecte");
+            }
+            nbCoups = donnees[TAILLE_ENTETE] & 0xFF;
+        }
+        Couleur gagnant = null;
+        if ((indicateurs & GAGNANT) != 0) {
+            gagnant = (indicateurs & GAGNANT_ROUGE) != 0 ? Couleur.ROUGE : Couleur.JAUNE;
+        }
+        return new ResumeSauvegarde(id, nom, date, nbCoups, (indicateurs & FINIE) != 0,
+                (indicateurs & ABANDON) != 0, gagnant);
+    }
+
+    private static void verifierEntete(byte[] donnees) throws StreamCorruptedException {
+        if (donnees == null) {
+            throw new IllegalArgumentException("Les données ne peuvent pas être null");
+        }
+        if (donnees.length < TAILLE_ENTETE || donnees[0] != MAGIQUE_1 || donnees[1] != MAGIQUE_2) {
+            throw new StreamCorruptedException("Ce n'est pas une sauvegarde Puissance 4");
+        }
+        if (donnees[2] != VERSION) {
+            throw new StreamCorruptedException("Version de sauvegarde non reconnue : " + donnees[2]);
+        }
+    }
+
+    private static void rejouerCoups(byte[] donnees, Partie partie, int indicateurs)
+            throws StreamCorruptedException {
+        if (donnees.length < TAILLE_ENTETE + 1) {
+            throw new StreamCorruptedException("Sauvegarde tronquée");
+        }
+        int nbCoups = donnees[TAILLE_ENTETE] & 0xFF;
+        if (donnees.length != TAILLE_ENTETE + 1 + (nbCoups + 1) / 2) {
+            throw new StreamCorruptedException("Taille de sauvegarde incorrecte");
+        }
+        Puissance4 jeu = new Puissance4(partie);
+        for (int i = 0; i < nbCoups; i++) {
+            int colonne = (donnees[TAILLE_ENTETE + 1 + i / 2] >>> (4 * (i % 2))) & 0xF;
+            if (jeu.tenterJouer(colonne) < 0) {
+                throw new StreamCorruptedException("Coup impossible en position " + i + " : " + colonne);
+            }
+        }
+        if ((indicateurs & ABANDON) != 0) {
+            jeu.abandonner();
+        }
+        if (indicateurs != indicateurs(partie, false)) {
+            throw new StreamCorruptedException("État de partie incohérent avec les coups");
+        }
+    }
+
+    private static void lirePlateau(byte[] donnees, Partie partie, int indicateurs)
+            throws StreamCorruptedException {
+        if (donnees.length != TAILLE_ENTETE + 2 * OCTETS_MASQUE) {
+            throw new StreamCorruptedException("Taille de sauvegarde incorrecte");
+        }
+        try {
+            partie.setGrille(Grille.depuisMasques(lireMasque(donnees, TAILLE_ENTETE),
+                    lireMasque(donnees, TAILLE_ENTETE + OCTETS_MASQUE)));
+        } catch (Puissance4Exception e) {
+            throw new StreamCorruptedException("Grille invalide : " + e.getMessage());
+        }
+        partie.setJoueurCourant(partie.joueur((indicateurs & COURANT_ROUGE) != 0 ? Couleur.ROUGE : Couleur.JAUNE));
+        partie.setPartieFinie((indicateurs & FINIE) != 0);
+        partie.setParAbandon((indicateurs & ABANDON) != 0);
+        if ((indicateurs & GAGNANT) != 0) {
+            partie.setGagnant(partie.joueur((indicateurs & GAGNANT_ROUGE) != 0 ? Couleur.ROUGE : Couleur.JAUNE));
+        }
+    }
+
+    /*
+     * Sert à l'encodage, et au décodage pour comparer l'état de la partie rejouée à l'en-tête.
+     */
+    private static int indicateurs(Partie partie, boolean plateau) {
+        int indicateurs = 0;
+        if (partie.getPremierJoueur().getNom() == Couleur.ROUGE) {
+            indicateurs |= PREMIER_ROUGE;
+        }
+        if (partie.getJoueurCourant().getNom() == Couleur.ROUGE) {
+            indicateurs |= COURANT_ROUGE;
+        }
+        if (partie.isPartieFinie()) {
+            indicateurs |= FINIE;
+        }
+        if (partie.isParAbandon()) {
+            indicateurs |= ABANDON;
+        }
+        if (partie.getGagnant() != null) {
+            indicateurs |= GAGNANT;
+            if (partie.getGagnant().getNom() == Couleur.ROUGE) {
+                indicateurs |= GAGNANT_ROUGE;
+            }
+        }
+        if (plateau) {
+            indicateurs |= PLATEAU;
+        }
+        return indicateurs;
+    }
+
+    private static void ecrireMasque(byte[] donnees, int debut, long masque) {
+        for (int i = 0; i < OCTETS_MASQUE; i++) {
+            donnees[debut + i] = (byte) (masque >>> (8 * i));
+        }
+    }
+
+    private static long lireMasque(byte[] donnees, int debut) {
+        long masque = 0L;
+        for (int i = 0; i < OCTETS_MASQUE; i++) {
+            masque |= (long) (donnees[debut + i] & 0xFF) << (8 * i);
+        }
+        return masque;
+    }
+}
@@ -1,48 +1,159 @@
 package business;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 /**
  * Représente la grille de jeu du Puissance 4.
  * <p>
- * Cette classe gère le stockage des jetons dans un tableau à deux dimensions,
- * l'insertion des jetons (avec la gravité), la vérification des colonnes pleines
- * et la détection des alignements gagnants (4 à la suite).
+ * Cette classe gère le stockage des jetons, l'insertion des jetons (avec la gravité),
+ * la vérification des colonnes pleines et la détection des alignements gagnants.
+ * Les dimensions et la longueur d'alignement gagnante sont fixées à la construction :
+ * 6x7 et 4 à la suite par défaut (voir {@link Config}), d'autres variantes sur demande
+ * (7x8, 8x9, alignement de 5...).
+ * </p>
+ * <p>
+ * Les jetons sont stockés sous forme de bitboard : chaque colonne occupe {@code lignes + 1}
+ * bits consécutifs, du bas vers le haut, le bit supplémentaire servant de ligne de garde
+ * entre deux colonnes. Si la grille tient dans 64 bits (c'est le cas de 6x7, 7x8 ou 8x7),
+ * chaque couleur a un masque {@code long} et les alignements se testent par décalages et masques ;
+ * sinon chaque couleur a un tableau de mots et les alignements se comptent case par case.
+ * La hauteur de chaque colonne et le nombre total de coups sont tenus à jour à chaque
+ * insertion, ce qui rend l'insertion et les tests de colonne ou de grille pleine immédiats.
  * </p>
  */
 public class Grille implements Serializable{
 
     /**
-     * Le nombre de lignes de la grille (standard : 6).
+     * Identifiant de sérialisation, fixé à celui de l'ancienne grille à tableau de jetons
+     * pour pouvoir relire les sauvegardes {@code .ser} (voir {@link SauvegardeManager}).
+     */
+    private static final long serialVersionUID = -484110504019141679L;
+
+    /**
+     * Le nombre de lignes de la grille standard (6).
+     */
+    public static final int NB_LIGNES = Config.NB_LIGNES;
+
+    /**
+     * Le nombre de colonnes de la grille standard (7).
      */
-    public static final int NB_LIGNES = 6;
+    public static final int NB_COLONNES = Config.NB_COLONNES;
 
     /**
-     * Le nombre de colonnes de la grille (standard : 7).
+     * Le nombre de jetons à aligner pour gagner sur la grille standard (4).
      */
-    public static final int NB_COLONNES = 7;
+    public static final int ALIGNEMENT = Config.ALIGNEMENT;
 
-    private Jeton[][] plateauJetons;
+    /**
+     * Le nombre maximal de lignes ou de colonnes d'une grille.
+     */
+    public static final int DIMENSION_MAX = 64;
+
+    /**
+     * Nombre de bits réservés à une colonne de la grille standard : les lignes plus la ligne de garde.
+     */
+    private static final int HAUTEUR_BITS_STANDARD = NB_LIGNES + 1;
+
+    /**
+     * Masque de la case du bas de chaque colonne de la grille standard.
+     */
+    private static final long MASQUE_BAS_STANDARD = masqueBas(NB_LIGNES, NB_COLONNES);
+
+    /**
+     * Masque de toutes les cases de la grille standard, sans la ligne de garde.
+     */
+    private static final long MASQUE_GRILLE_STANDARD = MASQUE_BAS_STANDARD * ((1L << NB_LIGNES) - 1);
+
+    // Détection d'alignement sur un seul mot, choisie d'après les dimensions :
+    // alignement de 4 sur 6 lignes (décalages constants), alignement de 4 tenant
+    // dans les 4 directions (tests déroulés), ou cas général (boucle sur les directions)
+    private static final int DETECTION_STANDARD = 0;
+    private static final int DETECTION_QUATRE = 1;
+    private static final int DETECTION_GENERALE = 2;
+
+    private int lignes;
+    private int colonnes;
+    private int alignement;
+    private long masqueJaune;
+    private long masqueRouge;
+    // Grilles de plus de 64 bits seulement, null sinon
+    private long[] motsJaune;
+    private long[] motsRouge;
+    private int[] hauteurs;
+    private int nbCoups;
+    private boolean detectionParBoucles;
+
+    // Dérivés des dimensions, recalculés après désérialisation
+    private transient int hauteurBits;
+    private transient int nbCases;
+    private transient long masqueBas;
+    private transient long masqueGrille;
+    private transient int detection;
+    // Directions où un alignement tient, pour la détection générale
+    private transient int[] directions;
 
     /**
      * Construit une grille vide.
      * <p>
-     * Initialise un tableau de dimensions 6x7 avec des cases vides (null).
+     * Initialise une grille de dimensions 6x7 sans aucun jeton, où il faut aligner 4 jetons.
      * </p>
      */
     public Grille() {
-        this.plateauJetons = new Jeton[NB_LIGNES][NB_COLONNES];
+        // Raccourci de Grille(NB_LIGNES, NB_COLONNES, ALIGNEMENT) : dimensions déjà vérifiées
+        this.lignes = NB_LIGNES;
+        this.colonnes = NB_COLONNES;
+        this.alignement = ALIGNEMENT;
+        this.hauteurs = new int[NB_COLONNES];
+        this.hauteurBits = HAUTEUR_BITS_STANDARD;
+        this.nbCases = NB_LIGNES * NB_COLONNES;
+        this.masqueBas = MASQUE_BAS_STANDARD;
+        this.masqueGrille = MASQUE_GRILLE_STANDARD;
+        this.detection = DETECTION_STANDARD;
+    }
+
+    /**
+     * Construit une grille vide de dimensions quelconques.
+     *
+     * @param lignes     le nombre de lignes, entre 1 et {@link #DIMENSION_MAX}.
+     * @param colonnes   le nombre de colonnes, entre 1 et {@link #DIMENSION_MAX}.
+     * @param alignement le nombre de jetons à aligner pour gagner, entre 2 et la plus grande dimension.
+     * @throws IllegalArgumentException si une dimension ou l'alignement est hors limites.
+     */
+    public Grille(int lignes, int colonnes, int alignement) {
+        verifierDimensions(lignes, colonnes, alignement);
+        this.lignes = lignes;
+        this.colonnes = colonnes;
+        this.alignement = alignement;
+        this.masqueJaune = 0L;
+        this.masqueRouge = 0L;
+        if (!tientDansUnMot(lignes, colonnes)) {
+            int nbMots = ((lignes + 1) * colonnes + Long.SIZE - 1) / Long.SIZE;
+            this.motsJaune = new long[nbMots];
+            this.motsRouge = new long[nbMots];
+        }
+        this.hauteurs = new int[colonnes];
+        this.nbCoups = 0;
+        this.detectionParBoucles = false;
+        initialiser();
     }
 
     /**
-     * Construit une grille à partir d'un tableau de jetons existant.
+     * Construit une grille standard à partir d'un tableau de jetons existant.
      * <p>
      * Ce constructeur permet de reprendre une partie ou de tester une configuration spécifique.
-     * Il vérifie que le tableau fourni respecte les dimensions standards.
+     * Il vérifie que le tableau fourni respecte les dimensions standards et la gravité :
+     * aucun jeton ne peut se trouver au-dessus d'une case vide.
+     * Le contenu du tableau est recopié, le tableau lui-même n'est pas conservé.
      * </p>
      *
      * @param plateauJetons le tableau de jetons à utiliser.
-     * @throws Puissance4Exception si le tableau est null ou a de mauvaises dimensions.
+     * @throws Puissance4Exception si le tableau est null, a de mauvaises dimensions
+     *                             ou contient un jeton flottant.
      */
     public Grille(Jeton[][] plateauJetons) throws Puissance4Exception {
+        this();
         if (plateauJetons == null) {
             throw new Puissance4Exception("Le tableau ne peut pas être null");
         }
@@ -50,7 +161,128 @@ public class Grille implements Serializable{
             throw new Puissance4Exception("Les dimensions du tableau sont incorrectes. Les dimensions attendu :"
                     + NB_LIGNES + "x" + NB_COLONNES);
         }
-        this.plateauJetons = plateauJetons;
+        for (int col = 0; col < NB_COLONNES; col++) {
+            boolean caseVide = false;
+            for (int lig = NB_LIGNES - 1; lig >= 0; lig--) {
+                Jeton jeton = plateauJetons[lig][col];
+                if (jeton == null) {
+                    caseVide = true;
+                } else if (caseVide) {
+                    throw new Puissance4Exception("Jeton flottant en " + new Position(lig, col));
+                } else {
+                    if (jeton.getCouleur() == Couleur.JAUNE) {
+                        this.masqueJaune |= bit(lig, col);
+                    } else {
+                        this.masqueRouge |= bit(lig, col);
+                    }
+                    this.hauteurs[col]++;
+                    this.nbCoups++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Construit une copie indépendante d'une grille.
+     * <p>
+     * Utile aux moteurs de jeu qui explorent des variantes sans toucher à la grille d'origine.
+     * </p>
+     *
+     * @param autre la grille à copier.
+     * @throws IllegalArgumentException si la grille est null.
+     */
+    public Grille(Grille autre) {
+        if (autre == null) {
+            throw new IllegalArgumentException("La grille ne peut pas être null");
+        }
+        this.lignes = autre.lignes;
+        this.colonnes = autre.colonnes;
+        this.alignement = autre.alignement;
+        this.masqueJaune = autre.masqueJaune;
+        this.masqueRouge = autre.masqueRouge;
+        if (autre.motsJaune != null) {
+            this.motsJaune = autre.motsJaune.clone();
+            this.motsRouge = autre.motsRouge.clone();
+        }
+        this.hauteurs = autre.hauteurs.clone();
+        this.nbCoups = autre.nbCoups;
+        this.detectionParBoucles = autre.detectionParBoucles;
+        this.hauteurBits = autre.hauteurBits;
+        this.nbCases = autre.nbCases;
+        this.masqueBas = autre.masqueBas;
+        this.masqueGrille = autre.masqueGrille;
+        this.detection = autre.detection;
+        this.directions = autre.directions;
+    }
+
+    /**
+     * Construit une grille modifiable à partir d'un instantané.
+     * <p>
+     * La grille est indépendante de l'instantané : la modifier ne change pas l'instantané.
+     * La détection d'alignement est celle par défaut (bitboard).
+     * </p>
+     *
+     * @param instantane l'instantané à reprendre.
+     * @throws IllegalArgumentException si l'instantané est null.
+     */
+    public Grille(InstantaneGrille instantane) {
+        if (instantane == null) {
+            throw new IllegalArgumentException("L'instantané ne peut pas être null");
+        }
+        this.lignes = instantane.getNbLignes();
+        this.colonnes = instantane.getNbColonnes();
+        this.alignement = instantane.getAlignement();
+        this.masqueJaune = instantane.masque(Couleur.JAUNE);
+        this.masqueRouge = instantane.masque(Couleur.ROUGE);
+        if (instantane.mots(Couleur.JAUNE) != null) {
+            this.motsJaune = instantane.mots(Couleur.JAUNE).clone();
+            this.motsRouge = instantane.mots(Couleur.ROUGE).clone();
+        }
+        this.hauteurs = new int[this.colonnes];
+        for (int col = 0; col < this.colonnes; col++) {
+            this.hauteurs[col] = instantane.hauteurColonne(col);
+            this.nbCoups += this.hauteurs[col];
+        }
+        initialiser();
+    }
+
+    /**
+     * Récupère le nombre de lignes de la grille.
+     *
+     * @return le nombre de lignes.
+     */
+    public int getNbLignes() {
+        return lignes;
+    }
+
+    /**
+     * Récupère le nombre de colonnes de la grille.
+     *
+     * @return le nombre de colonnes.
+     */
+    public int getNbColonnes() {
+        return colonnes;
+    }
+
+    /**
+     * Récupère le nombre de jetons à aligner pour gagner.
+     *
+     * @return la longueur d'alignement gagnante.
+     */
+    public int getAlignement() {
+        return alignement;
+    }
+
+    /**
+     * Vérifie si la grille est la grille standard : 6x7, avec un alignement de 4.
+     * <p>
+     * Les formats de sauvegarde et le solveur ne connaissent que la grille standard.
+     * </p>
+     *
+     * @return true si la grille a les dimensions et l'alignement standards.
+     */
+    public boolean isStandard() {
+        return this.lignes == NB_LIGNES && this.colonnes == NB_COLONNES && this.alignement == ALIGNEMENT;
     }
 
     /**
@@ -67,25 +299,43 @@ public class Grille implements Serializable{
         int lig = position.getLigne();
         int col = position.getColonne();
 
-        if (lig < 0 || lig >= NB_LIGNES || col < 0 || col >= NB_COLONNES) {
+        if (lig < 0 || lig >= this.lignes || col < 0 || col >= this.colonnes) {
             throw new IllegalArgumentException("Position hors grille : " + position);
         }
-        return this.plateauJetons[lig][col];
+        Couleur couleur = couleurEn(lig, col);
+        if (couleur == null) {
+            return null;
+        }
+        return Jeton.de(couleur);
     }
 
     /**
-     * Récupère le tableau interne des jetons.
+     * Récupère une vue des jetons sous forme de tableau.
+     * <p>
+     * Le tableau est reconstruit à partir des masques à chaque appel : le modifier
+     * n'a aucun effet sur la grille. Les cases occupées contiennent les jetons
+     * partagés renvoyés par {@link Jeton#de(Couleur)}.
+     * </p>
      *
      * @return le tableau à deux dimensions représentant la grille.
      */
     public Jeton[][] getJetons() {
-        return this.plateauJetons;
+        Jeton[][] plateau = new Jeton[this.lignes][this.colonnes];
+        for (int lig = 0; lig < this.lignes; lig++) {
+            for (int col = 0; col < this.colonnes; col++) {
+                Couleur couleur = couleurEn(lig, col);
+                if (couleur != null) {
+                    plateau[lig][col] = Jeton.de(couleur);
+                }
+            }
+        }
+        return plateau;
     }
 
     /**
      * Vérifie si une colonne spécifique est pleine.
      * <p>
-     * Une colonne est considérée pleine si la case tout en haut (ligne 0) contient un jeton.
+     * Une colonne est considérée pleine si sa hauteur atteint le nombre de lignes.
      * </p>
      *
      * @param numColonne l'indice de la colonne à vérifier.
@@ -93,14 +343,10 @@ public class Grille implements Serializable{
      * @throws IllegalArgumentException si le numéro de colonne n'existe pas.
      */
     public boolean isFullColonne(int numColonne) {
-        if (numColonne < 0 || numColonne >= NB_COLONNES) {
+        if (numColonne < 0 || numColonne >= this.colonnes) {
             throw new IllegalArgumentException("Numéro de colonne invalide : " + numColonne);
         }
-        if (this.plateauJetons[0][numColonne] != null) {
-            return true;
-        } else {
-            return false;
-        }
+        return this.hauteurs[numColonne] == this.lignes;
     }
 
     /**
@@ -112,24 +358,139 @@ public class Grille implements Serializable{
      * @param jeton le jeton à insérer.
      * @param col   l'indice de la colonne où lâcher le jeton.
      * @return l'indice de la ligne où le jeton s'est arrêté.
-     * @throws IllegalArgumentException si la colonne est invalide.
+     * @throws IllegalArgumentException si la colonne est invalide ou si le jeton est null.
      * @throws Puissance4Exception      si la colonne est déjà pleine.
      */
     public int insererJeton(Jeton jeton, int col) throws Puissance4Exception {
-        if (col < 0 || col >= NB_COLONNES) {
+        if (col < 0 || col >= this.colonnes) {
             throw new IllegalArgumentException("Colonne invalide");
         }
+        if (jeton == null) {
+            throw new IllegalArgumentException("Le jeton ne peut pas être null");
+        }
         if (isFullColonne(col)) {
             throw new Puissance4Exception("La colonne " + col + " est pleine !");
         }
-        for (int i = NB_LIGNES - 1; i >= 0; i--) {
-            if (this.plateauJetons[i][col] == null) {
-                this.plateauJetons[i][col] = jeton;
-                return i;
+        return jouerCoup(jeton.getCouleur(), col);
+    }
 
-            }
+    /**
+     * Insère un jeton d'une couleur dans une colonne, sans allocation ni exception.
+     * <p>
+     * Variante rapide de {@link #insererJeton(Jeton, int)} destinée aux moteurs de jeu :
+     * un coup impossible est signalé par la valeur de retour.
+     * </p>
+     *
+     * @param couleur la couleur du jeton à insérer.
+     * @param col     l'indice de la colonne où lâcher le jeton.
+     * @return l'indice de la ligne où le jeton s'est arrêté, ou -1 si la colonne est invalide ou pleine.
+     */
+    public int jouerCoup(Couleur couleur, int col) {
+        if (col < 0 || col >= this.colonnes || this.hauteurs[col] == this.lignes) {
+            return -1;
+        }
+        int hauteur = this.hauteurs[col];
+        int i = col * this.hauteurBits + hauteur;
+        if (this.motsJaune != null) {
+            poser(motsDe(couleur), i);
+        } else if (couleur == Couleur.JAUNE) {
+            this.masqueJaune |= 1L << i;
+        } else {
+            this.masqueRouge |= 1L << i;
+        }
+        this.hauteurs[col] = hauteur + 1;
+        this.nbCoups++;
+        return this.lignes - 1 - hauteur;
+    }
+
+    /**
+     * Vérifie si jouer dans une colonne donnerait un alignement, sans modifier la grille.
+     *
+     * @param couleur la couleur du joueur qui jouerait le coup.
+     * @param col     l'indice de la colonne à tester.
+     * @return true si le coup est possible et réalise un alignement gagnant, false sinon.
+     */
+    public boolean estCoupGagnant(Couleur couleur, int col) {
+        if (col < 0 || col >= this.colonnes || this.hauteurs[col] == this.lignes) {
+            return false;
+        }
+        if (this.motsJaune != null) {
+            return estCoupGagnantDansMots(motsDe(couleur), this.lignes - 1 - this.hauteurs[col], col);
+        }
+        long b = 1L << (col * this.hauteurBits + this.hauteurs[col]);
+        if (couleur == Couleur.JAUNE) {
+            return alignementPassantPar(this.masqueJaune | b, b);
+        }
+        return alignementPassantPar(this.masqueRouge | b, b);
+    }
+
+    /**
+     * Compte les cases vides où un joueur compléterait un alignement gagnant
+     * s'il jouait d'abord dans une colonne donnée.
+     * <p>
+     * Sert à ordonner les coups des moteurs : un coup qui crée des menaces est souvent le meilleur.
+     * La grille n'est pas modifiée.
+     * </p>
+     *
+     * @param couleur la couleur du joueur.
+     * @param col     l'indice de la colonne jouée.
+     * @return le nombre de menaces après le coup, ou 0 si la colonne est invalide ou pleine.
+     */
+    public int nombreMenaces(Couleur couleur, int col) {
+        if (col < 0 || col >= this.colonnes || this.hauteurs[col] == this.lignes) {
+            return 0;
+        }
+        if (this.motsJaune != null) {
+            return nombreMenacesDansMots(motsDe(couleur), col);
+        }
+        long b = 1L << (col * this.hauteurBits + this.hauteurs[col]);
+        long masque = (couleur == Couleur.JAUNE ? this.masqueJaune : this.masqueRouge) | b;
+        return Long.bitCount(casesGagnantes(masque) & this.masqueGrille & ~(occupe() | b));
+    }
+
+    /**
+     * Retire le jeton le plus haut d'une colonne, sans allocation ni exception.
+     * <p>
+     * C'est l'opération inverse de {@link #jouerCoup(Couleur, int)} : elle permet
+     * d'annuler un coup et de parcourir des variantes sans copier la grille.
+     * </p>
+     *
+     * @param col l'indice de la colonne dont on retire le jeton du dessus.
+     * @return l'indice de la ligne libérée, ou -1 si la colonne est invalide ou vide.
+     */
+    public int retirerJeton(int col) {
+        if (col < 0 || col >= this.colonnes || this.hauteurs[col] == 0) {
+            return -1;
+        }
+        int hauteur = --this.hauteurs[col];
+        this.nbCoups--;
+        int i = col * this.hauteurBits + hauteur;
+        if (this.motsJaune != null) {
+            retirer(this.motsJaune, i);
+            retirer(this.motsRouge, i);
+        } else {
+            long b = 1L << i;
+            this.masqueJaune &= ~b;
+            this.masqueRouge &= ~b;
+        }
+        return this.lignes - 1 - hauteur;
+    }
+
+    /**
+     * Retire tous les jetons de la grille, sans allocation.
+     * <p>
+     * Permet de réutiliser la même grille pour analyser une longue suite de parties.
+     * </p>
+     */
+    public void vider() {
+        this.masqueJaune = 0L;
+        this.masqueRouge = 0L;
+        if (this.motsJaune != null) {
+            Arrays.fill(this.motsJaune, 0L);
+            Arrays.fill(this.motsRouge, 0L);
         }
-        throw new Puissance4Exception("Erreur critique : insertion impossible ");
+        Arrays.fill(this.hauteurs, 0);
+        this.nbCoups = 0;
     }
 
     /**
@@ -138,24 +499,43 @@ public class Grille implements Serializable{
      * @return true si toutes les colonnes sont pleines, false s'il reste de la place.
      */
     public boolean isFullGrille() {
-        for (int col = 0; col < NB_COLONNES; col = col + 1) {
-
-            if (this.plateauJetons[0][col] == null) {
+        return this.nbCoups == this.nbCases;
+    }
 
-                return false;
-            }
+    /**
+     * Récupère le nombre de jetons présents dans une colonne.
+     *
+     * @param numColonne l'indice de la colonne.
+     * @return la hauteur de la colonne, entre 0 (vide) et le nombre de lignes (pleine).
+     * @throws IllegalArgumentException si le numéro de colonne n'existe pas.
+     */
+    public int hauteurColonne(int numColonne) {
+        if (numColonne < 0 || numColonne >= this.colonnes) {
+            throw new IllegalArgumentException("Numéro de colonne invalide : " + numColonne);
         }
-        return true;
+        return this.hauteurs[numColonne];
+    }
+
+    /**
+     * Récupère le nombre de jetons présents dans toute la grille.
+     *
+     * @return le nombre de coups joués depuis la grille vide.
+     */
+    public int nombreCoups() {
+        return this.nbCoups;
     }
 
     /**
-     * Vérifie si un alignement de 4 jetons (ou plus) a été réalisé autour d'une position.
+     * Vérifie si un alignement gagnant a été réalisé autour d'une position.
      * <p>
      * Cette méthode vérifie les 4 directions : Horizontale, Verticale et les deux Diagonales.
+     * Par défaut, chaque direction est testée par décalages et masques sur le bitboard
+     * de la couleur concernée ; les boucles de parcours case par case restent disponibles
+     * via {@link #setDetectionParBoucles(boolean)} pour comparer les deux méthodes.
      * </p>
      *
      * @param position la position du dernier jeton posé (point de départ de la vérification).
-     * @return true si un alignement de 4 est trouvé, false sinon.
+     * @return true si au moins {@link #getAlignement()} jetons sont alignés, false sinon.
      * @throws IllegalArgumentException si la position est invalide.
      */
     public boolean alignementRealise(Position position) {
@@ -164,36 +544,697 @@ public class Grille implements Serializable{
         }
         int l = position.getLigne();
         int c = position.getColonne();
-        if (l < 0 || l >= NB_LIGNES || c < 0 || c >= NB_COLONNES) {
+        if (l < 0 || l >= this.lignes || c < 0 || c >= this.colonnes) {
             throw new IllegalArgumentException("Position hors limites : " + position);
         }
-        if (alignementHorizontal(position) >= 4) return true;
-        if (alignementVertical(position) >= 4) return true;
-        if (alignementDiagonal1(position) >= 4) return true;
-        if (alignementDiagonal2(position) >= 4) return true;
+        if (this.detectionParBoucles) {
+            if (alignementHorizontal(position) >= this.alignement) return true;
+            if (alignementVertical(position) >= this.alignement) return true;
+            if (alignementDiagonal1(position) >= this.alignement) return true;
+            if (alignementDiagonal2(position) >= this.alignement) return true;
+
+            return false;
+        }
+        return alignementRealise(l, c);
+    }
 
+    /**
+     * Vérifie si un alignement gagnant passe par une case, sans allocation.
+     * <p>
+     * Variante de {@link #alignementRealise(Position)} qui prend directement les coordonnées
+     * et utilise toujours la détection par bitboard.
+     * </p>
+     *
+     * @param ligne   la ligne du dernier jeton posé.
+     * @param colonne la colonne du dernier jeton posé.
+     * @return true si un alignement gagnant est trouvé, false sinon (y compris si la case est vide).
+     * @throws IllegalArgumentException si la case est hors des limites de la grille.
+     */
+    public boolean alignementRealise(int ligne, int colonne) {
+        if (ligne < 0 || ligne >= this.lignes || colonne < 0 || colonne >= this.colonnes) {
+            throw new IllegalArgumentException("Position hors limites : ligne=" + ligne + ", colonne=" + colonne);
+        }
+        if (this.motsJaune != null) {
+            return alignementRealiseDansMots(ligne, colonne);
+        }
+        long b = bit(ligne, colonne);
+        if ((this.masqueJaune & b) != 0) {
+            return alignementPassantPar(this.masqueJaune, b);
+        }
+        if ((this.masqueRouge & b) != 0) {
+            return alignementPassantPar(this.masqueRouge, b);
+        }
         return false;
     }
 
+    /**
+     * Indique si la détection d'alignement utilise les boucles de parcours case par case.
+     *
+     * @return true si les boucles sont utilisées, false si c'est le bitboard (par défaut).
+     */
+    public boolean isDetectionParBoucles() {
+        return detectionParBoucles;
+    }
+
+    /**
+     * Choisit la méthode de détection d'alignement utilisée par {@link #alignementRealise(Position)}.
+     * <p>
+     * Les deux méthodes donnent le même résultat ; les boucles sont plus lentes
+     * et servent de référence pour vérifier la détection par bitboard.
+     * </p>
+     *
+     * @param detectionParBoucles true pour parcourir la grille case par case, false pour le bitboard.
+     */
+    public void setDetectionParBoucles(boolean detectionParBoucles) {
+        this.detectionParBoucles = detectionParBoucles;
+    }
+
+    /**
+     * Calcule une clé identifiant la position et le joueur au trait.
+     * <p>
+     * La clé est la somme du masque jaune, du masque des cases occupées et de la case du bas
+     * de chaque colonne : cette somme marque le sommet de chaque colonne par un bit isolé,
+     * sous lequel on lit les jetons jaunes. Le bit de poids fort indique le joueur au trait.
+     * Si la grille tient dans 63 bits (c'est le cas de la grille standard), deux positions
+     * différentes ont toujours des clés différentes ; au-delà, la clé est un hachage des jetons
+     * et deux positions peuvent, rarement, partager la même clé. Une clé n'est jamais nulle.
+     * </p>
+     *
+     * @param joueur la couleur du joueur au trait.
+     * @return la clé de la position.
+     */
+    public long cle(Couleur joueur) {
+        if (this.motsJaune != null) {
+            return cle(this.motsJaune, this.motsRouge, joueur);
+        }
+        return cle(this.masqueJaune, this.masqueRouge, this.masqueBas, this.hauteurBits * this.colonnes, joueur);
+    }
+
+    /**
+     * Calcule la clé de {@link #cle(Couleur)} pour une grille qui tient dans un mot.
+     *
+     * @param masqueJaune le bitboard des jetons jaunes.
+     * @param masqueRouge le bitboard des jetons rouges.
+     * @param masqueBas   le masque de la case du bas de chaque colonne.
+     * @param nbBits      le nombre de bits de la grille, ligne de garde comprise.
+     * @param joueur      la couleur du joueur au trait.
+     * @return la clé de la position.
+     */
+    static long cle(long masqueJaune, long masqueRouge, long masqueBas, int nbBits, Couleur joueur) {
+        long cle = masqueJaune + (masqueJaune | masqueRouge) + masqueBas;
+        if (nbBits < Long.SIZE) {
+            if (joueur == Couleur.ROUGE) {
+                cle |= Long.MIN_VALUE;
+            }
+            return cle;
+        }
+        cle = melanger(cle);
+        if (joueur == Couleur.ROUGE) {
+            cle ^= Long.MIN_VALUE;
+        }
+        return cle == 0 ? 1 : cle;
+    }
+
+    /**
+     * Calcule la clé de {@link #cle(Couleur)} pour une grille de plus de 64 bits.
+     *
+     * @param motsJaune les jetons jaunes, un bit par case.
+     * @param motsRouge les jetons rouges, un bit par case.
+     * @param joueur    la couleur du joueur au trait.
+     * @return la clé de la position.
+     */
+    static long cle(long[] motsJaune, long[] motsRouge, Couleur joueur) {
+        long cle = 0L;
+        for (int i = 0; i < motsJaune.length; i++) {
+            cle = melanger(cle ^ motsJaune[i]);
+            cle = melanger(cle ^ (motsJaune[i] | motsRouge[i]));
+        }
+        if (joueur == Couleur.ROUGE) {
+            cle ^= Long.MIN_VALUE;
+        }
+        return cle == 0 ? 1 : cle;
+    }
+
+    /**
+     * Calcule la clé de la position symétrique, obtenue en retournant la grille de gauche à droite.
+     * <p>
+     * La grille n'est pas modifiée : c'est la clé que renverrait {@link #cle(Couleur)} après {@link #miroir()}.
+     * </p>
+     *
+     * @param joueur la couleur du joueur au trait.
+     * @return la clé de la position symétrique.
+     */
+    public long cleMiroir(Couleur joueur) {
+        int nbBits = this.hauteurBits * this.colonnes;
+        if (nbBits < Long.SIZE) {
+            // Chaque colonne de la clé tient dans sa tranche : il suffit de retourner la clé
+            long cle = cle(joueur);
+            return miroir(cle & Long.MAX_VALUE, this.hauteurBits, this.colonnes) | (cle & Long.MIN_VALUE);
+        }
+        if (this.motsJaune != null) {
+            return cle(miroir(this.motsJaune, this.hauteurBits, this.colonnes),
+                    miroir(this.motsRouge, this.hauteurBits, this.colonnes), joueur);
+        }
+        return cle(miroir(this.masqueJaune, this.hauteurBits, this.colonnes),
+                miroir(this.masqueRouge, this.hauteurBits, this.colonnes), this.masqueBas, nbBits, joueur);
+    }
+
+    /**
+     * Vérifie si une position obtenue en complétant cette grille peut être la symétrique d'une autre.
+     * <p>
+     * C'est le cas quand aucune case n'est occupée par un jeton d'une couleur dans la grille et
+     * de l'autre couleur dans sa symétrique, par exemple quand la grille est elle-même symétrique.
+     * Sinon, les positions qui en descendent n'ont jamais leur reflet parmi elles : une recherche
+     * partant de cette grille ne gagne rien à les ranger sous leur {@link #cleCanonique(Couleur) clé canonique}.
+     * </p>
+     *
+     * @return true si la grille et sa symétrique sont compatibles.
+     */
+    public boolean isCompatibleMiroir() {
+        if (this.motsJaune == null) {
+            // Le reflet du conflit rouge contre jaune est le conflit jaune contre rouge
+            return (this.masqueJaune & miroir(this.masqueRouge, this.hauteurBits, this.colonnes)) == 0;
+        }
+        long[] rougeMiroir = miroir(this.motsRouge, this.hauteurBits, this.colonnes);
+        for (int i = 0; i < rougeMiroir.length; i++) {
+            if ((this.motsJaune[i] & rougeMiroir[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calcule une clé commune à la position et à sa symétrique gauche-droite.
+     * <p>
+     * Les règles ne distinguent pas une position de son reflet : une table, un livre d'ouvertures
+     * ou une statistique indexés par cette clé n'enregistrent qu'une fois les deux positions.
+     * La clé canonique est la plus petite de {@link #cle(Couleur)} et {@link #cleMiroir(Couleur)} ;
+     * quand c'est la seconde, les colonnes associées à la clé sont celles de la grille retournée
+     * et se ramènent à cette grille par {@link #colonneMiroir(int)}.
+     * </p>
+     *
+     * @param joueur la couleur du joueur au trait.
+     * @return la clé canonique de la position.
+     */
+    public long cleCanonique(Couleur joueur) {
+        return Math.min(cle(joueur), cleMiroir(joueur));
+    }
+
+    /**
+     * Calcule la colonne symétrique d'une colonne.
+     *
+     * @param col l'indice de la colonne.
+     * @return l'indice de la colonne à la même distance du bord opposé.
+     */
+    public int colonneMiroir(int col) {
+        return this.colonnes - 1 - col;
+    }
+
+    /**
+     * Retourne la grille de gauche à droite, sans allocation pour une grille qui tient dans un mot.
+     */
+    public void miroir() {
+        if (this.motsJaune != null) {
+            this.motsJaune = miroir(this.motsJaune, this.hauteurBits, this.colonnes);
+            this.motsRouge = miroir(this.motsRouge, this.hauteurBits, this.colonnes);
+        } else {
+            this.masqueJaune = miroir(this.masqueJaune, this.hauteurBits, this.colonnes);
+            this.masqueRouge = miroir(this.masqueRouge, this.hauteurBits, this.colonnes);
+        }
+        for (int g = 0, d = this.colonnes - 1; g < d; g++, d--) {
+            int hauteur = this.hauteurs[g];
+            this.hauteurs[g] = this.hauteurs[d];
+            this.hauteurs[d] = hauteur;
+        }
+    }
+
+    /**
+     * Retourne un bitboard d'un mot de gauche à droite.
+     *
+     * @param masque      le bitboard, une tranche de hauteurBits bits par colonne.
+     * @param hauteurBits le nombre de bits par colonne, ligne de garde comprise.
+     * @param colonnes    le nombre de colonnes.
+     * @return le bitboard dont les colonnes sont dans l'ordre inverse.
+     */
+    static long miroir(long masque, int hauteurBits, int colonnes) {
+        long colonne = (1L << hauteurBits) - 1;
+        long miroir = 0L;
+        for (int col = 0, cible = (colonnes - 1) * hauteurBits; col < colonnes; col++, cible -= hauteurBits) {
+            miroir |= ((masque >>> (col * hauteurBits)) & colonne) << cible;
+        }
+        return miroir;
+    }
+
+    /**
+     * Retourne de gauche à droite les jetons d'une grille de plus de 64 bits.
+     *
+     * @param mots        les jetons, un bit par case.
+     * @param hauteurBits le nombre de bits par colonne, ligne de garde comprise.
+     * @param colonnes    le nombre de colonnes.
+     * @return un nouveau tableau dont les colonnes sont dans l'ordre inverse.
+     */
+    static long[] miroir(long[] mots, int hauteurBits, int colonnes) {
+        long[] miroir = new long[mots.length];
+        for (int col = 0; col < colonnes; col++) {
+            int source = col * hauteurBits;
+            int cible = (colonnes - 1 - col) * hauteurBits;
+            for (int k = 0; k < hauteurBits; k++) {
+                if (contient(mots, source + k)) {
+                    poser(miroir, cible + k);
+                }
+            }
+        }
+        return miroir;
+    }
+
+    /**
+     * Prend un instantané immuable du contenu de la grille.
+     * <p>
+     * Pour une grille qui tient dans 64 bits, l'instantané ne recopie que les deux bitboards :
+     * il peut être pris après chaque coup pour un coût négligeable.
+     * </p>
+     *
+     * @return l'instantané de la grille dans son état actuel.
+     */
+    public InstantaneGrille instantane() {
+        if (this.motsJaune == null) {
+            return new InstantaneGrille(this.lignes, this.colonnes, this.alignement,
+                    this.masqueJaune, this.masqueRouge, null, null);
+        }
+        return new InstantaneGrille(this.lignes, this.colonnes, this.alignement,
+                0L, 0L, this.motsJaune.clone(), this.motsRouge.clone());
+    }
+
+    /**
+     * Récupère le masque des jetons d'une couleur, pour l'encodage binaire des sauvegardes.
+     * <p>
+     * Réservé aux grilles qui tiennent dans 64 bits.
+     * </p>
+     *
+     * @param couleur la couleur des jetons.
+     * @return le bitboard des jetons de cette couleur.
+     */
+    long masque(Couleur couleur) {
+        return couleur == Couleur.JAUNE ? this.masqueJaune : this.masqueRouge;
+    }
+
+    /**
+     * Reconstruit une grille standard à partir des masques des deux couleurs.
+     *
+     * @param masqueJaune le bitboard des jetons jaunes.
+     * @param masqueRouge le bitboard des jetons rouges.
+     * @return la grille correspondante.
+     * @throws Puissance4Exception si les masques se chevauchent, sortent de la grille
+     *                             ou contiennent un jeton flottant.
+     */
+    static Grille depuisMasques(long masqueJaune, long masqueRouge) throws Puissance4Exception {
+        Grille grille = new Grille();
+        long occupe = masqueJaune | masqueRouge;
+        if ((masqueJaune & masqueRouge) != 0 || (occupe & ~grille.masqueGrille) != 0) {
+            throw new Puissance4Exception("Masques de grille invalides");
+        }
+        for (int col = 0; col < NB_COLONNES; col++) {
+            long colonne = (occupe >>> (col * grille.hauteurBits)) & ((1L << NB_LIGNES) - 1);
+            if ((colonne & (colonne + 1)) != 0) {
+                throw new Puissance4Exception("Jeton flottant dans la colonne " + col);
+            }
+            grille.hauteurs[col] = Long.bitCount(colonne);
+            grille.nbCoups += grille.hauteurs[col];
+        }
+        grille.masqueJaune = masqueJaune;
+        grille.masqueRouge = masqueRouge;
+        return grille;
+    }
+
     /**
      * Retourne une représentation textuelle simple de la grille.
      *
-     * @return une chaîne décrivant la taille de la grille.
+     * @return une chaîne décrivant la taille de la grille et l'alignement gagnant.
      */
     @Override
     public String toString() {
-        return "Grille{lignes=" + NB_LIGNES + ", colonnes=" + NB_COLONNES + "}";
+        return "Grille{lignes=" + lignes + ", colonnes=" + colonnes + ", alignement=" + alignement + "}";
     }
 
     // --- MÉTHODES PRIVÉES (Non documentées dans la Javadoc publique) ---
 
+    private static void verifierDimensions(int lignes, int colonnes, int alignement) {
+        if (lignes < 1 || lignes > DIMENSION_MAX || colonnes < 1 || colonnes > DIMENSION_MAX) {
+            throw new IllegalArgumentException("Dimensions de grille invalides : " + lignes + "x" + colonnes);
+        }
+        if (alignement < 2 || alignement > Math.max(lignes, colonnes)) {
+            throw new IllegalArgumentException("Alignement invalide pour une grille "
+                    + lignes + "x" + colonnes + " : " + alignement);
+        }
+    }
+
+    static long masqueBas(int lignes, int colonnes) {
+        long masque = 0L;
+        for (int col = 0; col < colonnes; col++) {
+            masque |= 1L << (col * (lignes + 1));
+        }
+        return masque;
+    }
+
+    private static boolean tientDansUnMot(int lignes, int colonnes) {
+        return (lignes + 1) * colonnes <= Long.SIZE;
+    }
+
+    /*
+     * Calcule les masques et la détection d'alignement à partir des dimensions. La détection
+     * générale ne parcourt que les directions où un alignement tient dans la grille :
+     * les décalages utilisés restent alors inférieurs à 64 bits.
+     */
+    private void initialiser() {
+        this.hauteurBits = this.lignes + 1;
+        this.nbCases = this.lignes * this.colonnes;
+        this.masqueBas = 0L;
+        this.masqueGrille = 0L;
+        this.detection = DETECTION_GENERALE;
+        if (this.alignement == 4 && this.lignes >= 4 && this.colonnes >= 4) {
+            this.detection = this.lignes == NB_LIGNES ? DETECTION_STANDARD : DETECTION_QUATRE;
+        }
+        this.directions = null;
+        if (this.motsJaune != null) {
+            return;
+        }
+        this.masqueBas = masqueBas(this.lignes, this.colonnes);
+        this.masqueGrille = this.masqueBas * ((1L << this.lignes) - 1);
+        if (this.detection == DETECTION_GENERALE) {
+            int[] possibles = new int[4];
+            int n = 0;
+            if (this.alignement <= this.lignes) {
+                possibles[n++] = 1;
+            }
+            if (this.alignement <= this.colonnes) {
+                possibles[n++] = this.hauteurBits;
+            }
+            if (this.alignement <= Math.min(this.lignes, this.colonnes)) {
+                possibles[n++] = this.hauteurBits - 1;
+                possibles[n++] = this.hauteurBits + 1;
+            }
+            this.directions = Arrays.copyOf(possibles, n);
+        }
+    }
+
+    /*
+     * Les anciennes sauvegardes contiennent le tableau de jetons « plateauJetons »
+     * au lieu des masques : on reconstruit alors les masques à partir du tableau.
+     * Les sauvegardes antérieures aux grilles de taille variable sont des grilles standard.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField champs = in.readFields();
+        if (champs.getObjectStreamClass().getField("plateauJetons") != null) {
+            try {
+                Grille ancienne = new Grille((Jeton[][]) champs.get("plateauJetons", null));
+                this.lignes = ancienne.lignes;
+                this.colonnes = ancienne.colonnes;
+                this.alignement = ancienne.alignement;
+                this.masqueJaune = ancienne.masqueJaune;
+                this.masqueRouge = ancienne.masqueRouge;
+                this.hauteurs = ancienne.hauteurs;
+                this.nbCoups = ancienne.nbCoups;
+            } catch (Puissance4Exception e) {
+                throw new InvalidObjectException("Ancienne grille invalide : " + e.getMessage());
+            }
+            initialiser();
+            return;
+        }
+        this.lignes = champs.get("lignes", NB_LIGNES);
+        this.colonnes = champs.get("colonnes", NB_COLONNES);
+        this.alignement = champs.get("alignement", ALIGNEMENT);
+        this.masqueJaune = champs.get("masqueJaune", 0L);
+        this.masqueRouge = champs.get("masqueRouge", 0L);
+        this.motsJaune = (long[]) champs.get("motsJaune", null);
+        this.motsRouge = (long[]) champs.get("motsRouge", null);
+        this.hauteurs = (int[]) champs.get("hauteurs", null);
+        this.nbCoups = champs.get("nbCoups", 0);
+        this.detectionParBoucles = champs.get("detectionParBoucles", false);
+        try {
+            verifierDimensions(this.lignes, this.colonnes, this.alignement);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
+        if (this.hauteurs == null || this.hauteurs.length != this.colonnes) {
+            throw new InvalidObjectException("Hauteurs de colonnes invalides");
+        }
+        int nbMots = ((this.lignes + 1) * this.colonnes + Long.SIZE - 1) / Long.SIZE;
+        boolean unMot = tientDansUnMot(this.lignes, this.colonnes);
+        if (unMot ? this.motsJaune != null || this.motsRouge != null
+                : this.motsJaune == null || this.motsRouge == null
+                || this.motsJaune.length != nbMots || this.motsRouge.length != nbMots) {
+            throw new InvalidObjectException("Mots de la grille invalides");
+        }
+        initialiser();
+    }
+
+    private long occupe() {
+        return this.masqueJaune | this.masqueRouge;
+    }
+
+    private int index(int ligne, int colonne) {
+        return colonne * this.hauteurBits + this.lignes - 1 - ligne;
+    }
+
+    private long bit(int ligne, int colonne) {
+        return 1L << index(ligne, colonne);
+    }
+
+    /*
+     * Teste les directions d'un coup : d est le décalage entre deux cases voisines
+     * (1 vertical, hauteurBits horizontal, hauteurBits - 1 et + 1 pour les diagonales).
+     * La ligne de garde évite qu'un alignement ne déborde d'une colonne sur la suivante.
+     */
+    private boolean alignementPassantPar(long masque, long b) {
+        int detection = this.detection;
+        if (detection == DETECTION_STANDARD) {
+            // Hauteur constante : décalages immédiats une fois compilé
+            return alignementPassantPar4(masque, b, HAUTEUR_BITS_STANDARD);
+        }
+        if (detection == DETECTION_QUATRE) {
+            return alignementPassantPar4(masque, b, this.hauteurBits);
+        }
+        return alignementPassantParN(masque, b);
+    }
+
+    private static boolean alignementPassantPar4(long masque, long b, int h) {
+        return alignementDirection4(masque, b, 1)
+                | alignementDirection4(masque, b, h)
+                | alignementDirection4(masque, b, h - 1)
+                | alignementDirection4(masque, b, h + 1);
+    }
+
+    private boolean alignementPassantParN(long masque, long b) {
+        for (int d : this.directions) {
+            if (alignementDirection(masque, b, d, this.alignement)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * debuts a un bit à 1 pour chaque case qui commence 4 jetons alignés dans la direction d.
+     * Le jeton b fait partie d'un tel alignement si l'un des 4 départs possibles le précède.
+     */
+    private static boolean alignementDirection4(long masque, long b, int d) {
+        long paires = masque & (masque >>> d);
+        long debuts = paires & (paires >>> (2 * d));
+        return (debuts & (b | (b >>> d) | (b >>> (2 * d)) | (b >>> (3 * d)))) != 0;
+    }
+
+    /*
+     * Même test pour un alignement de n jetons : debuts a un bit à 1 pour chaque case
+     * qui commence n jetons alignés dans la direction d,
+     * couverts pour chaque case dont l'alignement de n jetons contiendrait b : on double
+     * la longueur à chaque étape (1, 2, 4...) puis on complète jusqu'à n.
+     */
+    private static boolean alignementDirection(long masque, long b, int d, int n) {
+        long debuts = masque;
+        long couverts = b;
+        int longueur = 1;
+        while (2 * longueur <= n) {
+            debuts &= debuts >>> (longueur * d);
+            couverts |= couverts >>> (longueur * d);
+            longueur *= 2;
+        }
+        if (longueur < n) {
+            int reste = n - longueur;
+            debuts &= debuts >>> (reste * d);
+            couverts |= couverts >>> (reste * d);
+        }
+        return (debuts & couverts) != 0;
+    }
+
+    /*
+     * Cases (vides ou non) qui complètent n - 1 jetons du masque en un alignement de n,
+     * dans toutes les directions et pour toutes les positions du trou.
+     */
+    private long casesGagnantes(long m) {
+        int detection = this.detection;
+        if (detection == DETECTION_STANDARD) {
+            return casesGagnantes4(m, HAUTEUR_BITS_STANDARD);
+        }
+        if (detection == DETECTION_QUATRE) {
+            return casesGagnantes4(m, this.hauteurBits);
+        }
+        return casesGagnantesN(m);
+    }
+
+    private static long casesGagnantes4(long m, int h) {
+        long r = (m << 1) & (m << 2) & (m << 3);
+        r |= casesGagnantesDirection4(m, h);
+        r |= casesGagnantesDirection4(m, h - 1);
+        r |= casesGagnantesDirection4(m, h + 1);
+        return r;
+    }
+
+    private long casesGagnantesN(long m) {
+        long r = 0L;
+        int n = this.alignement;
+        for (int d : this.directions) {
+            for (int trou = 0; trou < n; trou++) {
+                long cases = -1L;
+                for (int j = -trou; j < n - trou; j++) {
+                    if (j > 0) {
+                        cases &= m >>> (j * d);
+                    } else if (j < 0) {
+                        cases &= m << (-j * d);
+                    }
+                }
+                r |= cases;
+            }
+        }
+        return r;
+    }
+
+    private static long casesGagnantesDirection4(long m, int d) {
+        long p = (m << d) & (m << (2 * d));
+        long r = p & (m << (3 * d));
+        r |= p & (m >>> d);
+        p = (m >>> d) & (m >>> (2 * d));
+        r |= p & (m << d);
+        r |= p & (m >>> (3 * d));
+        return r;
+    }
+
+    private static void poser(long[] mots, int i) {
+        mots[i >>> 6] |= 1L << i;
+    }
+
+    private static void retirer(long[] mots, int i) {
+        mots[i >>> 6] &= ~(1L << i);
+    }
+
+    private static boolean contient(long[] mots, int i) {
+        return (mots[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private long[] motsDe(Couleur couleur) {
+        return couleur == Couleur.JAUNE ? this.motsJaune : this.motsRouge;
+    }
+
+    private boolean alignementRealiseDansMots(int ligne, int colonne) {
+        int i = index(ligne, colonne);
+        if (contient(this.motsJaune, i)) {
+            return alignementDansMots(this.motsJaune, ligne, colonne, -1);
+        }
+        if (contient(this.motsRouge, i)) {
+            return alignementDansMots(this.motsRouge, ligne, colonne, -1);
+        }
+        return false;
+    }
+
+    // La case testée compte toujours comme occupée : rien n'est écrit dans les mots
+    private boolean estCoupGagnantDansMots(long[] mots, int ligne, int colonne) {
+        return alignementDansMots(mots, ligne, colonne, -1);
+    }
+
+    /*
+     * Grilles de plus de 64 bits : compte les jetons du tableau de mots alignés
+     * de part et d'autre de la case, dans chaque direction. La case elle-même compte
+     * toujours, ainsi que la case d'indice supplementaire (-1 si aucune) : les tests de
+     * coups ne modifient pas les mots, que d'autres threads peuvent lire en même temps.
+     */
+    private boolean alignementDansMots(long[] mots, int ligne, int colonne, int supplementaire) {
+        return compterDansMots(mots, ligne, colonne, 1, 0, supplementaire) >= this.alignement
+                || compterDansMots(mots, ligne, colonne, 0, 1, supplementaire) >= this.alignement
+                || compterDansMots(mots, ligne, colonne, 1, 1, supplementaire) >= this.alignement
+                || compterDansMots(mots, ligne, colonne, 1, -1, supplementaire) >= this.alignement;
+    }
+
+    private int compterDansMots(long[] mots, int ligne, int colonne, int dl, int dc, int supplementaire) {
+        int n = 1;
+        for (int l = ligne + dl, c = colonne + dc;
+             l >= 0 && l < this.lignes && c >= 0 && c < this.colonnes && occupeDansMots(mots, index(l, c), supplementaire);
+             l += dl, c += dc) {
+            n++;
+        }
+        for (int l = ligne - dl, c = colonne - dc;
+             l >= 0 && l < this.lignes && c >= 0 && c < this.colonnes && occupeDansMots(mots, index(l, c), supplementaire);
+             l -= dl, c -= dc) {
+            n++;
+        }
+        return n;
+    }
+
+    private static boolean occupeDansMots(long[] mots, int i, int supplementaire) {
+        return i == supplementaire || contient(mots, i);
+    }
+
+    /*
+     * Essaie chaque case vide restante, le jeton de la colonne jouée comptant comme posé.
+     */
+    private int nombreMenacesDansMots(long[] mots, int col) {
+        int coup = index(this.lignes - 1 - this.hauteurs[col], col);
+        int menaces = 0;
+        for (int c = 0; c < this.colonnes; c++) {
+            int hauteur = this.hauteurs[c] + (c == col ? 1 : 0);
+            for (int ligne = this.lignes - 1 - hauteur; ligne >= 0; ligne--) {
+                if (alignementDansMots(mots, ligne, c, coup)) {
+                    menaces++;
+                }
+            }
+        }
+        return menaces;
+    }
+
+    // Finaliseur de SplitMix64 : chaque bit d'entrée influence tous les bits de sortie
+    private static long melanger(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+
+    private Couleur couleurEn(int ligne, int colonne) {
+        if (this.motsJaune != null) {
+            int i = index(ligne, colonne);
+            if (contient(this.motsJaune, i)) {
+                return Couleur.JAUNE;
+            }
+            if (contient(this.motsRouge, i)) {
+                return Couleur.ROUGE;
+            }
+            return null;
+        }
+        long b = bit(ligne, colonne);
+        if ((this.masqueJaune & b) != 0) {
+            return Couleur.JAUNE;
+        }
+        if ((this.masqueRouge & b) != 0) {
+            return Couleur.ROUGE;
+        }
+        return null;
+    }
+
     private int alignementHorizontal(Position position) {
         int ligne = position.getLigne();
         int colonne = position.getColonne();
-        if (this.plateauJetons[ligne][colonne] == null) {
+        Couleur couleur = couleurEn(ligne, colonne);
+        if (couleur == null) {
             return 0;
         }
-        Couleur couleur = this.plateauJetons[ligne][colonne].getCouleur();
         int nbAlignes = 1;
         boolean memeCouleur;
         int colCourante;
@@ -204,7 +1245,7 @@ public class Grille implements Serializable{
         while (memeCouleur && colCourante > 0) {
             colCourante = colCourante - 1;
 
-            if (this.plateauJetons[ligne][colCourante] != null && this.plateauJetons[ligne][colCourante].getCouleur() == couleur) {
+            if (couleurEn(ligne, colCourante) == couleur) {
                 memeCouleur = true;
 
             } else {
@@ -218,11 +1259,10 @@ public class Grille implements Serializable{
         memeCouleur = true;
 
 
-        while (memeCouleur && colCourante < NB_COLONNES - 1) {
+        while (memeCouleur && colCourante < this.colonnes - 1) {
             colCourante = colCourante + 1;
 
-            if (this.plateauJetons[ligne][colCourante] != null &&
-                    this.plateauJetons[ligne][colCourante].getCouleur() == couleur) {
+            if (couleurEn(ligne, colCourante) == couleur) {
                 memeCouleur = true;
             } else {
                 memeCouleur = false;
@@ -238,10 +1278,10 @@ public class Grille implements Serializable{
     private int alignementVertical(Position position) {
         int ligne = position.getLigne();
         int colonne = position.getColonne();
-        if (this.plateauJetons[ligne][colonne] == null) {
+        Couleur couleur = couleurEn(ligne, colonne);
+        if (couleur == null) {
             return 0;
         }
-        Couleur couleur = this.plateauJetons[ligne][colonne].getCouleur();
         int nbAlignes = 1;
         boolean memeCouleur;
         int ligneCourante;
@@ -252,7 +1292,7 @@ public class Grille implements Serializable{
         while (memeCouleur && ligneCourante > 0) {
             ligneCourante = ligneCourante - 1;
 
-            if (this.plateauJetons[ligneCourante][colonne] != null && this.plateauJetons[ligneCourante][colonne].getCouleur() == couleur) {
+            if (couleurEn(ligneCourante, colonne) == couleur) {
                 memeCouleur = true;
 
             } else {
@@ -265,10 +1305,10 @@ public class Grille implements Serializable{
         ligneCourante = ligne;
         memeCouleur = true;
 
-        while (memeCouleur && ligneCourante < this.plateauJetons.length - 1) {
+        while (memeCouleur && ligneCourante < this.lignes - 1) {
             ligneCourante = ligneCourante + 1;
 
-            if (this.plateauJetons[ligneCourante][colonne] != null && this.plateauJetons[ligneCourante][colonne].getCouleur() == couleur) {
+            if (couleurEn(ligneCourante, colonne) == couleur) {
                 memeCouleur = true;
 
             } else {
@@ -284,10 +1324,10 @@ public class Grille implements Serializable{
     private int alignementDiagonal1(Position position) {
         int ligne = position.getLigne();
         int colonne = position.getColonne();
-        if (this.plateauJetons[ligne][colonne] == null) {
+        Couleur couleur = couleurEn(ligne, colonne);
+        if (couleur == null) {
             return 0;
         }
-        Couleur couleur = this.plateauJetons[ligne][colonne].getCouleur();
         int nbAlignes = 1;
         boolean memeCouleur = true;
         int ligneCourante = ligne;
@@ -297,8 +1337,7 @@ public class Grille implements Serializable{
             ligneCourante = ligneCourante - 1;   // On monte
             colonneCourante = colonneCourante - 1; // On va a gauche
 
-            if (this.plateauJetons[ligneCourante][colonneCourante] != null &&
-                    this.plateauJetons[ligneCourante][colonneCourante].getCouleur() == couleur) {
+            if (couleurEn(ligneCourante, colonneCourante) == couleur) {
                 nbAlignes++;
             } else {
                 memeCouleur = false;
@@ -308,13 +1347,12 @@ public class Grille implements Serializable{
         ligneCourante = ligne;
         colonneCourante = colonne;
 
-        while (memeCouleur && ligneCourante < this.plateauJetons.length - 1
-                && colonneCourante < this.plateauJetons[0].length - 1) {
+        while (memeCouleur && ligneCourante < this.lignes - 1
+                && colonneCourante < this.colonnes - 1) {
             ligneCourante++;   // On descend
             colonneCourante++; // On va a droite
 
-            if (this.plateauJetons[ligneCourante][colonneCourante] != null &&
-                    this.plateauJetons[ligneCourante][colonneCourante].getCouleur() == couleur) {
+            if (couleurEn(ligneCourante, colonneCourante) == couleur) {
                 nbAlignes++;
             } else {
                 memeCouleur = false;
@@ -327,10 +1365,10 @@ public class Grille implements Serializable{
     private int alignementDiagonal2(Position position) {
         int ligne = position.getLigne();
         int colonne = position.getColonne();
-        if (this.plateauJetons[ligne][colonne] == null) {
+        Couleur couleur = couleurEn(ligne, colonne);
+        if (couleur == null) {
             return 0;
         }
-        Couleur couleur = this.plateauJetons[ligne][colonne].getCouleur();
         int nbAlignes = 1;
         boolean memeCouleur;
         int ligneCourante;
@@ -341,12 +1379,11 @@ public class Grille implements Serializable{
         colonneCourante = colonne;
 
 
-        while (memeCouleur && ligneCourante > 0 && colonneCourante < this.plateauJetons[0].length - 1) {
+        while (memeCouleur && ligneCourante > 0 && colonneCourante < this.colonnes - 1) {
             ligneCourante--;   // On monte
             colonneCourante++; // On va à droite
 
-            if (this.plateauJetons[ligneCourante][colonneCourante] != null &&
-                    this.plateauJetons[ligneCourante][colonneCourante].getCouleur() == couleur) {
+            if (couleurEn(ligneCourante, colonneCourante) == couleur) {
                 nbAlignes++;
             } else {
                 memeCouleur = false;
@@ -358,12 +1395,11 @@ public class Grille implements Serializable{
         colonneCourante = colonne;
 
 
-        while (memeCouleur && ligneCourante < this.plateauJetons.length - 1 && colonneCourante > 0) {
+        while (memeCouleur && ligneCourante < this.lignes - 1 && colonneCourante > 0) {
             ligneCourante++;   // On descend
             colonneCourante--; // On va à gauche
 
-            if (this.plateauJetons[ligneCourante][colonneCourante] != null &&
-                    this.plateauJetons[ligneCourante][colonneCourante].getCouleur() == couleur) {
+            if (couleurEn(ligneCourante, colonneCourante) == couleur) {
                 nbAlignes++;
             } else {
                 memeCouleur = false;
@@ -0,0 +1,297 @@
+package business;
+
+import java.util.Arrays;
+
+/**
+ * Instantané immuable du contenu d'une {@link Grille}.
+ * <p>
+ * Une grille qui tient dans un mot de 64 bits (c'est le cas de la grille standard) est
+ * résumée par ses deux bitboards : prendre un instantané après chaque coup ne coûte que
+ * ces deux {@code long} et les dimensions, sans recopier de tableau. Les plus grandes
+ * grilles recopient leurs mots, un bit par case.
+ * </p>
+ * <p>
+ * Un instantané peut être conservé indéfiniment et lu par plusieurs threads sans verrou ;
+ * {@link Grille#Grille(InstantaneGrille)} en refait une grille modifiable.
+ * Deux instantanés sont égaux s'ils ont les mêmes dimensions et les mêmes jetons.
+ * </p>
+ */
+public final class InstantaneGrille {
+
+    private final int lignes;
+    private final int colonnes;
+    private final int alignement;
+    private final long masqueJaune;
+    private final long masqueRouge;
+    // Grilles de plus de 64 bits seulement, null sinon ; jamais modifiés
+    private final long[] motsJaune;
+    private final long[] motsRouge;
+
+    /**
+     * Construit un instantané à partir des bitboards d'une grille, qui ne doivent plus être modifiés.
+     *
+     * @param lignes      le nombre de lignes.
+     * @param colonnes    le nombre de colonnes.
+     * @param alignement  le nombre de jetons à aligner pour gagner.
+     * @param masqueJaune le bitboard des jetons jaunes (grille d'un mot).
+     * @param masqueRouge le bitboard des jetons rouges (grille d'un mot).
+     * @param motsJaune   les jetons jaunes d'une grille de plus de 64 bits, ou null.
+     * @param motsRouge   les jetons rouges d'une grille de plus de 64 bits, ou null.
+     */
+    InstantaneGrille(int lignes, int colonnes, int alignement, long masqueJaune, long masqueRouge,
+                     long[] motsJaune, long[] motsRouge) {
+        this.lignes = lignes;
+        this.colonnes = colonnes;
+        this.alignement = alignement;
+        this.masqueJaune = masqueJaune;
+        this.masqueRouge = masqueRouge;
+        this.motsJaune = motsJaune;
+        this.motsRouge = motsRouge;
+    }
+
+    /**
+     * Récupère le nombre de lignes de la grille.
+     *
+     * @return le nombre de lignes.
+     */
+    public int getNbLignes() {
+        return lignes;
+    }
+
+    /**
+     * Récupère le nombre de colonnes de la grille.
+     *
+     * @return le nombre de colonnes.
+     */
+    public int getNbColonnes() {
+        return colonnes;
+    }
+
+    /**
+     * Récupère le nombre de jetons à aligner pour gagner.
+     *
+     * @return la longueur d'alignement gagnante.
+     */
+    public int getAlignement() {
+        return alignement;
+    }
+
+    /**
+     * Récupère la couleur du jeton d'une case.
+     *
+     * @param ligne   la ligne de la case (0 en haut).
+     * @param colonne la colonne de la case.
+     * @return la couleur du jeton, ou null si la case est vide.
+     * @throws IllegalArgumentException si la case est hors de la grille.
+     */
+    public Couleur getCouleur(int ligne, int colonne) {
+        if (ligne < 0 || ligne >= this.lignes || colonne < 0 || colonne >= this.colonnes) {
+            throw new IllegalArgumentException("Position hors grille : " + new Position(ligne, colonne));
+        }
+        int i = index(ligne, colonne);
+        if (contient(this.masqueJaune, this.motsJaune, i)) {
+            return Couleur.JAUNE;
+        }
+        if (contient(this.masqueRouge, this.motsRouge, i)) {
+            return Couleur.ROUGE;
+        }
+        return null;
+    }
+
+    /**
+     * Récupère le jeton situé à une position donnée.
+     *
+     * @param position la position (ligne, colonne) à consulter.
+     * @return le Jeton présent à cette case, ou null si la case est vide.
+     * @throws IllegalArgumentException si la position est null ou hors des limites de la grille.
+     */
+    public Jeton getJeton(Position position) {
+        if (position == null) {
+            throw new IllegalArgumentException("La position ne peu pas être null ");
+        }
+        Couleur couleur = getCouleur(position.getLigne(), position.getColonne());
+        return couleur == null ? null : Jeton.de(couleur);
+    }
+
+    /**
+     * Construit le tableau des jetons, comme {@link Grille#getJetons()}.
+     *
+     * @return un nouveau tableau à deux dimensions ; le modifier n'a aucun effet sur l'instantané.
+     */
+    public Jeton[][] getJetons() {
+        Jeton[][] plateau = new Jeton[this.lignes][this.colonnes];
+        for (int lig = 0; lig < this.lignes; lig++) {
+            for (int col = 0; col < this.colonnes; col++) {
+                Couleur couleur = getCouleur(lig, col);
+                if (couleur != null) {
+                    plateau[lig][col] = Jeton.de(couleur);
+                }
+            }
+        }
+        return plateau;
+    }
+
+    /**
+     * Récupère le nombre de jetons présents dans une colonne.
+     *
+     * @param numColonne l'indice de la colonne.
+     * @return la hauteur de la colonne, entre 0 (vide) et le nombre de lignes (pleine).
+     * @throws IllegalArgumentException si le numéro de colonne n'existe pas.
+     */
+    public int hauteurColonne(int numColonne) {
+        if (numColonne < 0 || numColonne >= this.colonnes) {
+            throw new IllegalArgumentException("Numéro de colonne invalide : " + numColonne);
+        }
+        if (this.motsJaune == null) {
+            long colonne = (occupe() >>> (numColonne * (this.lignes + 1))) & ((1L << this.lignes) - 1);
+            return Long.bitCount(colonne);
+        }
+        // Les jetons d'une colonne occupent ses bits du bas vers le haut, sans trou
+        int hauteur = 0;
+        int i = numColonne * (this.lignes + 1);
+        while (hauteur < this.lignes && (contient(0L, this.motsJaune, i) || contient(0L, this.motsRouge, i))) {
+            hauteur++;
+            i++;
+        }
+        return hauteur;
+    }
+
+    /**
+     * Récupère le nombre de jetons présents dans toute la grille.
+     *
+     * @return le nombre de coups joués depuis la grille vide.
+     */
+    public int nombreCoups() {
+        if (this.motsJaune == null) {
+            return Long.bitCount(occupe());
+        }
+        int n = 0;
+        for (int i = 0; i < this.motsJaune.length; i++) {
+            n += Long.bitCount(this.motsJaune[i] | this.motsRouge[i]);
+        }
+        return n;
+    }
+
+    /**
+     * Calcule la clé de la position, identique à celle de {@link Grille#cle(Couleur)}
+     * pour la grille dont l'instantané est tiré.
+     *
+     * @param joueur la couleur du joueur au trait.
+     * @return la clé de la position.
+     */
+    public long cle(Couleur joueur) {
+        if (this.motsJaune != null) {
+            return Grille.cle(this.motsJaune, this.motsRouge, joueur);
+        }
+        return Grille.cle(this.masqueJaune, this.masqueRouge, Grille.masqueBas(this.lignes, this.colonnes),
+                (this.lignes + 1) * this.colonnes, joueur);
+    }
+
+    /**
+     * Calcule la clé commune à la position et à sa symétrique, identique à celle de
+     * {@link Grille#cleCanonique(Couleur)} pour la grille dont l'instantané est tiré.
+     *
+     * @param joueur la couleur du joueur au trait.
+     * @return la clé canonique de la position.
+     */
+    public long cleCanonique(Couleur joueur) {
+        return Math.min(cle(joueur), miroir().cle(joueur));
+    }
+
+    /**
+     * Construit l'instantané de la grille retournée de gauche à droite.
+     *
+     * @return l'instantané symétrique, de mêmes dimensions.
+     */
+    public InstantaneGrille miroir() {
+        int hauteurBits = this.lignes + 1;
+        if (this.motsJaune != null) {
+            return new InstantaneGrille(this.lignes, this.colonnes, this.alignement, 0L, 0L,
+                    Grille.miroir(this.motsJaune, hauteurBits, this.colonnes),
+                    Grille.miroir(this.motsRouge, hauteurBits, this.colonnes));
+        }
+        return new InstantaneGrille(this.lignes, this.colonnes, this.alignement,
+                Grille.miroir(this.masqueJaune, hauteurBits, this.colonnes),
+                Grille.miroir(this.masqueRouge, hauteurBits, this.colonnes), null, null);
+    }
+
+    /**
+     * Compare cet instantané à un autre objet.
+     *
+     * @param o l'objet à comparer.
+     * @return true si o est un instantané de mêmes dimensions, même alignement et mêmes jetons.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InstantaneGrille)) {
+            return false;
+        }
+        InstantaneGrille autre = (InstantaneGrille) o;
+        return this.lignes == autre.lignes && this.colonnes == autre.colonnes
+                && this.alignement == autre.alignement
+                && this.masqueJaune == autre.masqueJaune && this.masqueRouge == autre.masqueRouge
+                && Arrays.equals(this.motsJaune, autre.motsJaune) && Arrays.equals(this.motsRouge, autre.motsRouge);
+    }
+
+    /**
+     * Calcule le code de hachage de l'instantané, cohérent avec {@link #equals(Object)}.
+     *
+     * @return le code de hachage.
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cle(Couleur.JAUNE)) * 31 + this.alignement;
+    }
+
+    /**
+     * Retourne une représentation textuelle de l'instantané.
+     *
+     * @return une chaîne décrivant les dimensions et le nombre de jetons.
+     */
+    @Override
+    public String toString() {
+        return "InstantaneGrille{lignes=" + lignes + ", colonnes=" + colonnes + ", alignement=" + alignement
+                + ", jetons=" + nombreCoups() + "}";
+    }
+
+    /**
+     * Récupère le bitboard des jetons d'une couleur, pour reconstruire une grille.
+     *
+     * @param couleur la couleur des jetons.
+     * @return le bitboard partagé de l'instantané (grille d'un mot).
+     */
+    long masque(Couleur couleur) {
+        return couleur == Couleur.JAUNE ? this.masqueJaune : this.masqueRouge;
+    }
+
+    /**
+     * Récupère les mots des jetons d'une couleur, pour reconstruire une grille.
+     * L'appelant ne doit pas les modifier.
+     *
+     * @param couleur la couleur des jetons.
+     * @return les mots partagés de l'instantané, ou null pour une grille d'un mot.
+     */
+    long[] mots(Couleur couleur) {
+        return couleur == Couleur.JAUNE ? this.motsJaune : this.motsRouge;
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    private long occupe() {
+        return this.masqueJaune | this.masqueRouge;
+    }
+
+    private int index(int ligne, int colonne) {
+        return colonne * (this.lignes + 1) + this.lignes - 1 - ligne;
+    }
+
+    private static boolean contient(long masque, long[] mots, int i) {
+        if (mots == null) {
+            return (masque & (1L << i)) != 0;
+        }
+        return (mots[i >>> 6] & (1L << i)) != 0;
+    }
+}
@@ -8,6 +8,11 @@ import java.io.Serializable;
  */
 public class Jeton implements Serializable{
 
+    private static final long serialVersionUID = -8882811350864358499L;
+
+    private static final Jeton JETON_JAUNE = new Jeton(Couleur.JAUNE);
+    private static final Jeton JETON_ROUGE = new Jeton(Couleur.ROUGE);
+
     private Couleur couleur;
 
     /**
@@ -19,6 +24,27 @@ public class Jeton implements Serializable{
         this.couleur = couleur;
     }
 
+    /**
+     * Récupère le jeton partagé associé à une couleur.
+     * <p>
+     * Un jeton n'ayant pas d'autre état que sa couleur, une seule instance par couleur
+     * suffit : la grille s'en sert pour présenter son contenu sans allouer de jetons.
+     * </p>
+     *
+     * @param couleur la couleur du jeton voulu.
+     * @return l'instance partagée du jeton de cette couleur.
+     * @throws IllegalArgumentException si la couleur est null.
+     */
+    public static Jeton de(Couleur couleur) {
+        if (couleur == null) {
+            throw new IllegalArgumentException("La couleur ne peut pas être null");
+        }
+        if (couleur == Couleur.JAUNE) {
+            return JETON_JAUNE;
+        }
+        return JETON_ROUGE;
+    }
+
     /**
      * Récupère la couleur de ce jeton.
      *
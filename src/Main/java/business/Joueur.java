@@ -8,6 +8,8 @@ import java.io.Serializable;
  */
 public class Joueur implements Serializable{
 
+    private static final long serialVersionUID = -2274556899613829125L;
+
     private final Couleur nom;
 
     /**
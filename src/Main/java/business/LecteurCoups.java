@@ -0,0 +1,228 @@
+package business;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lecture en flux de parties notées par leurs coups, une partie par ligne.
+ * <p>
+ * Chaque ligne est une suite de chiffres de {@code 1} à {@code 7}, la colonne jouée,
+ * comme dans la notation des solveurs publics de Puissance 4 (ex: {@code 4453}).
+ * Le premier coup est joué par {@link Couleur#JAUNE}. Les lignes vides sont ignorées
+ * et les fins de ligne {@code \r\n} sont acceptées.
+ * </p>
+ * <p>
+ * Les octets sont lus directement dans le tampon, sans créer de chaîne ni de jeton :
+ * chaque partie est rejouée sur une seule {@link Grille}, vidée entre deux lignes,
+ * puis transmise à l'{@link EcouteurCoups}. Une partie invalide (caractère inconnu,
+ * colonne pleine, coup joué après la fin) est signalée et la lecture continue.
+ * </p>
+ */
+public class LecteurCoups {
+
+    /**
+     * Issue d'une partie : ni victoire ni grille pleine après le dernier coup.
+     */
+    public static final int EN_COURS = 0;
+    /**
+     * Issue d'une partie : le dernier coup a aligné 4 jetons.
+     */
+    public static final int VICTOIRE = 1;
+    /**
+     * Issue d'une partie : la grille est pleine sans alignement.
+     */
+    public static final int MATCH_NUL = 2;
+
+    /**
+     * Erreur : un caractère n'est pas un numéro de colonne.
+     */
+    public static final int CARACTERE_INVALIDE = 1;
+    /**
+     * Erreur : un coup est joué dans une colonne pleine.
+     */
+    public static final int COLONNE_PLEINE = 2;
+    /**
+     * Erreur : un coup suit une victoire ou un match nul.
+     */
+    public static final int COUP_APRES_FIN = 3;
+
+    private static final int TAILLE_SEGMENT_DEFAUT = 1 << 30;
+    // Le premier joueur ne peut aligner 4 jetons qu'à son quatrième coup
+    private static final int COUPS_MIN_VICTOIRE = 7;
+
+    private final EcouteurCoups ecouteur;
+    private final Grille grille;
+    private final int tailleSegment;
+    private long nbLignes;
+    private long nbParties;
+    private long nbErreurs;
+
+    /**
+     * Construit un lecteur qui transmet les parties lues à un écouteur.
+     *
+     * @param ecouteur le destinataire des parties et des erreurs.
+     * @throws IllegalArgumentException si l'écouteur est null.
+     */
+    public LecteurCoups(EcouteurCoups ecouteur) {
+        this(ecouteur, TAILLE_SEGMENT_DEFAUT);
+    }
+
+    /**
+     * Construit un lecteur en choisissant la taille des segments de fichier projetés en mémoire.
+     *
+     * @param ecouteur      le destinataire des parties et des erreurs.
+     * @param tailleSegment la taille maximale d'un segment, en octets.
+     */
+    LecteurCoups(EcouteurCoups ecouteur, int tailleSegment) {
+        if (ecouteur == null) {
+            throw new IllegalArgumentException("L'écouteur ne peut pas être null");
+        }
+        this.ecouteur = ecouteur;
+        this.grille = new Grille();
+        this.tailleSegment = tailleSegment;
+    }
+
+    /**
+     * Lit toutes les parties d'un fichier, projeté en mémoire par segments.
+     *
+     * @param fichier le fichier à lire.
+     * @return le nombre de parties valides lues dans le fichier.
+     * @throws IOException si le fichier ne peut être lu ou contient une ligne plus longue qu'un segment.
+     */
+    public long lire(Path fichier) throws IOException {
+        long avant = this.nbParties;
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            long debut = 0;
+            while (debut < taille) {
+                long longueur = Math.min(this.tailleSegment, taille - debut);
+                MappedByteBuffer segment = canal.map(FileChannel.MapMode.READ_ONLY, debut, longueur);
+                int fin = (int) longueur;
+                if (debut + longueur < taille) {
+                    // Le segment s'arrête après la dernière fin de ligne qu'il contient
+                    while (fin > 0 && segment.get(fin - 1) != '\n') {
+                        fin--;
+                    }
+                    if (fin == 0) {
+                        throw new IOException("Ligne trop longue à partir de l'octet " + debut);
+                    }
+                }
+                segment.limit(fin);
+                lire(segment);
+                debut += fin;
+            }
+        }
+        return this.nbParties - avant;
+    }
+
+    /**
+     * Lit toutes les parties contenues entre la position et la limite d'un tampon.
+     * <p>
+     * Une dernière ligne sans fin de ligne est lue comme une partie complète.
+     * La position du tampon est placée à sa limite.
+     * </p>
+     *
+     * @param entree le tampon à lire.
+     * @return le nombre de parties valides lues dans le tampon.
+     * @throws IllegalArgumentException si le tampon est null.
+     */
+    public long lire(ByteBuffer entree) {
+        if (entree == null) {
+            throw new IllegalArgumentException("Le tampon ne peut pas être null");
+        }
+        long avant = this.nbParties;
+        int fin = entree.limit();
+        int i = entree.position();
+        while (i < fin) {
+            this.nbLignes++;
+            this.grille.vider();
+            int debut = i;
+            int issue = EN_COURS;
+            int erreur = 0;
+            int positionErreur = 0;
+            Couleur joueur = Couleur.JAUNE;
+
+            for (; i < fin; i++) {
+                byte octet = entree.get(i);
+                if (octet == '\n') {
+                    break;
+                }
+                if (erreur != 0 || octet == '\r') {
+                    continue;
+                }
+                int colonne = octet - '1';
+                if (colonne < 0 || colonne >= Grille.NB_COLONNES) {
+                    erreur = CARACTERE_INVALIDE;
+                } else if (issue != EN_COURS) {
+                    erreur = COUP_APRES_FIN;
+                } else {
+                    int rang = this.grille.jouerCoup(joueur, colonne);
+                    if (rang < 0) {
+                        erreur = COLONNE_PLEINE;
+                    } else if (this.grille.nombreCoups() >= COUPS_MIN_VICTOIRE
+                            && this.grille.alignementRealise(rang, colonne)) {
+                        issue = VICTOIRE;
+                    } else if (this.grille.isFullGrille()) {
+                        issue = MATCH_NUL;
+                    }
+                    joueur = joueur.adverse();
+                }
+                if (erreur != 0) {
+                    positionErreur = i - debut + 1;
+                }
+            }
+            i++;
+
+            if (erreur != 0) {
+                this.nbErreurs++;
+                this.ecouteur.erreur(this.nbLignes, positionErreur, erreur);
+            } else if (this.grille.nombreCoups() > 0) {
+                this.nbParties++;
+                this.ecouteur.partie(this.nbLignes, this.grille, this.grille.nombreCoups(), issue);
+            }
+        }
+        entree.position(fin);
+        return this.nbParties - avant;
+    }
+
+    /**
+     * Récupère le nombre de lignes lues depuis la création du lecteur, lignes vides comprises.
+     *
+     * @return le nombre de lignes.
+     */
+    public long getNombreLignes() {
+        return nbLignes;
+    }
+
+    /**
+     * Récupère le nombre de parties valides lues depuis la création du lecteur.
+     *
+     * @return le nombre de parties transmises à l'écouteur.
+     */
+    public long getNombreParties() {
+        return nbParties;
+    }
+
+    /**
+     * Récupère le nombre de parties invalides rencontrées depuis la création du lecteur.
+     *
+     * @return le nombre d'erreurs signalées à l'écouteur.
+     */
+    public long getNombreErreurs() {
+        return nbErreurs;
+    }
+
+    /**
+     * Retourne une représentation textuelle du lecteur.
+     *
+     * @return une chaîne donnant le nombre de lignes, de parties et d'erreurs lues.
+     */
+    @Override
+    public String toString() {
+        return "LecteurCoups{lignes=" + nbLignes + ", parties=" + nbParties + ", erreurs=" + nbErreurs + "}";
+    }
+}
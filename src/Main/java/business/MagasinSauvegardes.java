@@ -0,0 +1,552 @@
+package business;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * Magasin de sauvegardes : un grand nombre de parties, identifiées par un numéro,
+ * rangées dans un seul fichier.
+ * <p>
+ * Le fichier est un journal : chaque sauvegarde ou suppression y est ajoutée à la fin
+ * sous forme d'un enregistrement (identifiant, date, nom, partie au format {@link FormatBinaire},
+ * somme de contrôle CRC32). À l'ouverture, le journal est relu une fois pour construire
+ * un index en mémoire ; ensuite, retrouver une sauvegarde coûte une recherche dans une table
+ * de hachage et une seule lecture, et lister les sauvegardes ne lit pas le fichier.
+ * Un enregistrement incomplet (arrêt pendant une écriture) ou illisible est ignoré et effacé,
+ * avec tout ce qui le suit dans le fichier.
+ * </p>
+ * <p>
+ * Remplacer ou supprimer une sauvegarde laisse l'ancien enregistrement dans le fichier.
+ * Quand ces octets morts dépassent la moitié du fichier, un thread d'arrière-plan recopie
+ * les enregistrements vivants dans un nouveau fichier qui remplace l'ancien.
+ * Le magasin peut être utilisé par plusieurs threads.
+ * </p>
+ */
+public class MagasinSauvegardes implements AutoCloseable {
+
+    private static final byte SAUVEGARDE = 1;
+    private static final byte SUPPRESSION = 2;
+
+    /**
+     * Taille de l'en-tête d'un enregistrement : type, identifiant, date,
+     * longueur du nom et longueur de la partie.
+     */
+    private static final int TAILLE_ENTETE = 1 + Integer.BYTES + Long.BYTES + Short.BYTES + 1;
+    private static final int TAILLE_CRC = Integer.BYTES;
+    private static final int LONGUEUR_NOM_MAX = 0xFFFF;
+
+    /**
+     * Taille du tampon de relecture du journal, supérieure à celle du plus long enregistrement.
+     */
+    private static final int TAILLE_LECTURE = 256 * 1024;
+
+    /**
+     * Nombre d'octets morts en dessous duquel le fichier n'est jamais compacté.
+     */
+    private static final long SEUIL_COMPACTAGE = 64 * 1024;
+
+    private final Path fichier;
+    private final Path fichierTemporaire;
+    private final Map<Integer, Entree> index;
+    private final ExecutorService compacteur;
+    private FileChannel canal;
+    private long fin;
+    private long octetsMorts;
+    private int prochainId;
+    // Compactage demandé mais pas encore commencé : une nouvelle demande s'y joint
+    private Future<?> compactageEnAttente;
+
+    /**
+     * Ouvre un magasin, en créant son fichier s'il n'existe pas.
+     *
+     * @param fichier le fichier du magasin.
+     * @throws IOException si le fichier ne peut être lu ou créé.
+     * @throws IllegalArgumentException si le chemin est null.
+     */
+    public MagasinSauvegardes(Path fichier) throws IOException {
+        if (fichier == null) {
+            throw new IllegalArgumentException("Le fichier ne peut pas être null");
+        }
+        this.fichier = fichier;
+        this.fichierTemporaire = fichier.resolveSibling(fichier.getFileName() + ".tmp");
+        this.index = new HashMap<>();
+        // Reste d'un compactage interrompu : le fichier principal est toujours complet
+        Files.deleteIfExists(this.fichierTemporaire);
+        this.canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        relireJournal();
+        this.compacteur = Executors.newSingleThreadExecutor(tache -> {
+            Thread thread = new Thread(tache, "compactage-sauvegardes");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Enregistre une partie dans un nouvel emplacement.
+     *
+     * @param partie la partie à sauvegarder.
+     * @param nom    le nom de la sauvegarde, ou null.
+     * @return l'identifiant attribué à la sauvegarde.
+     * @throws IOException si l'écriture échoue.
+     * @throws IllegalArgumentException si la partie est null ou si le nom est trop long.
+     */
+    public synchronized int ajouter(Partie partie, String nom) throws IOException {
+        int id = this.prochainId;
+        sauvegarder(id, partie, nom);
+        return id;
+    }
+
+    /**
+     * Enregistre une partie dans un emplacement donné, en remplaçant son contenu éventuel.
+     *
+     * @param id     l'identifiant de l'emplacement (positif ou nul).
+     * @param partie la partie à sauvegarder.
+     * @param nom    le nom de la sauvegarde, ou null.
+     * @throws IOException si l'écriture échoue.
+     * @throws IllegalArgumentException si l'identifiant est négatif, si la partie est null
+     *                                  ou si le nom est trop long.
+     */
+    public synchronized void sauvegarder(int id, Partie partie, String nom) throws IOException {
+        if (id < 0) {
+            throw new IllegalArgumentException("Identifiant de sauvegarde invalide : " + id);
+        }
+        byte[] donnees = FormatBinaire.encoder(partie);
+        byte[] octetsNom = (nom == null ? "" : nom).getBytes(StandardCharsets.UTF_8);
+        if (octetsNom.length > LONGUEUR_NOM_MAX) {
+            throw new IllegalArgumentException("Nom de sauvegarde trop long");
+        }
+        long date = System.currentTimeMillis();
+        long position = ajouterEnregistrement(SAUVEGARDE, id, date, octetsNom, donnees);
+        ResumeSauvegarde resume = FormatBinaire.resumer(id, new String(octetsNom, StandardCharsets.UTF_8),
+                date, donnees);
+        oublier(this.index.put(id, new Entree(resume, position, octetsNom.length, donnees.length)));
+        this.prochainId = Math.max(this.prochainId, id + 1);
+    }
+
+    /**
+     * Charge une partie sauvegardée.
+     *
+     * @param id l'identifiant de la sauvegarde.
+     * @return la partie, ou null si aucune sauvegarde ne porte cet identifiant.
+     * @throws IOException si la lecture échoue ou si l'enregistrement est corrompu.
+     */
+    public synchronized Partie charger(int id) throws IOException {
+        Entree entree = this.index.get(id);
+        if (entree == null) {
+            return null;
+        }
+        ByteBuffer tampon = ByteBuffer.allocate(entree.taillePartie);
+        lireCompletement(this.canal, tampon, entree.position + TAILLE_ENTETE + entree.tailleNom);
+        return FormatBinaire.decoder(tampon.array());
+    }
+
+    /**
+     * Supprime une sauvegarde.
+     *
+     * @param id l'identifiant de la sauvegarde.
+     * @return true si la sauvegarde existait.
+     * @throws IOException si l'écriture échoue.
+     */
+    public synchronized boolean supprimer(int id) throws IOException {
+        if (!this.index.containsKey(id)) {
+            return false;
+        }
+        long position = ajouterEnregistrement(SUPPRESSION, id, System.currentTimeMillis(), new byte[0], new byte[0]);
+        oublier(this.index.remove(id));
+        // L'enregistrement de suppression ne sert plus dès que l'ancien a disparu
+        this.octetsMorts += this.fin - position;
+        return true;
+    }
+
+    /**
+     * Réserve tous les identifiants jusqu'à un identifiant donné : {@link #ajouter(Partie, String)}
+     * ne les attribuera plus, même après la réouverture du magasin.
+     * <p>
+     * La réservation est écrite dans le fichier, comme la suppression d'un emplacement vide.
+     * Les identifiants réservés restent utilisables par {@link #sauvegarder(int, Partie, String)}.
+     * </p>
+     *
+     * @param dernier le plus grand identifiant à réserver.
+     * @throws IOException si l'écriture échoue.
+     * @throws IllegalArgumentException si l'identifiant est négatif ou vaut Integer.MAX_VALUE.
+     */
+    public synchronized void reserver(int dernier) throws IOException {
+        if (dernier < 0 || dernier == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Identifiant de sauvegarde invalide : " + dernier);
+        }
+        if (dernier < this.prochainId) {
+            return;
+        }
+        ajouterEnregistrement(SUPPRESSION, dernier, System.currentTimeMillis(), new byte[0], new byte[0]);
+        this.prochainId = dernier + 1;
+    }
+
+    /**
+     * Récupère le premier identifiant jamais attribué ni réservé.
+     *
+     * @return l'identifiant que recevra la prochaine sauvegarde ajoutée.
+     */
+    public synchronized int getProchainId() {
+        return this.prochainId;
+    }
+
+    /**
+     * Récupère le résumé d'une sauvegarde sans la charger.
+     *
+     * @param id l'identifiant de la sauvegarde.
+     * @return le résumé, ou null si aucune sauvegarde ne porte cet identifiant.
+     */
+    public synchronized ResumeSauvegarde getResume(int id) {
+        Entree entree = this.index.get(id);
+        return entree == null ? null : entree.resume;
+    }
+
+    /**
+     * Liste les sauvegardes par identifiant croissant, sans lire le fichier.
+     *
+     * @return les résumés des sauvegardes.
+     */
+    public synchronized List<ResumeSauvegarde> lister() {
+        List<ResumeSauvegarde> resumes = new ArrayList<>(this.index.size());
+        for (Entree entree : this.index.values()) {
+            resumes.add(entree.resume);
+        }
+        resumes.sort(Comparator.comparingInt(ResumeSauvegarde::getId));
+        return resumes;
+    }
+
+    /**
+     * Récupère le nombre de sauvegardes du magasin.
+     *
+     * @return le nombre de sauvegardes.
+     */
+    public synchronized int getNombreSauvegardes() {
+        return this.index.size();
+    }
+
+    /**
+     * Récupère la taille du fichier du magasin.
+     *
+     * @return la taille en octets.
+     */
+    public synchronized long getTailleFichier() {
+        return this.fin;
+    }
+
+    /**
+     * Récupère le nombre d'octets du fichier occupés par des sauvegardes remplacées ou supprimées.
+     *
+     * @return le nombre d'octets récupérables par compactage.
+     */
+    public synchronized long getOctetsMorts() {
+        return this.octetsMorts;
+    }
+
+    /**
+     * Lance le compactage du fichier en arrière-plan, même si peu d'octets sont récupérables.
+     * <p>
+     * Le compactage porte sur tout ce qui a été écrit avant l'appel : si un compactage est déjà
+     * en cours, un autre est prévu après lui.
+     * </p>
+     *
+     * @return la tâche de compactage, pour attendre sa fin si besoin.
+     */
+    public synchronized Future<?> compacter() {
+        if (this.compactageEnAttente == null) {
+            this.compactageEnAttente = this.compacteur.submit(() -> {
+                compacterFichier();
+                return null;
+            });
+        }
+        return this.compactageEnAttente;
+    }
+
+    /**
+     * Ferme le magasin. Un compactage en cours est abandonné, le fichier restant intact.
+     *
+     * @throws IOException si la fermeture du fichier échoue.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.compacteur.shutdownNow();
+        this.canal.close();
+    }
+
+    /**
+     * Retourne une représentation textuelle du magasin.
+     *
+     * @return une chaîne décrivant le fichier et le nombre de sauvegardes.
+     */
+    @Override
+    public synchronized String toString() {
+        return "MagasinSauvegardes{fichier=" + fichier + ", sauvegardes=" + index.size()
+                + ", taille=" + fin + ", octetsMorts=" + octetsMorts + "}";
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    private long ajouterEnregistrement(byte type, int id, long date, byte[] nom, byte[] partie) throws IOException {
+        long position = this.fin;
+        this.fin += ecrireEnregistrement(this.canal, position, type, id, date, nom, partie);
+        return position;
+    }
+
+    private static int ecrireEnregistrement(FileChannel canal, long position, byte type, int id, long date,
+                                            byte[] nom, byte[] partie) throws IOException {
+        int taille = TAILLE_ENTETE + nom.length + partie.length + TAILLE_CRC;
+        ByteBuffer tampon = ByteBuffer.allocate(taille);
+        tampon.put(type).putInt(id).putLong(date).putShort((short) nom.length).put((byte) partie.length);
+        tampon.put(nom).put(partie);
+        CRC32 crc = new CRC32();
+        crc.update(tampon.array(), 0, taille - TAILLE_CRC);
+        tampon.putInt((int) crc.getValue());
+        tampon.flip();
+        while (tampon.hasRemaining()) {
+            canal.write(tampon, position + tampon.position());
+        }
+        return taille;
+    }
+
+    /*
+     * Compte comme morts les octets d'une entrée qui vient d'être remplacée ou supprimée,
+     * et déclenche le compactage si le fichier est devenu majoritairement inutile.
+     */
+    private void oublier(Entree ancienne) {
+        if (ancienne == null) {
+            return;
+        }
+        this.octetsMorts += ancienne.tailleEnregistrement();
+        if (this.octetsMorts > SEUIL_COMPACTAGE && 2 * this.octetsMorts > this.fin) {
+            compacter();
+        }
+    }
+
+    /*
+     * Le journal est relu par blocs : seul un tampon de TAILLE_LECTURE octets est alloué,
+     * quelle que soit la taille du fichier.
+     */
+    private void relireJournal() throws IOException {
+        long taille = this.canal.size();
+        ByteBuffer journal = ByteBuffer.allocate(TAILLE_LECTURE);
+        journal.flip();
+        long lu = 0;
+
+        long position = 0;
+        while (true) {
+            lu = remplir(journal, lu, TAILLE_ENTETE + TAILLE_CRC);
+            if (journal.remaining() < TAILLE_ENTETE + TAILLE_CRC) {
+                break;
+            }
+            int debut = journal.position();
+            byte type = journal.get(debut);
+            int id = journal.getInt(debut + 1);
+            long date = journal.getLong(debut + 1 + Integer.BYTES);
+            int tailleNom = journal.getShort(debut + 1 + Integer.BYTES + Long.BYTES) & 0xFFFF;
+            int taillePartie = journal.get(debut + TAILLE_ENTETE - 1) & 0xFF;
+            int tailleEnregistrement = TAILLE_ENTETE + tailleNom + taillePartie + TAILLE_CRC;
+            if ((type != SAUVEGARDE && type != SUPPRESSION) || id < 0) {
+                break;
+            }
+            lu = remplir(journal, lu, tailleEnregistrement);
+            if (journal.remaining() < tailleEnregistrement) {
+                break;
+            }
+            debut = journal.position();
+            CRC32 crc = new CRC32();
+            crc.update(journal.array(), debut, tailleEnregistrement - TAILLE_CRC);
+            if (journal.getInt(debut + tailleEnregistrement - TAILLE_CRC) != (int) crc.getValue()) {
+                break;
+            }
+
+            if (type == SAUVEGARDE) {
+                String nom = new String(journal.array(), debut + TAILLE_ENTETE, tailleNom, StandardCharsets.UTF_8);
+                byte[] donnees = new byte[taillePartie];
+                System.arraycopy(journal.array(), debut + TAILLE_ENTETE + tailleNom, donnees, 0, taillePartie);
+                ResumeSauvegarde resume;
+                try {
+                    resume = FormatBinaire.resumer(id, nom, date, donnees);
+                } catch (IOException | RuntimeException e) {
+                    // Somme de contrôle juste mais partie illisible : traitée comme une fin corrompue
+                    break;
+                }
+                Entree ancienne = this.index.put(id, new Entree(resume, position, tailleNom, taillePartie));
+                if (ancienne != null) {
+                    this.octetsMorts += ancienne.tailleEnregistrement();
+                }
+            } else {
+                // Une suppression qui n'efface rien est une réservation d'identifiants, toujours utile
+                Entree ancienne = this.index.remove(id);
+                if (ancienne != null) {
+                    this.octetsMorts += ancienne.tailleEnregistrement() + tailleEnregistrement;
+                }
+            }
+            this.prochainId = Math.max(this.prochainId, id + 1);
+            journal.position(debut + tailleEnregistrement);
+            position += tailleEnregistrement;
+        }
+
+        // Enregistrement tronqué ou illisible : on repart de la dernière écriture complète
+        this.fin = position;
+        if (taille > position) {
+            this.canal.truncate(position);
+        }
+    }
+
+    /*
+     * Garantit au moins besoin octets lisibles dans le tampon, sauf en fin de fichier,
+     * en recopiant au début ceux qui restent puis en lisant la suite du fichier à partir de lu.
+     * Retourne la nouvelle position de lecture dans le fichier.
+     */
+    private long remplir(ByteBuffer journal, long lu, int besoin) throws IOException {
+        if (journal.remaining() >= besoin) {
+            return lu;
+        }
+        journal.compact();
+        int n;
+        while (journal.hasRemaining() && (n = this.canal.read(journal, lu)) >= 0) {
+            lu += n;
+        }
+        journal.flip();
+        return lu;
+    }
+
+    /*
+     * Le compactage se fait en deux temps. Les enregistrements vivants au moment du lancement
+     * sont d'abord recopiés sans bloquer le magasin : un enregistrement écrit ne change plus.
+     * Puis, verrou pris, on ajoute ceux écrits entre-temps, on efface les copies de sauvegardes
+     * supprimées entre-temps et on remplace le fichier.
+     */
+    private void compacterFichier() throws IOException {
+        Map<Integer, Entree> instantane;
+        FileChannel source;
+        synchronized (this) {
+            this.compactageEnAttente = null;
+            instantane = new HashMap<>(this.index);
+            source = this.canal;
+        }
+
+        try (FileChannel cible = FileChannel.open(this.fichierTemporaire, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Map<Entree, Long> recopiees = new IdentityHashMap<>();
+            long taille = 0;
+            for (Entree entree : instantane.values()) {
+                recopiees.put(entree, taille);
+                taille += recopier(source, cible, entree, taille);
+            }
+
+            synchronized (this) {
+                if (source != this.canal || !this.canal.isOpen()) {
+                    return;
+                }
+                long morts = 0;
+                byte[] vide = new byte[0];
+                for (Entree entree : instantane.values()) {
+                    int id = entree.resume.getId();
+                    Entree vivante = this.index.get(id);
+                    if (vivante == entree) {
+                        continue;
+                    }
+                    // Remplacée ou supprimée pendant la recopie : la copie est déjà morte
+                    morts += entree.tailleEnregistrement();
+                    if (vivante == null) {
+                        // Sans suppression écrite après elle, la copie reviendrait à la réouverture
+                        int tailleSuppression = ecrireEnregistrement(cible, taille, SUPPRESSION, id,
+                                System.currentTimeMillis(), vide, vide);
+                        taille += tailleSuppression;
+                        morts += tailleSuppression;
+                    }
+                }
+                Map<Integer, Entree> nouvelIndex = new HashMap<>();
+                for (Entree entree : this.index.values()) {
+                    Long position = recopiees.get(entree);
+                    if (position == null) {
+                        position = taille;
+                        taille += recopier(source, cible, entree, taille);
+                    }
+                    nouvelIndex.put(entree.resume.getId(), entree.deplacer(position));
+                }
+                // Le prochain identifiant ne doit pas redescendre si les derniers emplacements sont vides
+                if (this.prochainId > 0 && !nouvelIndex.containsKey(this.prochainId - 1)) {
+                    taille += ecrireEnregistrement(cible, taille, SUPPRESSION, this.prochainId - 1,
+                            System.currentTimeMillis(), vide, vide);
+                }
+                cible.force(true);
+                this.canal.close();
+                try {
+                    Files.move(this.fichierTemporaire, this.fichier, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    // En cas d'échec, on rouvre l'ancien fichier et l'index reste valable
+                    this.canal = FileChannel.open(this.fichier, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                }
+                this.index.clear();
+                this.index.putAll(nouvelIndex);
+                this.fin = taille;
+                this.octetsMorts = morts;
+            }
+        } finally {
+            Files.deleteIfExists(this.fichierTemporaire);
+        }
+    }
+
+    private static int recopier(FileChannel source, FileChannel cible, Entree entree, long position) throws IOException {
+        ByteBuffer tampon = ByteBuffer.allocate(entree.tailleEnregistrement());
+        lireCompletement(source, tampon, entree.position);
+        tampon.flip();
+        while (tampon.hasRemaining()) {
+            cible.write(tampon, position + tampon.position());
+        }
+        return entree.tailleEnregistrement();
+    }
+
+    private static void lireCompletement(FileChannel canal, ByteBuffer tampon, long position) throws IOException {
+        while (tampon.hasRemaining()) {
+            if (canal.read(tampon, position + tampon.position()) < 0) {
+                throw new IOException("Fin de fichier inattendue dans le magasin de sauvegardes");
+            }
+        }
+    }
+
+    /**
+     * Entrée de l'index : le résumé d'une sauvegarde et l'emplacement de son enregistrement.
+     */
+    private static final class Entree {
+
+        private final ResumeSauvegarde resume;
+        private final long position;
+        private final int tailleNom;
+        private final int taillePartie;
+
+        private Entree(ResumeSauvegarde resume, long position, int tailleNom, int taillePartie) {
+            this.resume = resume;
+            this.position = position;
+            this.tailleNom = tailleNom;
+            this.taillePartie = taillePartie;
+        }
+
+        private int tailleEnregistrement() {
+            return TAILLE_ENTETE + tailleNom + taillePartie + TAILLE_CRC;
+        }
+
+        private Entree deplacer(long nouvellePosition) {
+            return new Entree(resume, nouvellePosition, tailleNom, taillePartie);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package business;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
-import java.util.Random;
 import java.util.Arrays; // Import nécessaire pour le toString des tableaux
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Représente une partie (une session) du jeu Puissance 4.
@@ -14,37 +17,141 @@ import java.util.Arrays; // Import nécessaire pour le toString des tableaux
  */
 public class Partie implements Serializable{
 
+    /**
+     * Identifiant de sérialisation, fixé à celui des premières versions
+     * pour pouvoir relire les sauvegardes {@code .ser} (voir {@link SauvegardeManager}).
+     */
+    private static final long serialVersionUID = -6956600184816749921L;
+
     private Grille grille;
     private Joueur[] joueurs;
     private Joueur joueurCourant;
     private boolean partieFinie;
     private boolean parAbandon;
     private Joueur gagnant;
+    private int[] historiqueCoups;
+    private int nbCoupsJoues;
+    private Joueur premierJoueur;
 
     /**
      * Construit une nouvelle partie prête à démarrer.
      * <p>
-     * - Initialise une grille vide.<br>
+     * - Initialise une grille standard vide (6x7, alignement de 4).<br>
      * - Crée les deux joueurs (JAUNE et ROUGE).<br>
      * - Tire au sort le joueur qui commence.<br>
      * - Initialise les indicateurs de fin de partie à faux.
      * </p>
      */
     public Partie() {
-        this.grille = new Grille();
+        this(new Grille());
+    }
+
+    /**
+     * Construit une nouvelle partie sur une grille de dimensions quelconques.
+     * <p>
+     * Le joueur qui commence est tiré au sort, comme pour {@link #Partie()}.
+     * </p>
+     *
+     * @param lignes     le nombre de lignes de la grille.
+     * @param colonnes   le nombre de colonnes de la grille.
+     * @param alignement le nombre de jetons à aligner pour gagner.
+     * @throws IllegalArgumentException si une dimension ou l'alignement est hors limites
+     *                                  (voir {@link Grille#Grille(int, int, int)}).
+     */
+    public Partie(int lignes, int colonnes, int alignement) {
+        this(new Grille(lignes, colonnes, alignement));
+    }
+
+    /**
+     * Construit une nouvelle partie standard dont le premier joueur est tiré par un générateur donné.
+     * <p>
+     * Avec un générateur initialisé par une graine, le tirage est reproductible : c'est ce
+     * qu'utilise {@link engine.Tournoi} pour rejouer exactement une série de parties.
+     * </p>
+     *
+     * @param hasard le générateur qui tire le premier joueur.
+     * @throws IllegalArgumentException si le générateur est null.
+     */
+    public Partie(RandomGenerator hasard) {
+        this(new Grille(), hasard);
+    }
+
+    /**
+     * Construit une nouvelle partie sur une grille vide, avec tirage au sort du premier joueur.
+     *
+     * @param grille la grille vide de la partie.
+     */
+    private Partie(Grille grille) {
+        this(grille, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Construit une nouvelle partie sur une grille vide.
+     *
+     * @param grille la grille vide de la partie.
+     * @param hasard le générateur qui tire le premier joueur.
+     * @throws IllegalArgumentException si le générateur est null.
+     */
+    private Partie(Grille grille, RandomGenerator hasard) {
+        if (hasard == null) {
+            throw new IllegalArgumentException("Le générateur ne peut pas être null");
+        }
+        this.grille = grille;
 
         this.joueurs = new Joueur[2];
         this.joueurs[0] = new Joueur(Couleur.JAUNE);
         this.joueurs[1] = new Joueur(Couleur.ROUGE);
 
         // Tirage au sort du premier joueur
-        Random rand = new Random();
-        int index = rand.nextInt(2); // soit 0, soit 1
+        int index = hasard.nextInt(2); // soit 0, soit 1
         this.joueurCourant = this.joueurs[index];
+        this.premierJoueur = this.joueurCourant;
 
         this.partieFinie = false;
         this.parAbandon = false;
         this.gagnant = null;
+
+        this.historiqueCoups = new int[grille.getNbLignes() * grille.getNbColonnes()];
+        this.nbCoupsJoues = 0;
+    }
+
+    /**
+     * Construit une nouvelle partie dont le premier joueur est imposé.
+     * <p>
+     * Utilisé pour rejouer une partie enregistrée, dont l'ordre des coups
+     * n'a de sens que si l'on sait qui a commencé.
+     * </p>
+     *
+     * @param premier la couleur du joueur qui commence.
+     * @throws IllegalArgumentException si la couleur est null.
+     */
+    public Partie(Couleur premier) {
+        this();
+        if (premier == null) {
+            throw new IllegalArgumentException("La couleur du premier joueur ne peut pas être null");
+        }
+        this.joueurCourant = joueur(premier);
+        this.premierJoueur = this.joueurCourant;
+    }
+
+    /**
+     * Construit une nouvelle partie sur une grille de dimensions quelconques,
+     * dont le premier joueur est imposé.
+     *
+     * @param premier    la couleur du joueur qui commence.
+     * @param lignes     le nombre de lignes de la grille.
+     * @param colonnes   le nombre de colonnes de la grille.
+     * @param alignement le nombre de jetons à aligner pour gagner.
+     * @throws IllegalArgumentException si la couleur est null, ou si une dimension
+     *                                  ou l'alignement est hors limites.
+     */
+    public Partie(Couleur premier, int lignes, int colonnes, int alignement) {
+        this(lignes, colonnes, alignement);
+        if (premier == null) {
+            throw new IllegalArgumentException("La couleur du premier joueur ne peut pas être null");
+        }
+        this.joueurCourant = joueur(premier);
+        this.premierJoueur = this.joueurCourant;
     }
 
     /**
@@ -74,6 +181,15 @@ public class Partie implements Serializable{
         return joueurCourant;
     }
 
+    /**
+     * Récupère le joueur qui a commencé la partie.
+     *
+     * @return le premier Joueur.
+     */
+    public Joueur getPremierJoueur() {
+        return premierJoueur;
+    }
+
     /**
      * Vérifie si la partie est terminée.
      *
@@ -137,6 +253,64 @@ public class Partie implements Serializable{
         this.parAbandon = parAbandon;
     }
 
+    /**
+     * Ajoute un coup à l'historique de la partie.
+     *
+     * @param colonne la colonne dans laquelle le jeton a été joué.
+     * @throws IllegalStateException si l'historique est déjà plein.
+     */
+    public void empilerCoup(int colonne) {
+        if (nbCoupsJoues == historiqueCoups.length) {
+            throw new IllegalStateException("L'historique des coups est plein");
+        }
+        historiqueCoups[nbCoupsJoues] = colonne;
+        nbCoupsJoues++;
+    }
+
+    /**
+     * Retire le dernier coup de l'historique de la partie.
+     *
+     * @return la colonne du dernier coup joué, ou -1 si aucun coup n'a été joué.
+     */
+    public int depilerCoup() {
+        if (nbCoupsJoues == 0) {
+            return -1;
+        }
+        nbCoupsJoues--;
+        return historiqueCoups[nbCoupsJoues];
+    }
+
+    /**
+     * Récupère les colonnes jouées depuis le début de la partie, dans l'ordre.
+     *
+     * @return une copie de l'historique des coups.
+     */
+    public int[] getHistoriqueCoups() {
+        return Arrays.copyOf(historiqueCoups, nbCoupsJoues);
+    }
+
+    /**
+     * Remplace la grille de la partie, sans toucher à l'historique des coups.
+     * <p>
+     * Réservé au chargement des sauvegardes dont l'ordre des coups n'est pas connu.
+     * </p>
+     *
+     * @param grille la nouvelle grille.
+     */
+    void setGrille(Grille grille) {
+        this.grille = grille;
+    }
+
+    /**
+     * Récupère le joueur d'une couleur donnée.
+     *
+     * @param couleur la couleur du joueur.
+     * @return le Joueur de cette couleur parmi les deux joueurs de la partie.
+     */
+    final Joueur joueur(Couleur couleur) {
+        return this.joueurs[0].getNom() == couleur ? this.joueurs[0] : this.joueurs[1];
+    }
+
     /**
      * Retourne une représentation textuelle de l'état actuel de la partie.
      *
@@ -151,4 +325,25 @@ public class Partie implements Serializable{
                 ", parAbandon=" + parAbandon +
                 '}';
     }
-}
\ No newline at end of file
+
+    /*
+     * Les anciennes sauvegardes n'ont ni historique des coups ni premier joueur.
+     * L'historique reste vide ; le premier joueur se déduit de la parité des coups
+     * et du joueur qui avait le trait au dernier coup.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (this.historiqueCoups == null) {
+            this.historiqueCoups = new int[this.grille.getNbLignes() * this.grille.getNbColonnes()];
+            this.nbCoupsJoues = 0;
+        }
+        if (this.premierJoueur == null) {
+            // Après une victoire, un nul ou un abandon, le joueur courant n'est plus celui au trait
+            Couleur auTrait = this.joueurCourant.getNom();
+            if (this.partieFinie) {
+                auTrait = auTrait.adverse();
+            }
+            this.premierJoueur = joueur(this.grille.nombreCoups() % 2 == 0 ? auTrait : auTrait.adverse());
+        }
+    }
+}
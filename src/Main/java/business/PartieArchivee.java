@@ -0,0 +1,126 @@
+package business;
+
+import java.util.Arrays;
+
+/**
+ * Une partie terminée lue dans une {@link ArchiveParties}.
+ */
+public class PartieArchivee {
+
+    private final long id;
+    private final int[] coups;
+    private final Couleur premier;
+    private final Couleur gagnant;
+    private final boolean parAbandon;
+
+    /**
+     * Construit une partie archivée.
+     *
+     * @param id         l'identifiant de la partie dans l'archive.
+     * @param coups      les colonnes jouées, dans l'ordre (le tableau est conservé tel quel).
+     * @param premier    la couleur du joueur qui a commencé.
+     * @param gagnant    la couleur du gagnant, ou null en cas de match nul.
+     * @param parAbandon true si la partie s'est terminée par un abandon.
+     */
+    public PartieArchivee(long id, int[] coups, Couleur premier, Couleur gagnant, boolean parAbandon) {
+        this.id = id;
+        this.coups = coups;
+        this.premier = premier;
+        this.gagnant = gagnant;
+        this.parAbandon = parAbandon;
+    }
+
+    /**
+     * Récupère l'identifiant de la partie dans l'archive.
+     *
+     * @return l'identifiant.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Récupère les colonnes jouées.
+     *
+     * @return une copie de la liste des coups, dans l'ordre.
+     */
+    public int[] getCoups() {
+        return coups.clone();
+    }
+
+    /**
+     * Récupère le nombre de coups de la partie.
+     *
+     * @return le nombre de coups.
+     */
+    public int getNbCoups() {
+        return coups.length;
+    }
+
+    /**
+     * Récupère la couleur du joueur qui a commencé.
+     *
+     * @return la couleur du premier joueur.
+     */
+    public Couleur getPremierJoueur() {
+        return premier;
+    }
+
+    /**
+     * Récupère la couleur du gagnant.
+     *
+     * @return la couleur du gagnant, ou null en cas de match nul.
+     */
+    public Couleur getGagnant() {
+        return gagnant;
+    }
+
+    /**
+     * Vérifie si la partie s'est terminée par un abandon.
+     *
+     * @return true si un joueur a abandonné.
+     */
+    public boolean isParAbandon() {
+        return parAbandon;
+    }
+
+    /**
+     * Vérifie si la partie s'est terminée par un match nul.
+     *
+     * @return true s'il n'y a pas de gagnant.
+     */
+    public boolean isNul() {
+        return gagnant == null;
+    }
+
+    /**
+     * Rejoue la partie pour retrouver son état final.
+     *
+     * @return une nouvelle partie, terminée, identique à celle qui a été archivée.
+     * @throws IllegalStateException si les coups archivés ne forment pas une partie valide.
+     */
+    public Partie rejouer() {
+        Partie partie = new Partie(premier);
+        Puissance4 jeu = new Puissance4(partie);
+        for (int coup : coups) {
+            if (jeu.tenterJouer(coup) < 0) {
+                throw new IllegalStateException("Coup archivé invalide dans la partie " + id + " : " + coup);
+            }
+        }
+        if (parAbandon) {
+            jeu.abandonner();
+        }
+        return partie;
+    }
+
+    /**
+     * Retourne une représentation textuelle de la partie archivée.
+     *
+     * @return une chaîne décrivant la partie (ex: "PartieArchivee{id=4, coups=[3, 3, 2], gagnant=JAUNE, ...}").
+     */
+    @Override
+    public String toString() {
+        return "PartieArchivee{id=" + id + ", coups=" + Arrays.toString(coups) + ", premier=" + premier
+                + ", gagnant=" + gagnant + ", parAbandon=" + parAbandon + "}";
+    }
+}
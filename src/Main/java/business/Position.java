@@ -8,6 +8,8 @@ import java.io.Serializable;
  */
 public class Position implements Serializable{
 
+    private static final long serialVersionUID = 6468258323292127107L;
+
     private int ligne;
     private int colonne;
 
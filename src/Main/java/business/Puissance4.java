@@ -10,6 +10,31 @@ package business;
  */
 public class Puissance4 {
 
+    /**
+     * Statut de {@link #tenterJouer(int)} : le coup est joué, la partie continue.
+     */
+    public static final int COUP_JOUE = 0;
+    /**
+     * Statut de {@link #tenterJouer(int)} : le coup est joué et donne la victoire au joueur.
+     */
+    public static final int VICTOIRE = 1;
+    /**
+     * Statut de {@link #tenterJouer(int)} : le coup est joué et remplit la grille (match nul).
+     */
+    public static final int MATCH_NUL = 2;
+    /**
+     * Statut de {@link #tenterJouer(int)} : la partie est déjà finie, rien n'est joué.
+     */
+    public static final int PARTIE_FINIE = -1;
+    /**
+     * Statut de {@link #tenterJouer(int)} : la colonne n'existe pas.
+     */
+    public static final int COLONNE_INVALIDE = -2;
+    /**
+     * Statut de {@link #tenterJouer(int)} : la colonne est pleine.
+     */
+    public static final int COLONNE_PLEINE = -3;
+
     private Partie puissance4;
 
     /**
@@ -50,34 +75,64 @@ public class Puissance4 {
      * <ul>
      * <li>Vérifie si la partie est déjà finie (si oui, ne fait rien).</li>
      * <li>Insère le jeton dans la grille.</li>
-     * <li>Vérifie s'il y a victoire (alignement de 4).</li>
+     * <li>Vérifie s'il y a victoire (alignement de 4 sur la grille standard).</li>
      * <li>Vérifie s'il y a match nul (grille pleine).</li>
      * <li>Passe la main au joueur suivant si la partie continue.</li>
      * </ul>
      * </p>
      *
-     * @param numColonne l'indice de la colonne où jouer (0 à 6).
+     * @param numColonne l'indice de la colonne où jouer (0 à 6 sur la grille standard).
      * @throws Puissance4Exception si la colonne est pleine ou invalide.
      */
     public void jouer(int numColonne) throws Puissance4Exception {
+        int statut = tenterJouer(numColonne);
+        if (statut == COLONNE_INVALIDE) {
+            throw new IllegalArgumentException("Colonne invalide");
+        }
+        if (statut == COLONNE_PLEINE) {
+            throw new Puissance4Exception("La colonne " + numColonne + " est pleine !");
+        }
+    }
+
+    /**
+     * Tente de jouer un jeton dans la colonne spécifiée pour le joueur courant.
+     * <p>
+     * Même logique que {@link #jouer(int)}, mais sans allocation ni exception :
+     * l'issue du coup est renvoyée sous forme de statut. Cette méthode est destinée
+     * aux robots qui enchaînent un grand nombre de parties.
+     * </p>
+     *
+     * @param numColonne l'indice de la colonne où jouer (0 à 6 sur la grille standard).
+     * @return {@link #COUP_JOUE}, {@link #VICTOIRE} ou {@link #MATCH_NUL} si le coup est joué,
+     * {@link #PARTIE_FINIE}, {@link #COLONNE_INVALIDE} ou {@link #COLONNE_PLEINE} sinon.
+     */
+    public int tenterJouer(int numColonne) {
         if (this.gameIsOver()) {
-            return;
+            return PARTIE_FINIE;
+        }
+        Grille grille = this.puissance4.getGrille();
+        if (numColonne < 0 || numColonne >= grille.getNbColonnes()) {
+            return COLONNE_INVALIDE;
         }
         Joueur joueurActuel = this.puissance4.getJoueurCourant();
-        Jeton jeton = new Jeton(joueurActuel.getNom());
-
-        int ligne = this.puissance4.getGrille().insererJeton(jeton, numColonne);
 
-        Position pos = new Position(ligne, numColonne);
-        if (this.puissance4.getGrille().alignementRealise(pos)) {
+        int ligne = grille.jouerCoup(joueurActuel.getNom(), numColonne);
+        if (ligne < 0) {
+            return COLONNE_PLEINE;
+        }
+        this.puissance4.empilerCoup(numColonne);
+        if (grille.alignementRealise(ligne, numColonne)) {
             this.puissance4.setPartieFinie(true);
             this.puissance4.setGagnant(joueurActuel);
-        } else if (this.puissance4.getGrille().isFullGrille()) {
+            return VICTOIRE;
+        }
+        if (grille.isFullGrille()) {
             this.puissance4.setPartieFinie(true);
             this.puissance4.setGagnant(null);
-        } else {
-            changerJoueur();
+            return MATCH_NUL;
         }
+        changerJoueur();
+        return COUP_JOUE;
     }
 
     /**
@@ -95,6 +150,35 @@ public class Puissance4 {
         this.puissance4.setGagnant(this.puissance4.getJoueurCourant());
     }
 
+    /**
+     * Annule le dernier coup joué.
+     * <p>
+     * Le jeton est retiré de la grille et l'état de la partie redevient exactement
+     * celui d'avant le coup : même joueur courant, partie non finie et sans gagnant.
+     * Un abandon ne peut pas être annulé.
+     * </p>
+     *
+     * @throws Puissance4Exception si aucun coup n'a été joué ou si la partie a été abandonnée.
+     */
+    public void annulerCoup() throws Puissance4Exception {
+        if (this.puissance4.isParAbandon()) {
+            throw new Puissance4Exception("Impossible d'annuler : la partie a été abandonnée");
+        }
+        int colonne = this.puissance4.depilerCoup();
+        if (colonne < 0) {
+            throw new Puissance4Exception("Aucun coup à annuler");
+        }
+        this.puissance4.getGrille().retirerJeton(colonne);
+
+        if (this.puissance4.isPartieFinie()) {
+            // Le coup gagnant ou nul n'avait pas passé la main
+            this.puissance4.setPartieFinie(false);
+            this.puissance4.setGagnant(null);
+        } else {
+            changerJoueur();
+        }
+    }
+
     private void changerJoueur() {
         Joueur[] lesJoueurs = this.puissance4.getJoueurs();
         Joueur courant = this.puissance4.getJoueurCourant();
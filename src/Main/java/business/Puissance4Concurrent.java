@@ -0,0 +1,275 @@
+package business;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contrôleur de jeu partageable entre plusieurs threads.
+ * <p>
+ * {@link Puissance4} modifie la partie sur place : deux threads qui jouent en même temps
+ * peuvent la corrompre. Ici, l'état est un {@link EtatPartie} immuable. Chaque action
+ * calcule l'état suivant à partir de l'état courant, puis le publie par une comparaison-échange ;
+ * si un autre thread a changé l'état entre-temps, l'action est recalculée sur le nouvel état.
+ * Chaque coup est donc appliqué en entier ou pas du tout, dans un ordre total.
+ * </p>
+ * <p>
+ * Les lecteurs (spectateurs, sauvegarde) prennent l'instantané courant par {@link #getEtat()}
+ * sans verrou et sans jamais bloquer les joueurs. Aucun moniteur n'est partagé entre deux
+ * contrôleurs : les parties d'un serveur avancent indépendamment.
+ * </p>
+ */
+public class Puissance4Concurrent {
+
+    /**
+     * Statut de {@link #tenterJouer(int, long)} : l'état a changé depuis la version attendue,
+     * rien n'est joué.
+     */
+    public static final int VERSION_PERIMEE = -4;
+
+    private final AtomicReference<EtatPartie> etat;
+    private final LongAdder nbConflits;
+
+    /**
+     * Construit un contrôleur sur une nouvelle partie standard.
+     */
+    public Puissance4Concurrent() {
+        this(new Partie());
+    }
+
+    /**
+     * Construit un contrôleur à partir d'une partie existante.
+     * <p>
+     * La partie est copiée : la modifier ensuite n'a aucun effet sur le contrôleur.
+     * </p>
+     *
+     * @param partie la partie de départ.
+     * @throws IllegalArgumentException si la partie est null.
+     */
+    public Puissance4Concurrent(Partie partie) {
+        this(partie, 0);
+    }
+
+    /**
+     * Construit un contrôleur à partir d'une partie existante, en reprenant sa numérotation
+     * des versions, par exemple pour une partie mise de côté puis rechargée.
+     *
+     * @param partie  la partie de départ, copiée.
+     * @param version la version de l'état de départ.
+     * @throws IllegalArgumentException si la partie est null ou si la version est négative.
+     */
+    public Puissance4Concurrent(Partie partie, long version) {
+        if (version < 0) {
+            throw new IllegalArgumentException("Version invalide : " + version);
+        }
+        this.etat = new AtomicReference<>(EtatPartie.de(partie, version));
+        this.nbConflits = new LongAdder();
+    }
+
+    /**
+     * Récupère l'état courant, sans verrou.
+     *
+     * @return l'instantané le plus récent de la partie.
+     */
+    public EtatPartie getEtat() {
+        return this.etat.get();
+    }
+
+    /**
+     * Vérifie si la partie est terminée.
+     *
+     * @return true si la partie est finie (victoire, nul ou abandon), false sinon.
+     */
+    public boolean gameIsOver() {
+        return this.etat.get().isPartieFinie();
+    }
+
+    /**
+     * Joue un jeton dans la colonne spécifiée pour le joueur courant.
+     *
+     * @param numColonne l'indice de la colonne où jouer.
+     * @throws Puissance4Exception si la colonne est pleine.
+     * @throws IllegalArgumentException si la colonne n'existe pas.
+     */
+    public void jouer(int numColonne) throws Puissance4Exception {
+        int statut = tenterJouer(numColonne);
+        if (statut == Puissance4.COLONNE_INVALIDE) {
+            throw new IllegalArgumentException("Colonne invalide");
+        }
+        if (statut == Puissance4.COLONNE_PLEINE) {
+            throw new Puissance4Exception("La colonne " + numColonne + " est pleine !");
+        }
+    }
+
+    /**
+     * Tente de jouer un jeton pour le joueur courant, quel que soit l'état au moment de l'appel.
+     *
+     * @param numColonne l'indice de la colonne où jouer.
+     * @return un statut de {@link Puissance4#tenterJouer(int)}.
+     */
+    public int tenterJouer(int numColonne) {
+        return jouerDepuis(numColonne, -1);
+    }
+
+    /**
+     * Tente de jouer un jeton, à condition que la partie n'ait pas changé depuis une version lue.
+     * <p>
+     * Un client qui a choisi son coup en regardant l'instantané de version {@code v} ne le
+     * joue ainsi que sur cette position : si l'adversaire ou un autre client a agi entre-temps,
+     * le coup est refusé au lieu d'être joué sur une position que le client n'a pas vue.
+     * </p>
+     *
+     * @param numColonne      l'indice de la colonne où jouer.
+     * @param versionAttendue la version de l'état sur laquelle le coup a été choisi.
+     * @return un statut de {@link Puissance4#tenterJouer(int)}, ou {@link #VERSION_PERIMEE}.
+     * @throws IllegalArgumentException si la version est négative.
+     */
+    public int tenterJouer(int numColonne, long versionAttendue) {
+        if (versionAttendue < 0) {
+            throw new IllegalArgumentException("Version invalide : " + versionAttendue);
+        }
+        return jouerDepuis(numColonne, versionAttendue);
+    }
+
+    /**
+     * Fait abandonner le joueur courant ; la victoire revient à son adversaire.
+     * <p>
+     * Contrairement à {@link Puissance4#abandonner()}, une partie déjà finie ne peut pas
+     * être abandonnée : un abandon qui arrive juste après le coup gagnant est refusé.
+     * </p>
+     *
+     * @return l'état après l'abandon.
+     * @throws Puissance4Exception si la partie est déjà finie.
+     */
+    public EtatPartie abandonner() throws Puissance4Exception {
+        while (true) {
+            EtatPartie courant = this.etat.get();
+            if (courant.isPartieFinie()) {
+                throw new Puissance4Exception("La partie est déjà finie");
+            }
+            Couleur gagnant = courant.getJoueurCourant().adverse();
+            EtatPartie suivant = new EtatPartie(courant.grille(), courant.coups(), courant.getPremierJoueur(),
+                    gagnant, gagnant, true, true, courant.getVersion() + 1);
+            if (publier(courant, suivant)) {
+                return suivant;
+            }
+        }
+    }
+
+    /**
+     * Annule le dernier coup joué.
+     * <p>
+     * L'état redevient celui d'avant le coup, avec une version supérieure.
+     * </p>
+     *
+     * @return l'état après l'annulation.
+     * @throws Puissance4Exception si aucun coup n'a été joué ou si la partie a été abandonnée.
+     */
+    public EtatPartie annulerCoup() throws Puissance4Exception {
+        while (true) {
+            EtatPartie courant = this.etat.get();
+            if (courant.isParAbandon()) {
+                throw new Puissance4Exception("Impossible d'annuler : la partie a été abandonnée");
+            }
+            int[] coups = courant.coups();
+            if (coups.length == 0) {
+                throw new Puissance4Exception("Aucun coup à annuler");
+            }
+            Grille grille = new Grille(courant.grille());
+            grille.retirerJeton(coups[coups.length - 1]);
+            // Le coup gagnant ou nul n'avait pas passé la main
+            Couleur auTrait = courant.isPartieFinie() ? courant.getJoueurCourant() : courant.getJoueurCourant().adverse();
+            EtatPartie suivant = new EtatPartie(grille, Arrays.copyOf(coups, coups.length - 1),
+                    courant.getPremierJoueur(), auTrait, null, false, false, courant.getVersion() + 1);
+            if (publier(courant, suivant)) {
+                return suivant;
+            }
+        }
+    }
+
+    /**
+     * Construit une partie modifiable dans l'état courant, par exemple pour la sauvegarder.
+     *
+     * @return une nouvelle partie, indépendante du contrôleur.
+     */
+    public Partie getPartie() {
+        return this.etat.get().versPartie();
+    }
+
+    /**
+     * Récupère le nombre d'actions recalculées parce qu'un autre thread avait changé l'état.
+     *
+     * @return le nombre de comparaisons-échanges perdues depuis la construction.
+     */
+    public long getNombreConflits() {
+        return this.nbConflits.sum();
+    }
+
+    /**
+     * Retourne une représentation textuelle du contrôleur.
+     *
+     * @return une chaîne décrivant l'état courant.
+     */
+    @Override
+    public String toString() {
+        return "Puissance4Concurrent{etat=" + etat.get() + "}";
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    // versionAttendue < 0 : jouer sur l'état courant, quel qu'il soit
+    private int jouerDepuis(int numColonne, long versionAttendue) {
+        while (true) {
+            EtatPartie courant = this.etat.get();
+            if (versionAttendue >= 0 && courant.getVersion() != versionAttendue) {
+                return VERSION_PERIMEE;
+            }
+            if (courant.isPartieFinie()) {
+                return Puissance4.PARTIE_FINIE;
+            }
+            Grille avant = courant.grille();
+            if (numColonne < 0 || numColonne >= avant.getNbColonnes()) {
+                return Puissance4.COLONNE_INVALIDE;
+            }
+            if (avant.isFullColonne(numColonne)) {
+                return Puissance4.COLONNE_PLEINE;
+            }
+            Couleur joueur = courant.getJoueurCourant();
+
+            // La grille publiée n'est jamais touchée : le coup est joué et testé sur la copie
+            Grille grille = new Grille(avant);
+            int ligne = grille.jouerCoup(joueur, numColonne);
+            boolean victoire = grille.alignementRealise(ligne, numColonne);
+            int[] coups = courant.coups();
+            int[] coupsSuivants = Arrays.copyOf(coups, coups.length + 1);
+            coupsSuivants[coups.length] = numColonne;
+
+            int statut;
+            EtatPartie suivant;
+            if (victoire) {
+                statut = Puissance4.VICTOIRE;
+                suivant = new EtatPartie(grille, coupsSuivants, courant.getPremierJoueur(), joueur, joueur,
+                        true, false, courant.getVersion() + 1);
+            } else if (grille.isFullGrille()) {
+                statut = Puissance4.MATCH_NUL;
+                suivant = new EtatPartie(grille, coupsSuivants, courant.getPremierJoueur(), joueur, null,
+                        true, false, courant.getVersion() + 1);
+            } else {
+                statut = Puissance4.COUP_JOUE;
+                suivant = new EtatPartie(grille, coupsSuivants, courant.getPremierJoueur(), joueur.adverse(), null,
+                        false, false, courant.getVersion() + 1);
+            }
+            if (publier(courant, suivant)) {
+                return statut;
+            }
+        }
+    }
+
+    private boolean publier(EtatPartie courant, EtatPartie suivant) {
+        if (this.etat.compareAndSet(courant, suivant)) {
+            return true;
+        }
+        this.nbConflits.increment();
+        return false;
+    }
+}
@@ -0,0 +1,115 @@
+package business;
+
+/**
+ * Résumé d'une partie enregistrée dans un {@link MagasinSauvegardes}.
+ * <p>
+ * Il est tiré de l'index du magasin : lister les sauvegardes ne demande
+ * ni de lire le fichier ni de rejouer les parties.
+ * </p>
+ */
+public class ResumeSauvegarde {
+
+    private final int id;
+    private final String nom;
+    private final long date;
+    private final int nbCoups;
+    private final boolean partieFinie;
+    private final boolean parAbandon;
+    private final Couleur gagnant;
+
+    /**
+     * Construit le résumé d'une sauvegarde.
+     *
+     * @param id          l'identifiant de la sauvegarde dans le magasin.
+     * @param nom         le nom donné à la sauvegarde (éventuellement vide).
+     * @param date        la date de la sauvegarde, en millisecondes depuis l'époque Unix.
+     * @param nbCoups     le nombre de jetons dans la grille.
+     * @param partieFinie true si la partie est terminée.
+     * @param parAbandon  true si la partie s'est terminée par un abandon.
+     * @param gagnant     la couleur du gagnant, ou null.
+     */
+    public ResumeSauvegarde(int id, String nom, long date, int nbCoups, boolean partieFinie,
+                            boolean parAbandon, Couleur gagnant) {
+        this.id = id;
+        this.nom = nom;
+        this.date = date;
+        this.nbCoups = nbCoups;
+        this.partieFinie = partieFinie;
+        this.parAbandon = parAbandon;
+        this.gagnant = gagnant;
+    }
+
+    /**
+     * Récupère l'identifiant de la sauvegarde.
+     *
+     * @return l'identifiant, à passer à {@link MagasinSauvegardes#charger(int)}.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Récupère le nom de la sauvegarde.
+     *
+     * @return le nom, vide si aucun nom n'a été donné.
+     */
+    public String getNom() {
+        return nom;
+    }
+
+    /**
+     * Récupère la date de la sauvegarde.
+     *
+     * @return la date en millisecondes depuis l'époque Unix.
+     */
+    public long getDate() {
+        return date;
+    }
+
+    /**
+     * Récupère le nombre de jetons dans la grille sauvegardée.
+     *
+     * @return le nombre de coups joués.
+     */
+    public int getNbCoups() {
+        return nbCoups;
+    }
+
+    /**
+     * Vérifie si la partie sauvegardée est terminée.
+     *
+     * @return true si la partie est finie (victoire, nul ou abandon).
+     */
+    public boolean isPartieFinie() {
+        return partieFinie;
+    }
+
+    /**
+     * Vérifie si la partie sauvegardée s'est terminée par un abandon.
+     *
+     * @return true si un joueur a abandonné.
+     */
+    public boolean isParAbandon() {
+        return parAbandon;
+    }
+
+    /**
+     * Récupère la couleur du gagnant de la partie sauvegardée.
+     *
+     * @return la couleur du gagnant, ou null si la partie est en cours ou nulle.
+     */
+    public Couleur getGagnant() {
+        return gagnant;
+    }
+
+    /**
+     * Retourne une représentation textuelle du résumé.
+     *
+     * @return une chaîne décrivant la sauvegarde (ex: "ResumeSauvegarde{id=3, nom=, nbCoups=12, ...}").
+     */
+    @Override
+    public String toString() {
+        return "ResumeSauvegarde{id=" + id + ", nom=" + nom + ", nbCoups=" + nbCoups
+                + ", partieFinie=" + partieFinie + ", gagnant=" + gagnant + "}";
+    }
+}
@@ -1,33 +1,182 @@
 package business;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Gère la sauvegarde et le chargement de la partie en cours.
+ * <p>
+ * La partie est enregistrée dans le format binaire compact de {@link FormatBinaire}.
+ * Les anciennes sauvegardes, écrites par sérialisation Java, sont encore lues :
+ * elles sont converties au nouveau format lors de leur premier chargement.
+ * </p>
+ */
 public class SauvegardeManager {
 
 
-    private static final String NOM_FICHIER = "sauvegarde_puissance4.ser";
+    private static final String NOM_FICHIER = "sauvegarde_puissance4.p4";
+    private static final String NOM_FICHIER_ANCIEN = "sauvegarde_puissance4.ser";
+    private static final String NOM_MAGASIN = "sauvegardes_puissance4.p4s";
+    private static final String NOM_ARCHIVE = "parties_puissance4.p4a";
+
+    private static MagasinSauvegardes magasin;
+    private static EcrivainSauvegardes ecrivain;
+    private static ArchiveParties archive;
 
     /**
      * Sauvegarde l'objet Partie dans un fichier.
+     * <p>
+     * Le fichier est remplacé atomiquement : un arrêt pendant l'écriture laisse
+     * la sauvegarde précédente intacte.
+     * </p>
      */
     public static void sauvegarder(Partie partie) throws IOException {
+        EcrivainSauvegardes.ecrireAtomiquement(new File(NOM_FICHIER).toPath(), FormatBinaire.encoder(partie));
+    }
+
+    /**
+     * Sauvegarde l'objet Partie en arrière-plan, sans bloquer l'appelant.
+     * <p>
+     * Des sauvegardes rapprochées sont regroupées : seule la plus récente est écrite.
+     * </p>
+     *
+     * @param partie la partie à sauvegarder (elle est encodée pendant l'appel).
+     * @return une promesse terminée quand la sauvegarde est sur le disque.
+     */
+    public static synchronized CompletableFuture<Void> sauvegarderEnArrierePlan(Partie partie) {
+        if (ecrivain == null) {
+            ecrivain = new EcrivainSauvegardes();
+        }
+        return ecrivain.sauvegarder(partie, new File(NOM_FICHIER).toPath());
+    }
 
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(NOM_FICHIER))) {
-            oos.writeObject(partie);
+    /**
+     * Attend la fin des sauvegardes en arrière-plan, puis ferme le magasin de sauvegardes et l'archive.
+     * <p>
+     * À appeler avant de quitter l'application.
+     * </p>
+     *
+     * @throws IOException si la fermeture du magasin ou de l'archive échoue.
+     */
+    public static synchronized void terminer() throws IOException {
+        if (ecrivain != null) {
+            ecrivain.close();
+            ecrivain = null;
+        }
+        if (magasin != null) {
+            magasin.close();
+            magasin = null;
+        }
+        if (archive != null) {
+            archive.close();
+            archive = null;
         }
     }
 
     /**
      * Charge l'objet Partie depuis le fichier.
+     * <p>
+     * Si seule une ancienne sauvegarde existe, elle est migrée au format binaire
+     * puis supprimée.
+     * </p>
+     *
+     * @return la partie sauvegardée, ou null s'il n'y a aucune sauvegarde.
      */
     public static Partie charger() throws IOException, ClassNotFoundException {
         File fichier = new File(NOM_FICHIER);
-        if (!fichier.exists()) {
+        if (fichier.exists()) {
+            return FormatBinaire.decoder(Files.readAllBytes(fichier.toPath()));
+        }
+
+        File ancien = new File(NOM_FICHIER_ANCIEN);
+        if (!ancien.exists()) {
             return null;
         }
+        Partie partie = migrer(ancien, fichier);
+        Files.delete(ancien.toPath());
+        return partie;
+    }
+
+    /**
+     * Convertit une sauvegarde écrite par sérialisation Java au format binaire.
+     * <p>
+     * Le fichier d'origine n'est pas modifié.
+     * </p>
+     *
+     * @param ancien  le fichier {@code .ser} à lire.
+     * @param nouveau le fichier binaire à écrire.
+     * @return la partie lue dans l'ancien fichier.
+     * @throws IOException            si un des fichiers ne peut être lu ou écrit.
+     * @throws ClassNotFoundException si l'ancien fichier ne contient pas une partie reconnue.
+     */
+    public static Partie migrer(File ancien, File nouveau) throws IOException, ClassNotFoundException {
+        Partie partie;
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(ancien))) {
+            partie = (Partie) ois.readObject();
+        }
+        EcrivainSauvegardes.ecrireAtomiquement(nouveau.toPath(), FormatBinaire.encoder(partie));
+        return partie;
+    }
+
+    /**
+     * Récupère le magasin de sauvegardes à emplacements multiples, ouvert au premier appel.
+     *
+     * @return le magasin partagé par toute l'application.
+     * @throws IOException si le fichier du magasin ne peut être ouvert.
+     */
+    public static synchronized MagasinSauvegardes getMagasin() throws IOException {
+        if (magasin == null) {
+            magasin = new MagasinSauvegardes(new File(NOM_MAGASIN).toPath());
+        }
+        return magasin;
+    }
+
+    /**
+     * Cherche l'emplacement du magasin de sauvegardes qui contient une partie donnée.
+     * <p>
+     * « Sauvegarder &amp; Quitter » écrit la partie à la fois dans le fichier de la dernière partie
+     * et dans le magasin : les emplacements sont donc parcourus du plus récent au plus ancien,
+     * et le premier suffit presque toujours.
+     * </p>
+     *
+     * @param partie la partie à chercher, par exemple celle rendue par {@link #charger()}.
+     * @return l'identifiant de l'emplacement, ou -1 si aucun ne contient exactement cette partie.
+     * @throws IOException si le magasin ne peut être lu.
+     */
+    public static int retrouverEmplacement(Partie partie) throws IOException {
+        if (partie == null || !partie.getGrille().isStandard()) {
+            return -1;
+        }
+        MagasinSauvegardes magasin = getMagasin();
+        byte[] donnees = FormatBinaire.encoder(partie);
+        List<ResumeSauvegarde> resumes = magasin.lister();
+        resumes.sort(Comparator.comparingLong(ResumeSauvegarde::getDate).reversed());
+        for (ResumeSauvegarde resume : resumes) {
+            if (resume.getNbCoups() != partie.getGrille().nombreCoups()) {
+                continue;
+            }
+            Partie candidate = magasin.charger(resume.getId());
+            if (candidate != null && Arrays.equals(donnees, FormatBinaire.encoder(candidate))) {
+                return resume.getId();
+            }
+        }
+        return -1;
+    }
 
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(NOM_FICHIER))) {
-            return (Partie) ois.readObject();
+    /**
+     * Récupère l'archive des parties terminées, ouverte au premier appel.
+     *
+     * @return l'archive partagée par toute l'application.
+     * @throws IOException si le fichier de l'archive ne peut être ouvert.
+     */
+    public static synchronized ArchiveParties getArchive() throws IOException {
+        if (archive == null) {
+            archive = new ArchiveParties(new File(NOM_ARCHIVE).toPath());
         }
+        return archive;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package business;
+
+/**
+ * Reçoit les parties lues par {@link ArchiveParties#parcourir(VisiteurArchive)}.
+ */
+@FunctionalInterface
+public interface VisiteurArchive {
+
+    /**
+     * Traite une partie de l'archive.
+     * <p>
+     * Le tableau des coups est réutilisé d'une partie à l'autre : il ne faut pas le conserver,
+     * et seules ses {@code nbCoups} premières cases sont significatives.
+     * </p>
+     *
+     * @param id         l'identifiant de la partie dans l'archive.
+     * @param coups      les colonnes jouées, dans l'ordre.
+     * @param nbCoups    le nombre de coups de la partie.
+     * @param premier    la couleur du joueur qui a commencé.
+     * @param gagnant    la couleur du gagnant, ou null en cas de match nul.
+     * @param parAbandon true si la partie s'est terminée par un abandon.
+     */
+    void visiter(long id, int[] coups, int nbCoups, Couleur premier, Couleur gagnant, boolean parAbandon);
+}
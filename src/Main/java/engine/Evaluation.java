@@ -0,0 +1,271 @@
+package engine;
+
+import business.Couleur;
+import business.Grille;
+import business.Jeton;
+import business.Position;
+
+import java.util.Arrays;
+
+/**
+ * Évaluation statique d'une position, tenue à jour coup par coup.
+ * <p>
+ * À la construction, toutes les lignes de la grille (suites de cases où un alignement peut se
+ * faire : 69 sur la grille standard) sont énumérées une fois, ainsi que les lignes passant par
+ * chaque case. Pour chaque ligne, l'évaluation compte les jetons de chaque couleur ; pour chaque
+ * joueur, elle compte les lignes « ouvertes » (sans jeton adverse) selon leur nombre de jetons.
+ * Poser ou retirer un jeton ne met à jour que les lignes de sa case (au plus 13 sur la grille
+ * standard) : {@link #evaluer(Couleur)} ne parcourt jamais la grille.
+ * </p>
+ * <p>
+ * Une ligne ouverte de k jetons vaut 3<sup>k-1</sup> points : la note d'un joueur est la somme
+ * de ses lignes ouvertes, et l'évaluation la différence des deux notes. Une instance suit une
+ * seule grille et n'est pas thread-safe.
+ * </p>
+ */
+public final class Evaluation {
+
+    private final int lignes;
+    private final int colonnes;
+    private final int alignement;
+    // Lignes passant par chaque case, à plat : celles de la case i sont lignesParCase[debuts[i] .. debuts[i + 1]]
+    private final int[] debuts;
+    private final int[] lignesParCase;
+    private final int nbLignes;
+    private final int[] poids;
+    // Jetons de chaque couleur dans chaque ligne, indexés par ligne * 2 + ordinal de la couleur
+    private final int[] jetons;
+    // Lignes ouvertes de chaque couleur par nombre de jetons, indexées par ordinal * (alignement + 1) + k
+    private final int[] ouvertes;
+    private final int[] notes;
+
+    /**
+     * Construit l'évaluation d'une grille, dans son état actuel.
+     * <p>
+     * Il faut ensuite signaler chaque coup joué ou retiré sur la grille par
+     * {@link #poser(Couleur, int, int)} et {@link #retirer(Couleur, int, int)}.
+     * </p>
+     *
+     * @param grille la grille à évaluer.
+     * @throws IllegalArgumentException si la grille est null.
+     */
+    public Evaluation(Grille grille) {
+        if (grille == null) {
+            throw new IllegalArgumentException("La grille ne peut pas être null");
+        }
+        this.lignes = grille.getNbLignes();
+        this.colonnes = grille.getNbColonnes();
+        this.alignement = grille.getAlignement();
+
+        // Chaque ligne est repérée par sa première case et sa direction
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        int nbCases = this.lignes * this.colonnes;
+        int[] nbParCase = new int[nbCases + 1];
+        int n = 0;
+        for (int[] d : directions) {
+            for (int l = 0; l < this.lignes; l++) {
+                for (int c = 0; c < this.colonnes; c++) {
+                    if (estLigne(l, c, d[0], d[1])) {
+                        for (int k = 0; k < this.alignement; k++) {
+                            nbParCase[caseDe(l + k * d[0], c + k * d[1]) + 1]++;
+                        }
+                        n++;
+                    }
+                }
+            }
+        }
+        this.nbLignes = n;
+        this.debuts = new int[nbCases + 1];
+        for (int i = 0; i < nbCases; i++) {
+            this.debuts[i + 1] = this.debuts[i] + nbParCase[i + 1];
+        }
+        this.lignesParCase = new int[this.debuts[nbCases]];
+        int[] remplies = Arrays.copyOf(this.debuts, nbCases);
+        n = 0;
+        for (int[] d : directions) {
+            for (int l = 0; l < this.lignes; l++) {
+                for (int c = 0; c < this.colonnes; c++) {
+                    if (estLigne(l, c, d[0], d[1])) {
+                        for (int k = 0; k < this.alignement; k++) {
+                            this.lignesParCase[remplies[caseDe(l + k * d[0], c + k * d[1])]++] = n;
+                        }
+                        n++;
+                    }
+                }
+            }
+        }
+
+        this.poids = new int[this.alignement + 1];
+        for (int k = 1; k <= this.alignement; k++) {
+            this.poids[k] = k == 1 ? 1 : 3 * this.poids[k - 1];
+        }
+        this.jetons = new int[2 * this.nbLignes];
+        this.ouvertes = new int[2 * (this.alignement + 1)];
+        this.notes = new int[2];
+        recalculer(grille);
+    }
+
+    /**
+     * Reprend l'évaluation depuis le contenu d'une grille de mêmes dimensions.
+     *
+     * @param grille la grille à évaluer.
+     * @throws IllegalArgumentException si la grille est null ou n'a pas les mêmes dimensions.
+     */
+    public void recalculer(Grille grille) {
+        if (grille == null || grille.getNbLignes() != this.lignes || grille.getNbColonnes() != this.colonnes
+                || grille.getAlignement() != this.alignement) {
+            throw new IllegalArgumentException("Grille absente ou de dimensions différentes");
+        }
+        Arrays.fill(this.jetons, 0);
+        Arrays.fill(this.ouvertes, 0);
+        Arrays.fill(this.notes, 0);
+        // Toutes les lignes vides sont ouvertes pour les deux joueurs
+        this.ouvertes[0] = this.nbLignes;
+        this.ouvertes[this.alignement + 1] = this.nbLignes;
+        for (int l = 0; l < this.lignes; l++) {
+            for (int c = 0; c < this.colonnes; c++) {
+                Jeton jeton = grille.getJeton(new Position(l, c));
+                if (jeton != null) {
+                    poser(jeton.getCouleur(), l, c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Signale qu'un jeton a été posé dans une case.
+     *
+     * @param couleur la couleur du jeton.
+     * @param ligne   la ligne de la case (0 en haut), renvoyée par {@link Grille#jouerCoup(Couleur, int)}.
+     * @param colonne la colonne de la case.
+     */
+    public void poser(Couleur couleur, int ligne, int colonne) {
+        int moi = couleur.ordinal();
+        int lui = 1 - moi;
+        int i = caseDe(ligne, colonne);
+        for (int j = this.debuts[i]; j < this.debuts[i + 1]; j++) {
+            int l = this.lignesParCase[j];
+            int miens = this.jetons[2 * l + moi]++;
+            int siens = this.jetons[2 * l + lui];
+            if (siens == 0) {
+                // La ligne reste ouverte pour moi, avec un jeton de plus
+                deplacer(moi, miens, miens + 1);
+            }
+            if (miens == 0) {
+                // La ligne se ferme pour l'adversaire
+                fermer(lui, siens);
+            }
+        }
+    }
+
+    /**
+     * Signale qu'un jeton a été retiré d'une case ; inverse exact de {@link #poser(Couleur, int, int)}.
+     *
+     * @param couleur la couleur du jeton retiré.
+     * @param ligne   la ligne de la case (0 en haut).
+     * @param colonne la colonne de la case.
+     */
+    public void retirer(Couleur couleur, int ligne, int colonne) {
+        int moi = couleur.ordinal();
+        int lui = 1 - moi;
+        int i = caseDe(ligne, colonne);
+        for (int j = this.debuts[i]; j < this.debuts[i + 1]; j++) {
+            int l = this.lignesParCase[j];
+            int miens = --this.jetons[2 * l + moi];
+            int siens = this.jetons[2 * l + lui];
+            if (siens == 0) {
+                deplacer(moi, miens + 1, miens);
+            }
+            if (miens == 0) {
+                // La ligne se rouvre pour l'adversaire
+                ouvrir(lui, siens);
+            }
+        }
+    }
+
+    /**
+     * Évalue la position pour un joueur, en temps constant.
+     *
+     * @param joueur le joueur du point de vue duquel évaluer.
+     * @return la note du joueur moins celle de l'adversaire : positive si la position lui est favorable.
+     */
+    public int evaluer(Couleur joueur) {
+        int moi = joueur.ordinal();
+        return this.notes[moi] - this.notes[1 - moi];
+    }
+
+    /**
+     * Compte les lignes ouvertes d'un joueur ayant un nombre donné de jetons.
+     *
+     * @param joueur le joueur.
+     * @param k      le nombre de jetons du joueur dans la ligne, entre 0 et l'alignement.
+     * @return le nombre de lignes sans jeton adverse contenant exactement k jetons du joueur.
+     * @throws IllegalArgumentException si k est hors limites.
+     */
+    public int getLignesOuvertes(Couleur joueur, int k) {
+        if (k < 0 || k > this.alignement) {
+            throw new IllegalArgumentException("Nombre de jetons invalide : " + k);
+        }
+        return this.ouvertes[joueur.ordinal() * (this.alignement + 1) + k];
+    }
+
+    /**
+     * Compte les menaces d'un joueur : les lignes ouvertes auxquelles il ne manque qu'un jeton.
+     *
+     * @param joueur le joueur.
+     * @return le nombre de lignes qu'un seul coup compléterait.
+     */
+    public int getMenaces(Couleur joueur) {
+        return getLignesOuvertes(joueur, this.alignement - 1);
+    }
+
+    /**
+     * Récupère le nombre de lignes de la grille où un alignement peut se faire.
+     *
+     * @return le nombre de lignes (69 sur la grille standard).
+     */
+    public int getNbLignes() {
+        return nbLignes;
+    }
+
+    /**
+     * Retourne une représentation textuelle de l'évaluation.
+     *
+     * @return une chaîne contenant le nombre de lignes, les menaces et les notes de chaque joueur.
+     */
+    @Override
+    public String toString() {
+        return "Evaluation{lignes=" + nbLignes
+                + ", menacesJaune=" + getMenaces(Couleur.JAUNE) + ", menacesRouge=" + getMenaces(Couleur.ROUGE)
+                + ", noteJaune=" + notes[Couleur.JAUNE.ordinal()] + ", noteRouge=" + notes[Couleur.ROUGE.ordinal()] + "}";
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    private boolean estLigne(int l, int c, int dl, int dc) {
+        int lFin = l + (this.alignement - 1) * dl;
+        int cFin = c + (this.alignement - 1) * dc;
+        return lFin < this.lignes && cFin >= 0 && cFin < this.colonnes;
+    }
+
+    private int caseDe(int ligne, int colonne) {
+        return ligne * this.colonnes + colonne;
+    }
+
+    private void deplacer(int joueur, int avant, int apres) {
+        int base = joueur * (this.alignement + 1);
+        this.ouvertes[base + avant]--;
+        this.ouvertes[base + apres]++;
+        this.notes[joueur] += this.poids[apres] - this.poids[avant];
+    }
+
+    private void fermer(int joueur, int k) {
+        this.ouvertes[joueur * (this.alignement + 1) + k]--;
+        this.notes[joueur] -= this.poids[k];
+    }
+
+    private void ouvrir(int joueur, int k) {
+        this.ouvertes[joueur * (this.alignement + 1) + k]++;
+        this.notes[joueur] += this.poids[k];
+    }
+}
@@ -0,0 +1,316 @@
+package engine;
+
+import business.Couleur;
+import business.Grille;
+import business.Position;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Construit hors ligne un {@link LivreOuvertures} : résout toutes les positions atteignables
+ * jusqu'à une profondeur donnée et les écrit, triées, dans un fichier.
+ * <p>
+ * Les positions sont parcourues en profondeur et chacune n'est résolue qu'une fois, après ses
+ * suites : sa résolution profite alors des positions que la table de transposition du
+ * {@link Solveur} a gardées de ses enfants. Une position et sa symétrique partagent une entrée.
+ * Une position et son inverse (couleurs échangées, l'autre joueur au trait) ont la même
+ * solution : les deux sont enregistrées, pour que le livre serve quel que soit le joueur
+ * qui a commencé la partie.
+ * </p>
+ * <p>
+ * Le nombre de positions croît vite avec la profondeur (environ 185 000 à 8 coups, 12 millions
+ * à 12 coups) et les plus proches du début sont longues à résoudre : le livre se construit une
+ * fois, hors des serveurs, qui ne font ensuite que le lire.
+ * </p>
+ */
+public class GenerateurLivre {
+
+    private static final int NB_CASES = Grille.NB_LIGNES * Grille.NB_COLONNES;
+    private static final int TAILLE_TAMPON = 64 * 1024;
+
+    private final int profondeur;
+    private final Solveur solveur;
+    private Grille grille;
+    private Grille inverse;
+    private Positions positions;
+    private long nbResolutions;
+
+    /**
+     * Construit un générateur avec une table de transposition de taille par défaut.
+     *
+     * @param profondeur le nombre de jetons maximal des positions du livre.
+     * @throws IllegalArgumentException si la profondeur n'est pas entre 0 et 41.
+     */
+    public GenerateurLivre(int profondeur) {
+        this(profondeur, Solveur.TAILLE_TABLE_DEFAUT);
+    }
+
+    /**
+     * Construit un générateur en choisissant la taille de la table de transposition.
+     * <p>
+     * Une grande table accélère nettement la génération, dont les résolutions se recouvrent.
+     * </p>
+     *
+     * @param profondeur        le nombre de jetons maximal des positions du livre.
+     * @param tailleTableOctets la taille maximale de la table de transposition, en octets.
+     * @throws IllegalArgumentException si la profondeur n'est pas entre 0 et 41.
+     */
+    public GenerateurLivre(int profondeur, long tailleTableOctets) {
+        if (profondeur < 0 || profondeur >= NB_CASES) {
+            throw new IllegalArgumentException("Profondeur de livre invalide : " + profondeur);
+        }
+        this.profondeur = profondeur;
+        this.solveur = new Solveur(new TableTransposition(tailleTableOctets, PolitiqueRemplacement.PROFONDEUR));
+    }
+
+    /**
+     * Génère le livre de toutes les parties commençant sur la grille vide.
+     *
+     * @param fichier le fichier à écrire, remplacé s'il existe.
+     * @return le nombre de positions enregistrées.
+     * @throws IOException si l'écriture échoue.
+     * @throws IllegalArgumentException si le chemin est null.
+     */
+    public int generer(Path fichier) throws IOException {
+        return generer(new Grille(), Couleur.JAUNE, fichier);
+    }
+
+    /**
+     * Génère le livre des positions atteignables depuis une position donnée.
+     *
+     * @param depart  la position de départ, sur la grille standard (elle n'est pas modifiée).
+     * @param joueur  la couleur du joueur au trait dans la position de départ.
+     * @param fichier le fichier à écrire, remplacé s'il existe.
+     * @return le nombre de positions enregistrées.
+     * @throws IOException si l'écriture échoue.
+     * @throws IllegalArgumentException si un paramètre est null, si la grille n'est pas standard
+     *                                  ou si elle a plus de jetons que la profondeur du livre.
+     */
+    public int generer(Grille depart, Couleur joueur, Path fichier) throws IOException {
+        if (depart == null || joueur == null || fichier == null) {
+            throw new IllegalArgumentException("La grille, le joueur et le fichier ne peuvent pas être null");
+        }
+        if (!depart.isStandard()) {
+            throw new IllegalArgumentException("Le livre ne porte que sur la grille standard");
+        }
+        if (depart.nombreCoups() > this.profondeur) {
+            throw new IllegalArgumentException("La position de départ dépasse la profondeur du livre");
+        }
+        this.grille = new Grille(depart);
+        this.inverse = inverser(depart);
+        this.positions = new Positions();
+        this.nbResolutions = 0;
+        explorer(joueur);
+        int nombre = this.positions.taille();
+        ecrire(fichier);
+        this.positions = null;
+        return nombre;
+    }
+
+    /**
+     * Récupère le nombre de positions résolues par la dernière génération.
+     *
+     * @return le nombre de résolutions, chacune valant aussi pour la symétrique et l'inverse de la position.
+     */
+    public long getNbResolutions() {
+        return nbResolutions;
+    }
+
+    /**
+     * Récupère le nombre de jetons maximal des positions du livre.
+     *
+     * @return la profondeur du livre.
+     */
+    public int getProfondeur() {
+        return profondeur;
+    }
+
+    /**
+     * Retourne une représentation textuelle du générateur.
+     *
+     * @return une chaîne contenant la profondeur.
+     */
+    @Override
+    public String toString() {
+        return "GenerateurLivre{profondeur=" + profondeur + "}";
+    }
+
+    /**
+     * Génère un livre d'ouvertures depuis la grille vide et affiche un bilan.
+     *
+     * @param args le fichier à écrire (livre_puissance4.p4l par défaut), la profondeur (8 par défaut)
+     *             et la taille de la table de transposition en Mo (1024 par défaut).
+     * @throws IOException si l'écriture échoue.
+     */
+    public static void main(String[] args) throws IOException {
+        Path fichier = Path.of(args.length > 0 ? args[0] : "livre_puissance4.p4l");
+        int profondeur = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long tailleTable = (args.length > 2 ? Long.parseLong(args[2]) : 1024) * 1024 * 1024;
+        GenerateurLivre generateur = new GenerateurLivre(profondeur, tailleTable);
+        long debut = System.nanoTime();
+        int nombre = generateur.generer(fichier);
+        System.out.println(generateur + " : " + nombre + " positions, " + generateur.getNbResolutions()
+                + " résolutions en " + (System.nanoTime() - debut) / 1_000_000_000 + " s -> " + fichier);
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    /*
+     * Résout la position courante après toutes ses suites, sauf si elle est déjà dans le livre.
+     * Les coups gagnants ne mènent à aucune position à enregistrer.
+     */
+    private void explorer(Couleur joueur) {
+        if (this.positions.contient(this.grille.cleCanonique(joueur))) {
+            return;
+        }
+        if (this.grille.nombreCoups() < this.profondeur) {
+            Couleur adversaire = joueur.adverse();
+            for (int col = 0; col < Grille.NB_COLONNES; col++) {
+                if (this.grille.isFullColonne(col) || this.grille.estCoupGagnant(joueur, col)) {
+                    continue;
+                }
+                this.grille.jouerCoup(joueur, col);
+                this.inverse.jouerCoup(adversaire, col);
+                explorer(adversaire);
+                this.grille.retirerJeton(col);
+                this.inverse.retirerJeton(col);
+            }
+        }
+        Resultat resultat = this.solveur.resoudre(this.grille, joueur);
+        this.nbResolutions++;
+        enregistrer(this.grille, joueur, resultat);
+        enregistrer(this.inverse, joueur.adverse(), resultat);
+    }
+
+    private void enregistrer(Grille g, Couleur joueur, Resultat resultat) {
+        long cle = g.cle(joueur);
+        long cleMiroir = g.cleMiroir(joueur);
+        int colonne = resultat.getColonne();
+        // La colonne est notée dans la position canonique
+        if (cleMiroir < cle) {
+            cle = cleMiroir;
+            colonne = g.colonneMiroir(colonne);
+        }
+        this.positions.ajouter(cle, (short) (resultat.getScore() << 8 | colonne));
+    }
+
+    // Même grille, couleurs échangées : chaque colonne est rejouée depuis le bas
+    private static Grille inverser(Grille g) {
+        Grille inverse = new Grille();
+        for (int col = 0; col < Grille.NB_COLONNES; col++) {
+            for (int ligne = Grille.NB_LIGNES - 1; ligne >= Grille.NB_LIGNES - g.hauteurColonne(col); ligne--) {
+                inverse.jouerCoup(g.getJeton(new Position(ligne, col)).getCouleur().adverse(), col);
+            }
+        }
+        return inverse;
+    }
+
+    // Écrit l'en-tête, les clés triées puis les valeurs dans le même ordre
+    private void ecrire(Path fichier) throws IOException {
+        long[] cles = this.positions.cles();
+        Arrays.sort(cles);
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer tampon = ByteBuffer.allocate(TAILLE_TAMPON);
+            tampon.put(LivreOuvertures.SIGNATURE).putInt(this.profondeur).putLong(cles.length);
+            for (long cle : cles) {
+                if (tampon.remaining() < Long.BYTES) {
+                    vider(canal, tampon);
+                }
+                tampon.putLong(cle);
+            }
+            for (long cle : cles) {
+                if (tampon.remaining() < Short.BYTES) {
+                    vider(canal, tampon);
+                }
+                tampon.putShort(this.positions.valeur(cle));
+            }
+            vider(canal, tampon);
+        }
+    }
+
+    private static void vider(FileChannel canal, ByteBuffer tampon) throws IOException {
+        tampon.flip();
+        while (tampon.hasRemaining()) {
+            canal.write(tampon);
+        }
+        tampon.clear();
+    }
+
+    /*
+     * Table de hachage à adressage ouvert des positions déjà résolues, sans boxing :
+     * le livre peut compter des dizaines de millions de positions. Une clé n'est jamais nulle,
+     * 0 marque donc une case libre.
+     */
+    private static final class Positions {
+
+        private long[] cles = new long[1 << 16];
+        private short[] valeurs = new short[1 << 16];
+        private int taille;
+
+        boolean contient(long cle) {
+            return this.cles[chercher(cle)] != 0;
+        }
+
+        short valeur(long cle) {
+            return this.valeurs[chercher(cle)];
+        }
+
+        void ajouter(long cle, short valeur) {
+            int i = chercher(cle);
+            if (this.cles[i] != 0) {
+                return;
+            }
+            this.cles[i] = cle;
+            this.valeurs[i] = valeur;
+            // Taux de remplissage maximal : 1/2
+            if (++this.taille > this.cles.length / 2) {
+                agrandir();
+            }
+        }
+
+        int taille() {
+            return this.taille;
+        }
+
+        long[] cles() {
+            long[] resultat = new long[this.taille];
+            int n = 0;
+            for (long cle : this.cles) {
+                if (cle != 0) {
+                    resultat[n++] = cle;
+                }
+            }
+            return resultat;
+        }
+
+        private int chercher(long cle) {
+            int masque = this.cles.length - 1;
+            long h = cle * 0x9E3779B97F4A7C15L;
+            int i = (int) (h ^ (h >>> 32)) & masque;
+            while (this.cles[i] != 0 && this.cles[i] != cle) {
+                i = (i + 1) & masque;
+            }
+            return i;
+        }
+
+        private void agrandir() {
+            long[] anciennesCles = this.cles;
+            short[] anciennesValeurs = this.valeurs;
+            this.cles = new long[2 * anciennesCles.length];
+            this.valeurs = new short[2 * anciennesCles.length];
+            for (int j = 0; j < anciennesCles.length; j++) {
+                if (anciennesCles[j] != 0) {
+                    int i = chercher(anciennesCles[j]);
+                    this.cles[i] = anciennesCles[j];
+                    this.valeurs[i] = anciennesValeurs[j];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package engine;
+
+import business.Couleur;
+import business.Grille;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Livre d'ouvertures : les positions du début de partie déjà résolues, lues dans un fichier
+ * projeté en mémoire.
+ * <p>
+ * Le fichier, écrit par {@link GenerateurLivre}, contient un en-tête de {@value #TAILLE_ENTETE}
+ * octets (signature, profondeur du livre, nombre de positions), puis les clés canoniques des
+ * positions ({@link Grille#cleCanonique(Couleur)}) triées par ordre croissant, puis pour chaque
+ * clé, dans le même ordre, deux octets : le score et la meilleure colonne de la position
+ * canonique. Une position et sa symétrique n'occupent donc qu'une entrée de 10 octets.
+ * </p>
+ * <p>
+ * Ouvrir un livre ne lit que l'en-tête : les clés sont cherchées par dichotomie directement
+ * dans la projection du fichier, sans rien charger dans le tas. Seules les pages touchées par
+ * les recherches sont lues, puis gardées en cache par le système. Les tampons ne sont lus que
+ * par des accès absolus, qui ne modifient pas leur état : un livre peut être partagé entre threads.
+ * </p>
+ */
+public class LivreOuvertures {
+
+    /**
+     * Taille de l'en-tête du fichier, en octets.
+     */
+    public static final int TAILLE_ENTETE = 16;
+
+    static final byte[] SIGNATURE = {'P', '4', 'L', 1};
+    static final int OCTETS_PAR_POSITION = Long.BYTES + 2;
+
+    private final int profondeur;
+    private final int nbPositions;
+    private final LongBuffer cles;
+    private final ByteBuffer valeurs;
+
+    /**
+     * Ouvre un livre d'ouvertures en projetant son fichier en mémoire.
+     *
+     * @param fichier le fichier écrit par {@link GenerateurLivre}.
+     * @throws IOException si le fichier ne peut être lu ou n'est pas un livre d'ouvertures.
+     * @throws IllegalArgumentException si le chemin est null.
+     */
+    public LivreOuvertures(Path fichier) throws IOException {
+        if (fichier == null) {
+            throw new IllegalArgumentException("Le fichier ne peut pas être null");
+        }
+        // La projection reste valide après la fermeture du canal
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE);
+            while (entete.hasRemaining() && canal.read(entete) >= 0) {
+                // Un canal peut rendre l'en-tête en plusieurs lectures
+            }
+            entete.flip();
+            byte[] signature = new byte[SIGNATURE.length];
+            if (entete.remaining() == TAILLE_ENTETE) {
+                entete.get(signature);
+            }
+            if (!Arrays.equals(signature, SIGNATURE)) {
+                throw new IOException("Ce fichier n'est pas un livre d'ouvertures reconnu");
+            }
+            int profondeurLue = entete.getInt();
+            long nombre = entete.getLong();
+            // Les clés doivent tenir dans une seule projection
+            if (profondeurLue < 0 || profondeurLue >= Grille.NB_LIGNES * Grille.NB_COLONNES
+                    || nombre < 0 || nombre > Integer.MAX_VALUE / Long.BYTES
+                    || canal.size() != TAILLE_ENTETE + nombre * OCTETS_PAR_POSITION) {
+                throw new IOException("Livre d'ouvertures invalide ou tronqué");
+            }
+            this.profondeur = profondeurLue;
+            this.nbPositions = (int) nombre;
+            long tailleCles = nombre * Long.BYTES;
+            this.cles = canal.map(FileChannel.MapMode.READ_ONLY, TAILLE_ENTETE, tailleCles).asLongBuffer();
+            this.valeurs = canal.map(FileChannel.MapMode.READ_ONLY, TAILLE_ENTETE + tailleCles, nombre * 2);
+        }
+    }
+
+    /**
+     * Cherche une position dans le livre.
+     *
+     * @param grille la position à chercher.
+     * @param joueur la couleur du joueur au trait.
+     * @return le résultat exact de la position (meilleure colonne de cette grille et score),
+     * ou null si elle n'est pas dans le livre.
+     * @throws IllegalArgumentException si la grille ou le joueur est null.
+     */
+    public Resultat chercher(Grille grille, Couleur joueur) {
+        if (grille == null || joueur == null) {
+            throw new IllegalArgumentException("La grille et le joueur ne peuvent pas être null");
+        }
+        int n = grille.nombreCoups();
+        if (!grille.isStandard() || n > this.profondeur) {
+            return null;
+        }
+        long cle = grille.cle(joueur);
+        long cleMiroir = grille.cleMiroir(joueur);
+        boolean miroir = cleMiroir < cle;
+        int i = indice(miroir ? cleMiroir : cle);
+        if (i < 0) {
+            return null;
+        }
+        int colonne = this.valeurs.get(2 * i + 1);
+        return new Resultat(miroir ? grille.colonneMiroir(colonne) : colonne, this.valeurs.get(2 * i), n);
+    }
+
+    /**
+     * Récupère le nombre de jetons maximal des positions du livre.
+     *
+     * @return la profondeur du livre, en coups depuis la grille vide.
+     */
+    public int getProfondeur() {
+        return profondeur;
+    }
+
+    /**
+     * Récupère le nombre d'entrées du livre.
+     *
+     * @return le nombre de positions canoniques enregistrées.
+     */
+    public int getNbPositions() {
+        return nbPositions;
+    }
+
+    /**
+     * Retourne une représentation textuelle du livre.
+     *
+     * @return une chaîne contenant la profondeur et le nombre de positions.
+     */
+    @Override
+    public String toString() {
+        return "LivreOuvertures{profondeur=" + profondeur + ", positions=" + nbPositions + "}";
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    // Dichotomie dans les clés triées ; -1 si la clé est absente
+    private int indice(long cle) {
+        int bas = 0;
+        int haut = this.nbPositions - 1;
+        while (bas <= haut) {
+            int milieu = (bas + haut) >>> 1;
+            long c = this.cles.get(milieu);
+            if (c < cle) {
+                bas = milieu + 1;
+            } else if (c > cle) {
+                haut = milieu - 1;
+            } else {
+                return milieu;
+            }
+        }
+        return -1;
+    }
+}
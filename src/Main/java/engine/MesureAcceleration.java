@@ -0,0 +1,109 @@
+package engine;
+
+/**
+ * Compare la durée d'une même résolution sur un seul thread et sur plusieurs.
+ * <p>
+ * Produite par {@link RechercheParallele#mesurerAcceleration(business.Grille, business.Couleur)},
+ * elle sert à choisir le nombre de threads à allouer à la recherche.
+ * </p>
+ */
+public class MesureAcceleration {
+
+    private final int nbThreads;
+    private final long dureeMonoNs;
+    private final long dureeParalleleNs;
+    private final long noeudsMono;
+    private final long noeudsParallele;
+
+    /**
+     * Construit une mesure d'accélération.
+     *
+     * @param nbThreads        le nombre de threads de la recherche parallèle.
+     * @param dureeMonoNs      la durée de la résolution sur un thread, en nanosecondes.
+     * @param dureeParalleleNs la durée de la résolution parallèle, en nanosecondes.
+     * @param noeudsMono       le nombre de noeuds explorés sur un thread.
+     * @param noeudsParallele  le nombre total de noeuds explorés par tous les threads.
+     */
+    public MesureAcceleration(int nbThreads, long dureeMonoNs, long dureeParalleleNs,
+                              long noeudsMono, long noeudsParallele) {
+        this.nbThreads = nbThreads;
+        this.dureeMonoNs = dureeMonoNs;
+        this.dureeParalleleNs = dureeParalleleNs;
+        this.noeudsMono = noeudsMono;
+        this.noeudsParallele = noeudsParallele;
+    }
+
+    /**
+     * Récupère le nombre de threads de la recherche parallèle.
+     *
+     * @return le nombre de threads.
+     */
+    public int getNbThreads() {
+        return nbThreads;
+    }
+
+    /**
+     * Récupère la durée de la résolution sur un seul thread.
+     *
+     * @return la durée en nanosecondes.
+     */
+    public long getDureeMonoNs() {
+        return dureeMonoNs;
+    }
+
+    /**
+     * Récupère la durée de la résolution parallèle.
+     *
+     * @return la durée en nanosecondes.
+     */
+    public long getDureeParalleleNs() {
+        return dureeParalleleNs;
+    }
+
+    /**
+     * Récupère le nombre de noeuds explorés sur un seul thread.
+     *
+     * @return le nombre de noeuds.
+     */
+    public long getNoeudsMono() {
+        return noeudsMono;
+    }
+
+    /**
+     * Récupère le nombre total de noeuds explorés par tous les threads.
+     *
+     * @return le nombre de noeuds.
+     */
+    public long getNoeudsParallele() {
+        return noeudsParallele;
+    }
+
+    /**
+     * Calcule l'accélération obtenue : durée sur un thread divisée par la durée parallèle.
+     *
+     * @return l'accélération (supérieure à 1 si la recherche parallèle est plus rapide).
+     */
+    public double getAcceleration() {
+        return (double) dureeMonoNs / Math.max(1L, dureeParalleleNs);
+    }
+
+    /**
+     * Calcule l'efficacité par thread : l'accélération divisée par le nombre de threads.
+     *
+     * @return l'efficacité, 1 correspondant à une accélération parfaitement linéaire.
+     */
+    public double getEfficacite() {
+        return getAcceleration() / nbThreads;
+    }
+
+    /**
+     * Retourne une représentation textuelle de la mesure.
+     *
+     * @return une chaîne décrivant les durées et l'accélération.
+     */
+    @Override
+    public String toString() {
+        return String.format("MesureAcceleration{threads=%d, mono=%.1f ms, parallele=%.1f ms, acceleration=%.2f, efficacite=%.2f}",
+                nbThreads, dureeMonoNs / 1e6, dureeParalleleNs / 1e6, getAcceleration(), getEfficacite());
+    }
+}
@@ -0,0 +1,27 @@
+package engine;
+
+/**
+ * Stratégie d'ordre dans lequel le {@link Solveur} explore les coups d'une position.
+ * <p>
+ * Dans tous les cas, le meilleur coup retenu par la table de transposition passe en premier
+ * et, à égalité, les colonnes du centre passent avant celles des bords.
+ * L'ordre ne change pas le résultat, seulement le nombre de positions visitées.
+ * </p>
+ */
+public enum OrdreCoups {
+    /**
+     * Les colonnes du centre vers les bords, sans autre critère.
+     */
+    CENTRE,
+    /**
+     * Les deux coups « killer » ayant provoqué une coupure au même niveau,
+     * puis les colonnes selon l'historique des coupures de chaque joueur.
+     */
+    KILLERS_HISTORIQUE,
+    /**
+     * Les coups créant le plus de menaces (cases où le joueur compléterait un alignement)
+     * d'abord. C'est l'ordre le plus efficace au Puissance 4.
+     */
+    MENACES;
+
+}
@@ -0,0 +1,18 @@
+package engine;
+
+/**
+ * Règle appliquée par la {@link TableTransposition} lorsque deux positions
+ * différentes se disputent la même case de la table.
+ */
+public enum PolitiqueRemplacement {
+    /**
+     * La nouvelle position remplace toujours l'ancienne.
+     */
+    TOUJOURS,
+    /**
+     * La nouvelle position ne remplace l'ancienne que si sa profondeur est au moins aussi grande,
+     * afin de conserver les résultats les plus coûteux à recalculer.
+     */
+    PROFONDEUR;
+
+}
@@ -0,0 +1,562 @@
+package engine;
+
+import business.Couleur;
+import business.Grille;
+import business.InstantaneGrille;
+import business.Partie;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Recherche arborescente Monte-Carlo (MCTS) : un joueur « à tout moment » pour les grilles
+ * de toutes dimensions, y compris celles que le {@link Solveur} ne sait pas résoudre.
+ * <p>
+ * Chaque itération descend dans l'arbre en choisissant le fils qui maximise la borne UCT
+ * (taux de gain plus un bonus d'exploration), développe la feuille atteinte, termine la partie
+ * au hasard puis remonte le résultat. Le coup renvoyé est le fils de la racine le plus visité.
+ * Les simulations se jouent sur une copie de la grille propre à chaque thread, avec
+ * {@link Grille#jouerCoup(Couleur, int)} puis {@link Grille#retirerJeton(int)} pour revenir à
+ * la racine : une simulation n'alloue rien.
+ * </p>
+ * <p>
+ * Tous les threads parcourent le même arbre. Un fils compte sa visite dès qu'un thread y
+ * descend, avant que le résultat ne soit connu : c'est une « perte virtuelle » qui écarte
+ * les autres threads de la branche en cours d'évaluation.
+ * </p>
+ * <p>
+ * L'arbre est conservé d'un coup à l'autre : si la position demandée suit la racine précédente
+ * d'un ou deux coups, la recherche repart du sous-arbre correspondant. Une recherche sur un
+ * seul thread, limitée en nombre de simulations, est reproductible ; il faut appeler
+ * {@link #close()} quand la recherche n'est plus utilisée.
+ * </p>
+ */
+public class RechercheMonteCarlo implements Strategie, AutoCloseable {
+
+    /**
+     * Constante d'exploration par défaut de la borne UCT : racine de 2.
+     */
+    public static final double EXPLORATION_DEFAUT = Math.sqrt(2);
+
+    /**
+     * Nombre de visites d'une feuille avant qu'elle ne soit développée.
+     * Limite la taille de l'arbre sans changer la convergence.
+     */
+    private static final int SEUIL_DEVELOPPEMENT = 8;
+
+    /**
+     * Nombre de simulations entre deux consultations de l'horloge.
+     */
+    private static final int INTERVALLE_HORLOGE = 16;
+
+    private final int nbThreads;
+    private final ExecutorService executeur;
+    private final AtomicBoolean arret;
+    private double exploration;
+    private SplittableRandom hasard;
+    // Racine conservée pour la recherche suivante
+    private Noeud racine;
+    private Grille grilleRacine;
+    private Couleur joueurRacine;
+
+    /**
+     * Construit une recherche utilisant tous les coeurs disponibles.
+     */
+    public RechercheMonteCarlo() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construit une recherche sur un nombre de threads donné.
+     *
+     * @param nbThreads le nombre de threads qui parcourent l'arbre, dont le thread appelant.
+     * @throws IllegalArgumentException si le nombre de threads n'est pas strictement positif.
+     */
+    public RechercheMonteCarlo(int nbThreads) {
+        if (nbThreads <= 0) {
+            throw new IllegalArgumentException("Nombre de threads invalide : " + nbThreads);
+        }
+        this.nbThreads = nbThreads;
+        this.arret = new AtomicBoolean(false);
+        this.exploration = EXPLORATION_DEFAUT;
+        this.hasard = new SplittableRandom();
+        // Le thread appelant cherche aussi : il en faut un de moins dans le pool
+        this.executeur = nbThreads == 1 ? null : Executors.newFixedThreadPool(nbThreads - 1, tache -> {
+            Thread thread = new Thread(tache, "recherche-monte-carlo");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cherche le meilleur coup d'une partie dans un temps limité.
+     *
+     * @param partie      la partie à analyser (elle n'est pas modifiée).
+     * @param delaiMillis le temps de réflexion en millisecondes.
+     * @return le coup le plus visité et les statistiques de la recherche.
+     * @throws IllegalArgumentException si la partie est null ou déjà terminée, ou si le délai n'est pas positif.
+     */
+    public ResultatMonteCarlo meilleurCoup(Partie partie, long delaiMillis) {
+        if (partie == null) {
+            throw new IllegalArgumentException("La partie ne peut pas être null");
+        }
+        if (partie.isPartieFinie()) {
+            throw new IllegalArgumentException("La partie est terminée");
+        }
+        if (delaiMillis <= 0) {
+            throw new IllegalArgumentException("Délai invalide : " + delaiMillis);
+        }
+        return meilleurCoup(partie.getGrille(), partie.getJoueurCourant().getNom(), delaiMillis, 0);
+    }
+
+    /**
+     * Cherche le meilleur coup d'une position jusqu'à épuisement du temps ou du budget de simulations.
+     * <p>
+     * La grille ne doit pas être modifiée pendant la recherche, ni contenir d'alignement gagnant.
+     * </p>
+     *
+     * @param grille             la grille à analyser (elle n'est pas modifiée).
+     * @param joueur             la couleur du joueur au trait.
+     * @param delaiMillis        le temps de réflexion en millisecondes, ou 0 pour ne pas limiter le temps.
+     * @param budgetSimulations  le nombre de simulations à jouer, ou 0 pour ne pas le limiter.
+     * @return le coup le plus visité et les statistiques de la recherche.
+     * @throws IllegalArgumentException si un paramètre est null ou négatif, si la grille est pleine,
+     *                                  ou si ni le temps ni le budget ne sont limités.
+     * @throws IllegalStateException    si un thread de recherche échoue ou si l'attente est interrompue.
+     */
+    public ResultatMonteCarlo meilleurCoup(Grille grille, Couleur joueur, long delaiMillis, long budgetSimulations) {
+        if (grille == null || joueur == null) {
+            throw new IllegalArgumentException("La grille et le joueur ne peuvent pas être null");
+        }
+        if (grille.isFullGrille()) {
+            throw new IllegalArgumentException("La grille est pleine");
+        }
+        if (delaiMillis < 0 || budgetSimulations < 0) {
+            throw new IllegalArgumentException("Le délai et le budget ne peuvent pas être négatifs");
+        }
+        if (delaiMillis == 0 && budgetSimulations == 0) {
+            throw new IllegalArgumentException("Il faut limiter le temps ou le nombre de simulations");
+        }
+        return chercher(grille, joueur, delaiMillis, budgetSimulations, this.nbThreads);
+    }
+
+    /**
+     * Choisit une colonne avec un budget par défaut de 10 000 simulations, pour un {@link Tournoi}.
+     * <p>
+     * Le tournoi occupe déjà les coeurs avec ses propres threads : la recherche se fait ici sur
+     * le seul thread appelant, quel que soit le nombre de threads de la recherche, et le pool
+     * n'est jamais démarré. Les simulations tirent leur hasard du générateur de la partie :
+     * le choix est reproductible.
+     * </p>
+     *
+     * @param grille la position courante.
+     * @param joueur la couleur du joueur au trait.
+     * @param hasard le générateur de la partie.
+     * @return la colonne la plus visitée.
+     */
+    @Override
+    public int choisirColonne(Grille grille, Couleur joueur, RandomGenerator hasard) {
+        this.hasard = new SplittableRandom(hasard.nextLong());
+        return chercher(grille, joueur, 0, 10_000, 1).getColonne();
+    }
+
+    /**
+     * Oublie l'arbre de la partie précédente.
+     */
+    @Override
+    public void nouvellePartie() {
+        this.racine = null;
+        this.grilleRacine = null;
+        this.joueurRacine = null;
+    }
+
+    /**
+     * Choisit la constante d'exploration de la borne UCT.
+     * <p>
+     * Plus elle est grande, plus la recherche essaie les coups peu visités ;
+     * plus elle est petite, plus elle approfondit les coups qui gagnent déjà.
+     * </p>
+     *
+     * @param exploration la constante ({@link #EXPLORATION_DEFAUT} par défaut).
+     * @throws IllegalArgumentException si la constante est négative ou n'est pas un nombre.
+     */
+    public void setExploration(double exploration) {
+        if (!(exploration >= 0)) {
+            throw new IllegalArgumentException("Constante d'exploration invalide : " + exploration);
+        }
+        this.exploration = exploration;
+    }
+
+    /**
+     * Récupère la constante d'exploration de la borne UCT.
+     *
+     * @return la constante d'exploration.
+     */
+    public double getExploration() {
+        return exploration;
+    }
+
+    /**
+     * Fixe la graine des simulations, pour rejouer exactement une recherche sur un seul thread.
+     *
+     * @param graine la graine du générateur.
+     */
+    public void setGraine(long graine) {
+        this.hasard = new SplittableRandom(graine);
+    }
+
+    /**
+     * Récupère le nombre de threads de recherche.
+     *
+     * @return le nombre de threads, dont le thread appelant.
+     */
+    public int getNbThreads() {
+        return nbThreads;
+    }
+
+    /**
+     * Arrête les threads de recherche.
+     */
+    @Override
+    public void close() {
+        this.arret.set(true);
+        if (this.executeur != null) {
+            this.executeur.shutdownNow();
+        }
+    }
+
+    /**
+     * Retourne une représentation textuelle de la recherche.
+     *
+     * @return une chaîne décrivant le nombre de threads, la constante d'exploration et l'arbre conservé.
+     */
+    @Override
+    public String toString() {
+        return "RechercheMonteCarlo{threads=" + nbThreads + ", exploration=" + exploration
+                + ", visitesRacine=" + (racine == null ? 0 : racine.visites) + "}";
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    // Recherche sur le thread appelant et nbTravailleurs - 1 threads du pool, paramètres déjà vérifiés
+    private ResultatMonteCarlo chercher(Grille grille, Couleur joueur, long delaiMillis, long budgetSimulations,
+                                        int nbTravailleurs) {
+        long debut = System.nanoTime();
+        long echeanceNs = delaiMillis == 0 ? Long.MAX_VALUE : debut + delaiMillis * 1_000_000L;
+        long budget = budgetSimulations == 0 ? Long.MAX_VALUE : budgetSimulations;
+
+        reprendreRacine(grille, joueur);
+        long reutilisees = this.racine.visites;
+        AtomicLong simulations = new AtomicLong();
+        this.arret.set(false);
+
+        List<Future<?>> travaux = new ArrayList<>(nbTravailleurs - 1);
+        for (int t = 1; t < nbTravailleurs; t++) {
+            Travailleur travailleur = new Travailleur(this.hasard.split());
+            travaux.add(this.executeur.submit(() -> travailleur.chercher(simulations, budget, echeanceNs)));
+        }
+        try {
+            new Travailleur(this.hasard.split()).chercher(simulations, budget, echeanceNs);
+        } finally {
+            this.arret.set(true);
+            attendre(travaux);
+        }
+
+        Noeud meilleur = plusVisite(this.racine);
+        double valeur = meilleur.visites == 0 ? 0.5 : meilleur.gains / (2.0 * meilleur.visites);
+        return new ResultatMonteCarlo(meilleur.colonne, valeur, Math.min(simulations.get(), budget),
+                reutilisees, System.nanoTime() - debut, nbTravailleurs);
+    }
+
+    /*
+     * Fait de la position demandée la racine, en reprenant l'ancienne racine si c'est la même
+     * position, ou son sous-arbre si la position en descend d'un coup (l'adversaire au trait) ou de
+     * deux coups (un coup de chaque joueur) ; sinon l'arbre repart de zéro.
+     */
+    private void reprendreRacine(Grille grille, Couleur joueur) {
+        Noeud reprise = null;
+        if (this.racine != null && this.grilleRacine.getNbLignes() == grille.getNbLignes()
+                && this.grilleRacine.getNbColonnes() == grille.getNbColonnes()
+                && this.grilleRacine.getAlignement() == grille.getAlignement()) {
+            int ecart = grille.nombreCoups() - this.grilleRacine.nombreCoups();
+            // Même nombre de coups ne veut pas dire même position (coup annulé puis rejoué ailleurs)
+            if (ecart == 0 && joueur == this.joueurRacine
+                    && grille.instantane().equals(this.grilleRacine.instantane())) {
+                reprise = this.racine;
+            } else if ((ecart == 1 && joueur != this.joueurRacine) || (ecart == 2 && joueur == this.joueurRacine)) {
+                reprise = descendant(this.racine, grille.instantane(), ecart);
+            }
+        }
+        this.racine = reprise != null ? reprise : new Noeud(-1, Noeud.INCONNUE);
+        this.grilleRacine = new Grille(grille);
+        this.joueurRacine = joueur;
+    }
+
+    // Cherche, parmi les fils ou petits-fils de la racine, celui dont la position est la cible
+    private Noeud descendant(Noeud noeud, InstantaneGrille cible, int profondeur) {
+        Noeud[] enfants = noeud.enfants;
+        if (enfants == null) {
+            return null;
+        }
+        Grille copie = new Grille(this.grilleRacine);
+        Couleur joueur = this.joueurRacine;
+        for (Noeud enfant : enfants) {
+            copie.jouerCoup(joueur, enfant.colonne);
+            if (profondeur == 1) {
+                if (copie.instantane().equals(cible)) {
+                    return enfant;
+                }
+            } else if (enfant.enfants != null) {
+                for (Noeud petitEnfant : enfant.enfants) {
+                    copie.jouerCoup(joueur.adverse(), petitEnfant.colonne);
+                    boolean trouve = copie.instantane().equals(cible);
+                    copie.retirerJeton(petitEnfant.colonne);
+                    if (trouve) {
+                        return petitEnfant;
+                    }
+                }
+            }
+            copie.retirerJeton(enfant.colonne);
+        }
+        return null;
+    }
+
+    private void attendre(List<Future<?>> travaux) {
+        try {
+            for (Future<?> travail : travaux) {
+                travail.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recherche Monte-Carlo interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec d'un thread de recherche", e.getCause());
+        }
+    }
+
+    private static Noeud plusVisite(Noeud racine) {
+        Noeud meilleur = null;
+        for (Noeud enfant : racine.enfants) {
+            // Une victoire immédiate passe avant tout
+            if (enfant.issue == Noeud.VICTOIRE) {
+                return enfant;
+            }
+            if (meilleur == null || enfant.visites > meilleur.visites) {
+                meilleur = enfant;
+            }
+        }
+        return meilleur;
+    }
+
+    /*
+     * Noeud de l'arbre : le coup qui y mène et les statistiques du joueur qui l'a joué.
+     * Les compteurs sont modifiés par plusieurs threads à la fois, par ajout atomique ;
+     * les lectures de la sélection peuvent être légèrement en retard, sans conséquence.
+     */
+    private static final class Noeud {
+
+        // Issue connue du coup qui mène au noeud, pour le joueur qui l'a joué
+        static final byte INCONNUE = 0;
+        static final byte VICTOIRE = 1;
+        static final byte NUL = 2;
+
+        private static final VarHandle VISITES;
+        private static final VarHandle GAINS;
+        private static final VarHandle ENFANTS;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                VISITES = lookup.findVarHandle(Noeud.class, "visites", int.class);
+                GAINS = lookup.findVarHandle(Noeud.class, "gains", int.class);
+                ENFANTS = lookup.findVarHandle(Noeud.class, "enfants", Noeud[].class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        final int colonne;
+        final byte issue;
+        volatile Noeud[] enfants;
+        int visites;
+        // Demi-points : 2 par victoire, 1 par nul
+        int gains;
+
+        Noeud(int colonne, byte issue) {
+            this.colonne = colonne;
+            this.issue = issue;
+        }
+
+        void visiter() {
+            VISITES.getAndAdd(this, 1);
+        }
+
+        void crediter(int demiPoints) {
+            GAINS.getAndAdd(this, demiPoints);
+        }
+
+        // Installe les fils si aucun autre thread ne l'a fait entre-temps ; renvoie les fils en place
+        Noeud[] developper(Noeud[] fils) {
+            Noeud[] enPlace = (Noeud[]) ENFANTS.compareAndExchange(this, (Noeud[]) null, fils);
+            return enPlace == null ? fils : enPlace;
+        }
+    }
+
+    /*
+     * État d'un thread pendant une recherche : sa copie de la grille, le chemin suivi dans
+     * l'arbre et les coups joués depuis la racine, tous alloués une fois par recherche.
+     */
+    private final class Travailleur {
+
+        private final SplittableRandom hasard;
+        private final Grille plateau;
+        private final Noeud[] chemin;
+        private final int[] coups;
+        private final int nbCases;
+
+        Travailleur(SplittableRandom hasard) {
+            this.hasard = hasard;
+            this.plateau = new Grille(grilleRacine);
+            this.nbCases = this.plateau.getNbLignes() * this.plateau.getNbColonnes();
+            this.chemin = new Noeud[this.nbCases + 1];
+            this.coups = new int[this.nbCases];
+        }
+
+        void chercher(AtomicLong simulations, long budget, long echeanceNs) {
+            Noeud racine = RechercheMonteCarlo.this.racine;
+            Couleur joueur = RechercheMonteCarlo.this.joueurRacine;
+            if (racine.enfants == null) {
+                racine.developper(fils(joueur));
+            }
+            for (long n = 0; !arret.get(); n++) {
+                if (n % INTERVALLE_HORLOGE == 0 && System.nanoTime() >= echeanceNs) {
+                    break;
+                }
+                if (simulations.getAndIncrement() >= budget) {
+                    break;
+                }
+                iterer(racine, joueur);
+            }
+        }
+
+        // Sélection, développement, simulation et rétropropagation d'une partie
+        private void iterer(Noeud racine, Couleur joueurRacine) {
+            racine.visiter();
+            Noeud noeud = racine;
+            Couleur joueur = joueurRacine;
+            int profondeur = 0;
+            Couleur gagnant;
+            while (true) {
+                if (noeud.issue == Noeud.VICTOIRE) {
+                    // Le joueur qui a mené ici a gagné : c'est l'adversaire du joueur au trait
+                    gagnant = joueur.adverse();
+                    break;
+                }
+                if (noeud.issue == Noeud.NUL) {
+                    gagnant = null;
+                    break;
+                }
+                Noeud[] enfants = noeud.enfants;
+                if (enfants == null) {
+                    if (noeud.visites < SEUIL_DEVELOPPEMENT) {
+                        gagnant = simuler(joueur, profondeur);
+                        break;
+                    }
+                    enfants = noeud.developper(fils(joueur));
+                }
+                noeud = selectionner(enfants, noeud.visites);
+                // Perte virtuelle : la visite compte avant que le résultat ne soit connu
+                noeud.visiter();
+                this.plateau.jouerCoup(joueur, noeud.colonne);
+                this.coups[profondeur] = noeud.colonne;
+                this.chemin[++profondeur] = noeud;
+                joueur = joueur.adverse();
+            }
+
+            // Chaque noeud est crédité du point de vue du joueur qui y a mené
+            Couleur auteur = joueurRacine;
+            for (int i = 1; i <= profondeur; i++) {
+                this.chemin[i].crediter(gagnant == null ? 1 : gagnant == auteur ? 2 : 0);
+                auteur = auteur.adverse();
+            }
+            for (int i = profondeur - 1; i >= 0; i--) {
+                this.plateau.retirerJeton(this.coups[i]);
+            }
+        }
+
+        private Noeud selectionner(Noeud[] enfants, int visitesParent) {
+            double logParent = Math.log(Math.max(1, visitesParent));
+            Noeud meilleur = enfants[0];
+            double meilleureBorne = Double.NEGATIVE_INFINITY;
+            for (Noeud enfant : enfants) {
+                int visites = enfant.visites;
+                if (enfant.issue == Noeud.VICTOIRE || visites == 0) {
+                    return enfant;
+                }
+                double borne = enfant.gains / (2.0 * visites) + exploration * Math.sqrt(logParent / visites);
+                if (borne > meilleureBorne) {
+                    meilleureBorne = borne;
+                    meilleur = enfant;
+                }
+            }
+            return meilleur;
+        }
+
+        // Termine la partie au hasard depuis le plateau courant, puis le remet en place
+        private Couleur simuler(Couleur joueur, int profondeur) {
+            int nbColonnes = this.plateau.getNbColonnes();
+            int n = profondeur;
+            Couleur gagnant = null;
+            while (this.plateau.nombreCoups() < this.nbCases) {
+                int col = this.hasard.nextInt(nbColonnes);
+                while (this.plateau.isFullColonne(col)) {
+                    col = this.hasard.nextInt(nbColonnes);
+                }
+                if (this.plateau.estCoupGagnant(joueur, col)) {
+                    gagnant = joueur;
+                    break;
+                }
+                this.plateau.jouerCoup(joueur, col);
+                this.coups[n++] = col;
+                joueur = joueur.adverse();
+            }
+            for (int i = n - 1; i >= profondeur; i--) {
+                this.plateau.retirerJeton(this.coups[i]);
+            }
+            return gagnant;
+        }
+
+        // Fils d'une position, du centre vers les bords ; les coups gagnants et les nuls sont marqués
+        private Noeud[] fils(Couleur joueur) {
+            int nbColonnes = this.plateau.getNbColonnes();
+            int nbFils = 0;
+            for (int col = 0; col < nbColonnes; col++) {
+                if (!this.plateau.isFullColonne(col)) {
+                    nbFils++;
+                }
+            }
+            Noeud[] fils = new Noeud[nbFils];
+            boolean dernierCoup = this.plateau.nombreCoups() + 1 == this.nbCases;
+            int n = 0;
+            for (int i = 0; i < nbColonnes; i++) {
+                int col = nbColonnes / 2 + (1 - 2 * (i % 2)) * (i + 1) / 2;
+                if (!this.plateau.isFullColonne(col)) {
+                    byte issue = this.plateau.estCoupGagnant(joueur, col) ? Noeud.VICTOIRE
+                            : dernierCoup ? Noeud.NUL : Noeud.INCONNUE;
+                    fils[n++] = new Noeud(col, issue);
+                }
+            }
+            return fils;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package engine;
+
+import business.Couleur;
+import business.Grille;
+import business.Partie;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Résolution d'une position sur plusieurs coeurs, selon le principe « Lazy SMP ».
+ * <p>
+ * Chaque thread lance sa propre résolution complète, sur sa propre copie de la grille,
+ * mais tous partagent la même {@link TableTransposition} : ce qu'un thread a résolu
+ * profite immédiatement aux autres. Les threads commencent par des colonnes différentes
+ * à la racine pour ne pas explorer l'arbre dans le même ordre.
+ * Dès qu'un thread termine, son résultat est renvoyé et les autres sont arrêtés.
+ * </p>
+ * <p>
+ * Les threads sont créés une fois pour toutes ; il faut appeler {@link #close()}
+ * quand la recherche n'est plus utilisée.
+ * </p>
+ */
+public class RechercheParallele implements AutoCloseable {
+
+    private final TableTransposition table;
+    private final Solveur[] solveurs;
+    private final AtomicBoolean arret;
+    private final ExecutorService executeur;
+    private long nbNoeuds;
+
+    /**
+     * Construit une recherche utilisant tous les coeurs disponibles
+     * et une table de transposition de taille par défaut.
+     */
+    public RechercheParallele() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construit une recherche sur un nombre de threads donné,
+     * avec une table de transposition de taille par défaut.
+     *
+     * @param nbThreads le nombre de threads de recherche.
+     * @throws IllegalArgumentException si le nombre de threads n'est pas strictement positif.
+     */
+    public RechercheParallele(int nbThreads) {
+        this(nbThreads, new TableTransposition(Solveur.TAILLE_TABLE_DEFAUT, PolitiqueRemplacement.PROFONDEUR));
+    }
+
+    /**
+     * Construit une recherche sur un nombre de threads donné, partageant la table fournie.
+     *
+     * @param nbThreads le nombre de threads de recherche.
+     * @param table     la table de transposition partagée par tous les threads.
+     * @throws IllegalArgumentException si le nombre de threads n'est pas strictement positif
+     *                                  ou si la table est null.
+     */
+    public RechercheParallele(int nbThreads, TableTransposition table) {
+        if (nbThreads <= 0) {
+            throw new IllegalArgumentException("Nombre de threads invalide : " + nbThreads);
+        }
+        if (table == null) {
+            throw new IllegalArgumentException("La table de transposition ne peut pas être null");
+        }
+        this.table = table;
+        this.arret = new AtomicBoolean(false);
+        this.solveurs = new Solveur[nbThreads];
+        for (int i = 0; i < nbThreads; i++) {
+            this.solveurs[i] = new Solveur(table, this.arret);
+            this.solveurs[i].setDecalageRacine(i);
+        }
+        this.executeur = Executors.newFixedThreadPool(nbThreads, tache -> {
+            Thread thread = new Thread(tache, "recherche-parallele");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Résout la position courante d'une partie pour le joueur dont c'est le tour.
+     *
+     * @param partie la partie à analyser (elle n'est pas modifiée).
+     * @return la meilleure colonne et le score de la position.
+     * @throws IllegalArgumentException si la partie est null ou déjà terminée.
+     */
+    public Resultat resoudre(Partie partie) {
+        if (partie == null) {
+            throw new IllegalArgumentException("La partie ne peut pas être null");
+        }
+        if (partie.isPartieFinie()) {
+            throw new IllegalArgumentException("La partie est terminée");
+        }
+        return resoudre(partie.getGrille(), partie.getJoueurCourant().getNom());
+    }
+
+    /**
+     * Résout une position donnée pour le joueur indiqué, sur tous les threads.
+     * <p>
+     * La grille ne doit pas être modifiée pendant la résolution.
+     * </p>
+     *
+     * @param grille la grille à analyser (elle n'est pas modifiée).
+     * @param joueur la couleur du joueur au trait.
+     * @return la meilleure colonne et le score de la position.
+     * @throws IllegalArgumentException si un paramètre est null, si la grille n'est pas standard ou est pleine.
+     * @throws IllegalStateException    si un thread de recherche échoue ou si l'attente est interrompue.
+     */
+    public Resultat resoudre(Grille grille, Couleur joueur) {
+        Solveur.verifier(grille, joueur);
+        this.arret.set(false);
+        ExecutorCompletionService<Resultat> service = new ExecutorCompletionService<>(this.executeur);
+        for (Solveur solveur : this.solveurs) {
+            service.submit(() -> solveur.rechercher(grille, joueur));
+        }
+
+        Resultat resultat = null;
+        int nbTermines = 0;
+        try {
+            while (resultat == null && nbTermines < this.solveurs.length) {
+                Future<Resultat> termine = service.take();
+                nbTermines++;
+                resultat = termine.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recherche parallèle interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec d'un thread de recherche", e.getCause());
+        } finally {
+            // Les autres threads s'arrêtent ; on les attend, même en cas d'échec,
+            // pour qu'aucun ne tourne encore sur un solveur réutilisé par l'appel suivant
+            this.arret.set(true);
+            attendre(service, this.solveurs.length - nbTermines);
+        }
+
+        this.nbNoeuds = 0;
+        for (Solveur solveur : this.solveurs) {
+            this.nbNoeuds += solveur.getNombreNoeuds();
+        }
+        return resultat;
+    }
+
+    /**
+     * Mesure l'accélération apportée par les threads sur une position.
+     * <p>
+     * La position est résolue une fois avec un seul thread puis une fois avec tous les threads,
+     * en partant chaque fois d'une table de transposition vide. La table est donc vidée.
+     * </p>
+     *
+     * @param grille la grille à analyser (elle n'est pas modifiée).
+     * @param joueur la couleur du joueur au trait.
+     * @return les durées des deux résolutions et l'accélération obtenue.
+     * @throws IllegalArgumentException si un paramètre est null, si la grille n'est pas standard ou est pleine.
+     */
+    public MesureAcceleration mesurerAcceleration(Grille grille, Couleur joueur) {
+        Solveur.verifier(grille, joueur);
+        Solveur seul = new Solveur(this.table);
+
+        this.table.vider();
+        long debut = System.nanoTime();
+        seul.resoudre(grille, joueur);
+        long dureeMono = System.nanoTime() - debut;
+
+        this.table.vider();
+        debut = System.nanoTime();
+        resoudre(grille, joueur);
+        long dureeParallele = System.nanoTime() - debut;
+
+        return new MesureAcceleration(this.solveurs.length, dureeMono, dureeParallele,
+                seul.getNombreNoeuds(), this.nbNoeuds);
+    }
+
+    /**
+     * Récupère le nombre total de positions visitées par tous les threads lors de la dernière résolution.
+     *
+     * @return le nombre de noeuds explorés.
+     */
+    public long getNombreNoeuds() {
+        return nbNoeuds;
+    }
+
+    /**
+     * Récupère le nombre de threads de recherche.
+     *
+     * @return le nombre de threads.
+     */
+    public int getNbThreads() {
+        return solveurs.length;
+    }
+
+    /**
+     * Récupère la table de transposition partagée par les threads.
+     *
+     * @return la table de transposition.
+     */
+    public TableTransposition getTable() {
+        return table;
+    }
+
+    /**
+     * Arrête les threads de recherche.
+     */
+    @Override
+    public void close() {
+        this.arret.set(true);
+        this.executeur.shutdownNow();
+    }
+
+    /**
+     * Retourne une représentation textuelle de la recherche.
+     *
+     * @return une chaîne décrivant le nombre de threads et la table utilisée.
+     */
+    @Override
+    public String toString() {
+        return "RechercheParallele{threads=" + solveurs.length + ", table=" + table + "}";
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    // Une interruption n'abrège pas l'attente : arret est levé, les tâches finissent vite
+    private static void attendre(ExecutorCompletionService<Resultat> service, int nbRestants) {
+        boolean interrompu = false;
+        while (nbRestants > 0) {
+            try {
+                service.take();
+                nbRestants--;
+            } catch (InterruptedException e) {
+                interrompu = true;
+            }
+        }
+        if (interrompu) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package engine;
+
+import business.Grille;
+
+/**
+ * Représente le résultat de la résolution d'une position par le {@link Solveur}.
+ * <p>
+ * Le score est donné du point de vue du joueur au trait :
+ * positif s'il gagne, négatif s'il perd, nul en cas de match nul.
+ * Plus la victoire est rapide, plus le score est élevé : une victoire
+ * avec le dernier jeton possible vaut 1.
+ * </p>
+ * <p>
+ * Un résultat issu d'une recherche limitée en temps peut ne pas être exact :
+ * un score de 0 signifie alors seulement qu'aucune issue n'a été trouvée dans l'horizon exploré.
+ * </p>
+ */
+public class Resultat {
+
+    private static final int NB_CASES = Grille.NB_LIGNES * Grille.NB_COLONNES;
+
+    private final int colonne;
+    private final int score;
+    private final int nbCoups;
+    private final boolean exact;
+
+    /**
+     * Construit un résultat exact de résolution.
+     *
+     * @param colonne la meilleure colonne à jouer.
+     * @param score   le score de la position pour le joueur au trait.
+     * @param nbCoups le nombre de jetons déjà présents dans la grille résolue.
+     */
+    public Resultat(int colonne, int score, int nbCoups) {
+        this(colonne, score, nbCoups, true);
+    }
+
+    /**
+     * Construit un résultat de recherche, exact ou non.
+     *
+     * @param colonne la meilleure colonne à jouer.
+     * @param score   le score de la position pour le joueur au trait.
+     * @param nbCoups le nombre de jetons déjà présents dans la grille analysée.
+     * @param exact   true si le score est prouvé, false s'il dépend de l'horizon de recherche.
+     */
+    public Resultat(int colonne, int score, int nbCoups, boolean exact) {
+        this.colonne = colonne;
+        this.score = score;
+        this.nbCoups = nbCoups;
+        this.exact = exact;
+    }
+
+    /**
+     * Récupère la meilleure colonne à jouer.
+     *
+     * @return l'indice de la colonne.
+     */
+    public int getColonne() {
+        return colonne;
+    }
+
+    /**
+     * Récupère le score de la position pour le joueur au trait.
+     *
+     * @return le score (positif : victoire, négatif : défaite, 0 : match nul).
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Indique si le score est prouvé, c'est-à-dire obtenu en analysant jusqu'à la fin de la partie.
+     *
+     * @return true si le score est exact.
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * Indique si le joueur au trait gagne en jouant parfaitement.
+     *
+     * @return true si la position est gagnante.
+     */
+    public boolean isVictoire() {
+        return score > 0;
+    }
+
+    /**
+     * Indique si le joueur au trait perd contre un adversaire parfait.
+     *
+     * @return true si la position est perdante.
+     */
+    public boolean isDefaite() {
+        return score < 0;
+    }
+
+    /**
+     * Indique si la position mène à un match nul avec un jeu parfait des deux côtés.
+     *
+     * @return true si la position est prouvée nulle.
+     */
+    public boolean isNul() {
+        return exact && score == 0;
+    }
+
+    /**
+     * Calcule le nombre de coups (des deux joueurs) restant avant la fin de la partie
+     * avec un jeu parfait, coup final compris.
+     *
+     * @return la distance en demi-coups jusqu'à la victoire, la défaite ou la grille pleine
+     * (pour un résultat non exact de score 0, la distance jusqu'à la grille pleine).
+     */
+    public int getDistance() {
+        if (score > 0) {
+            return coupFinal(score, nbCoups) - nbCoups + 1;
+        }
+        if (score < 0) {
+            return coupFinal(-score, nbCoups + 1) - nbCoups + 1;
+        }
+        return NB_CASES - nbCoups;
+    }
+
+    /**
+     * Retourne une représentation textuelle du résultat.
+     *
+     * @return une chaîne décrivant le résultat (ex: "Resultat{colonne=3, score=2, distance=7}").
+     */
+    @Override
+    public String toString() {
+        return "Resultat{colonne=" + colonne + ", score=" + score + ", exact=" + exact
+                + ", distance=" + getDistance() + "}";
+    }
+
+    /*
+     * Un score s correspond à un coup gagnant joué alors que n jetons sont déjà posés,
+     * avec s = (NB_CASES + 1 - n) / 2. On retrouve n à partir de sa parité,
+     * qui est celle des coups du gagnant.
+     */
+    private static int coupFinal(int s, int parite) {
+        int n = NB_CASES - 2 * s;
+        if (Math.floorMod(n - parite, 2) != 0) {
+            n++;
+        }
+        return n;
+    }
+}
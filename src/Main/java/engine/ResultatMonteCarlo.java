@@ -0,0 +1,115 @@
+package engine;
+
+/**
+ * Résultat d'une recherche de {@link RechercheMonteCarlo}.
+ * <p>
+ * La valeur est le taux de gain estimé du coup choisi pour le joueur au trait
+ * (1 par victoire, 1/2 par nul) : contrairement au score du {@link Solveur},
+ * ce n'est jamais une preuve, seulement une moyenne sur les simulations.
+ * </p>
+ */
+public class ResultatMonteCarlo {
+
+    private final int colonne;
+    private final double valeur;
+    private final long simulations;
+    private final long simulationsReprises;
+    private final long dureeNs;
+    private final int nbThreads;
+
+    /**
+     * Construit le résultat d'une recherche.
+     *
+     * @param colonne             la colonne choisie.
+     * @param valeur              le taux de gain estimé de la colonne choisie, entre 0 et 1.
+     * @param simulations         le nombre de simulations jouées pendant la recherche.
+     * @param simulationsReprises le nombre de simulations héritées de la recherche précédente.
+     * @param dureeNs             la durée de la recherche, en nanosecondes.
+     * @param nbThreads           le nombre de threads de la recherche.
+     */
+    public ResultatMonteCarlo(int colonne, double valeur, long simulations, long simulationsReprises,
+                              long dureeNs, int nbThreads) {
+        this.colonne = colonne;
+        this.valeur = valeur;
+        this.simulations = simulations;
+        this.simulationsReprises = simulationsReprises;
+        this.dureeNs = dureeNs;
+        this.nbThreads = nbThreads;
+    }
+
+    /**
+     * Récupère la colonne choisie : le fils de la racine le plus visité.
+     *
+     * @return l'indice de la colonne.
+     */
+    public int getColonne() {
+        return colonne;
+    }
+
+    /**
+     * Récupère le taux de gain estimé de la colonne choisie pour le joueur au trait.
+     *
+     * @return la valeur entre 0 (défaite assurée) et 1 (victoire assurée).
+     */
+    public double getValeur() {
+        return valeur;
+    }
+
+    /**
+     * Récupère le nombre de simulations jouées pendant la recherche.
+     *
+     * @return le nombre de simulations.
+     */
+    public long getSimulations() {
+        return simulations;
+    }
+
+    /**
+     * Récupère le nombre de simulations héritées de l'arbre de la recherche précédente.
+     *
+     * @return le nombre de visites de la racine avant la recherche.
+     */
+    public long getSimulationsReprises() {
+        return simulationsReprises;
+    }
+
+    /**
+     * Récupère la durée de la recherche.
+     *
+     * @return la durée en nanosecondes.
+     */
+    public long getDureeNs() {
+        return dureeNs;
+    }
+
+    /**
+     * Récupère le nombre de threads de la recherche.
+     *
+     * @return le nombre de threads.
+     */
+    public int getNbThreads() {
+        return nbThreads;
+    }
+
+    /**
+     * Calcule le débit de la recherche, tous threads confondus.
+     *
+     * @return le nombre de simulations par seconde.
+     */
+    public double getSimulationsParSeconde() {
+        return simulations * 1e9 / Math.max(1L, dureeNs);
+    }
+
+    /**
+     * Retourne une représentation textuelle du résultat.
+     *
+     * @return une chaîne décrivant le coup, sa valeur et le débit de la recherche.
+     */
+    @Override
+    public String toString() {
+        return String.format("ResultatMonteCarlo{colonne=%d, valeur=%.3f, simulations=%d, reprises=%d, "
+                        + "duree=%.1f ms, threads=%d, simulationsParSeconde=%.0f}",
+                colonne, valeur, simulations, simulationsReprises, dureeNs / 1e6, nbThreads,
+                getSimulationsParSeconde());
+    }
+}
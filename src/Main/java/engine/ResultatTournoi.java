@@ -0,0 +1,206 @@
+package engine;
+
+/**
+ * Bilan d'un {@link Tournoi}, du point de vue de la première stratégie (A) contre la seconde (B).
+ * <p>
+ * Les intervalles de confiance sont à 95 % et supposent les parties indépendantes, ce que
+ * garantit le générateur propre à chaque partie. Le score compte 1 par victoire et 1/2 par nul.
+ * </p>
+ */
+public class ResultatTournoi {
+
+    // Quantile de la loi normale pour un intervalle de confiance à 95 %
+    private static final double Z_95 = 1.96;
+
+    private final int nbParties;
+    private final int victoires;
+    private final int nuls;
+    private final int defaites;
+    private final long nbCoups;
+    private final long dureeNs;
+
+    /**
+     * Construit le bilan d'un tournoi.
+     *
+     * @param victoires le nombre de parties gagnées par A.
+     * @param nuls      le nombre de matchs nuls.
+     * @param defaites  le nombre de parties gagnées par B.
+     * @param nbCoups   le nombre total de coups joués.
+     * @param dureeNs   la durée du tournoi, en nanosecondes.
+     */
+    public ResultatTournoi(int victoires, int nuls, int defaites, long nbCoups, long dureeNs) {
+        this.nbParties = victoires + nuls + defaites;
+        this.victoires = victoires;
+        this.nuls = nuls;
+        this.defaites = defaites;
+        this.nbCoups = nbCoups;
+        this.dureeNs = dureeNs;
+    }
+
+    /**
+     * Récupère le nombre de parties jouées.
+     *
+     * @return le nombre de parties.
+     */
+    public int getNbParties() {
+        return nbParties;
+    }
+
+    /**
+     * Récupère le nombre de parties gagnées par A.
+     *
+     * @return le nombre de victoires.
+     */
+    public int getVictoires() {
+        return victoires;
+    }
+
+    /**
+     * Récupère le nombre de matchs nuls.
+     *
+     * @return le nombre de nuls.
+     */
+    public int getNuls() {
+        return nuls;
+    }
+
+    /**
+     * Récupère le nombre de parties gagnées par B.
+     *
+     * @return le nombre de défaites de A.
+     */
+    public int getDefaites() {
+        return defaites;
+    }
+
+    /**
+     * Récupère le nombre total de coups joués.
+     *
+     * @return le nombre de coups de toutes les parties.
+     */
+    public long getNbCoups() {
+        return nbCoups;
+    }
+
+    /**
+     * Récupère la durée du tournoi.
+     *
+     * @return la durée en nanosecondes.
+     */
+    public long getDureeNs() {
+        return dureeNs;
+    }
+
+    /**
+     * Calcule la proportion de parties gagnées par A.
+     *
+     * @return le taux de victoires entre 0 et 1.
+     */
+    public double getTauxVictoires() {
+        return taux(victoires);
+    }
+
+    /**
+     * Calcule la proportion de matchs nuls.
+     *
+     * @return le taux de nuls entre 0 et 1.
+     */
+    public double getTauxNuls() {
+        return taux(nuls);
+    }
+
+    /**
+     * Calcule la proportion de parties perdues par A.
+     *
+     * @return le taux de défaites entre 0 et 1.
+     */
+    public double getTauxDefaites() {
+        return taux(defaites);
+    }
+
+    /**
+     * Calcule la demi-largeur de l'intervalle de confiance d'un taux mesuré sur ce tournoi.
+     *
+     * @param taux un taux de victoires, de nuls ou de défaites.
+     * @return la marge d'erreur à 95 %, à ajouter et retrancher au taux.
+     */
+    public double getMargeTaux(double taux) {
+        return nbParties == 0 ? 0 : Z_95 * Math.sqrt(taux * (1 - taux) / nbParties);
+    }
+
+    /**
+     * Calcule le score moyen de A.
+     *
+     * @return le score entre 0 et 1, 1/2 si A et B sont de même force.
+     */
+    public double getScore() {
+        return nbParties == 0 ? 0.5 : (victoires + 0.5 * nuls) / nbParties;
+    }
+
+    /**
+     * Calcule la demi-largeur de l'intervalle de confiance du score.
+     *
+     * @return la marge d'erreur à 95 % du score.
+     */
+    public double getMargeScore() {
+        if (nbParties == 0) {
+            return 0;
+        }
+        double score = getScore();
+        // Variance d'une partie qui vaut 1, 1/2 ou 0
+        double variance = (victoires + 0.25 * nuls) / nbParties - score * score;
+        return Z_95 * Math.sqrt(Math.max(0, variance) / nbParties);
+    }
+
+    /**
+     * Convertit le score en écart de classement Elo entre A et B.
+     *
+     * @return l'écart Elo, positif si A est plus fort ; infini si A ou B a gagné toutes les parties.
+     */
+    public double getEcartElo() {
+        return elo(getScore());
+    }
+
+    /**
+     * Calcule le nombre de parties jouées par seconde, tous threads confondus.
+     *
+     * @return le débit du tournoi.
+     */
+    public double getPartiesParSeconde() {
+        return nbParties * 1e9 / Math.max(1L, dureeNs);
+    }
+
+    /**
+     * Retourne une représentation textuelle du bilan.
+     *
+     * @return une chaîne décrivant les taux avec leur marge, le score, l'écart Elo et le débit.
+     */
+    @Override
+    public String toString() {
+        double score = getScore();
+        double marge = getMargeScore();
+        return String.format("ResultatTournoi{parties=%d, victoires=%.1f%% +/-%.1f, nuls=%.1f%% +/-%.1f, defaites=%.1f%% +/-%.1f, "
+                        + "score=%.3f +/-%.3f, elo=%+.0f [%+.0f, %+.0f], coupsParPartie=%.1f, partiesParSeconde=%.0f}",
+                nbParties, 100 * getTauxVictoires(), 100 * getMargeTaux(getTauxVictoires()),
+                100 * getTauxNuls(), 100 * getMargeTaux(getTauxNuls()),
+                100 * getTauxDefaites(), 100 * getMargeTaux(getTauxDefaites()),
+                score, marge, elo(score), elo(score - marge), elo(score + marge),
+                nbParties == 0 ? 0.0 : (double) nbCoups / nbParties, getPartiesParSeconde());
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    private double taux(int n) {
+        return nbParties == 0 ? 0 : (double) n / nbParties;
+    }
+
+    private static double elo(double score) {
+        if (score <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (score >= 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return 400 * Math.log10(score / (1 - score));
+    }
+}
@@ -0,0 +1,672 @@
+package engine;
+
+import business.Couleur;
+import business.Grille;
+import business.Partie;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Solveur du Puissance 4.
+ * <p>
+ * Cherche le meilleur coup d'une position par un negamax avec élagage alpha-beta,
+ * soit jusqu'à la fin de la partie ({@link #resoudre(Grille, Couleur)}),
+ * soit par approfondissement itératif dans un temps ou un nombre de positions limité
+ * ({@link #meilleurCoup(Grille, Couleur, long, long)}).
+ * La recherche travaille sur une copie de la grille et enchaîne les opérations rapides
+ * {@link Grille#jouerCoup(Couleur, int)} / {@link Grille#retirerJeton(int)},
+ * sans passer par le contrôleur {@link business.Puissance4}.
+ * </p>
+ * <p>
+ * Les positions déjà résolues sont mémorisées dans une {@link TableTransposition},
+ * conservée d'une résolution à l'autre. Le meilleur coup retenu par la table est exploré en premier,
+ * puis les autres selon l'{@link OrdreCoups} choisi. Quand la position de départ le permet
+ * ({@link Grille#isCompatibleMiroir()}), une position et sa symétrique gauche-droite partagent
+ * leur entrée, sous la {@link Grille#cleCanonique(Couleur) clé canonique}. Un {@link LivreOuvertures}
+ * peut enfin fournir directement le résultat des positions du début de partie.
+ * </p>
+ * <p>
+ * Quand la recherche est limitée ({@link #meilleurCoup(Grille, Couleur, long, long)}), les positions
+ * de l'horizon sont notées par une {@link Evaluation} tenue à jour à chaque coup, ce qui départage
+ * les coups dont l'issue n'est pas encore connue. Les scores de fin de partie sont décalés
+ * au-dessus de toutes les notes possibles, si bien qu'une victoire forcée l'emporte toujours ;
+ * les uns et les autres tiennent dans l'octet de score de la table de transposition.
+ * </p>
+ * <p>
+ * Un solveur n'est pas partagé entre threads : pour une recherche sur plusieurs coeurs,
+ * voir {@link RechercheParallele}.
+ * </p>
+ */
+public class Solveur {
+
+    private static final int NB_CASES = Grille.NB_LIGNES * Grille.NB_COLONNES;
+
+    /**
+     * Taille par défaut de la table de transposition : 64 Mo.
+     */
+    public static final long TAILLE_TABLE_DEFAUT = 64L * 1024 * 1024;
+
+    /**
+     * Décalage des scores de fin de partie dans la recherche : une victoire y vaut ce décalage plus
+     * son score de {@link Resultat}, les notes de l'horizon restant strictement entre les deux décalages.
+     */
+    private static final int ECHELLE_VICTOIRE = 64;
+
+    /**
+     * Borne des scores de la recherche : victoire avec le premier jeton, plus un.
+     */
+    private static final int SCORE_MAX = ECHELLE_VICTOIRE + NB_CASES / 2 + 1;
+
+    /**
+     * Nombre de noeuds entre deux consultations de la demande d'interruption.
+     */
+    private static final int INTERVALLE_ARRET = 1024;
+
+    /**
+     * Au-delà de cette valeur, l'historique des coupures est divisé par deux.
+     */
+    private static final int HISTORIQUE_MAX = 1 << 24;
+
+    /**
+     * Ordre d'exploration des colonnes : du centre vers les bords.
+     */
+    private static final int[] ORDRE_COLONNES = new int[Grille.NB_COLONNES];
+
+    static {
+        for (int i = 0; i < Grille.NB_COLONNES; i++) {
+            ORDRE_COLONNES[i] = Grille.NB_COLONNES / 2 + (1 - 2 * (i % 2)) * (i + 1) / 2;
+        }
+    }
+
+    private final TableTransposition table;
+    private final int[][] ordres;
+    private final int[][] notes;
+    private final int[][] killers;
+    private final int[][] historique;
+    private final AtomicBoolean arret;
+    private final Evaluation evaluation;
+    private Grille grille;
+    private boolean evaluer;
+    private boolean symetrie;
+    private OrdreCoups ordreCoups;
+    private long nbNoeuds;
+    private long nbCoupures;
+    private long nbCoupuresPremierCoup;
+    private boolean interrompu;
+    private long echeanceNs;
+    private long budgetNoeuds;
+    private int decalageRacine;
+    private StatistiquesRecherche statistiques;
+    private LivreOuvertures livre;
+
+    /**
+     * Construit un solveur avec une table de transposition de taille par défaut.
+     */
+    public Solveur() {
+        this(new TableTransposition(TAILLE_TABLE_DEFAUT, PolitiqueRemplacement.PROFONDEUR));
+    }
+
+    /**
+     * Construit un solveur utilisant la table de transposition donnée.
+     *
+     * @param table la table où mémoriser les positions résolues.
+     * @throws IllegalArgumentException si la table est null.
+     */
+    public Solveur(TableTransposition table) {
+        this(table, new AtomicBoolean(false));
+    }
+
+    /*
+     * Solveur dont la demande d'interruption est partagée avec d'autres solveurs,
+     * pour arrêter d'un coup tous les threads d'une recherche parallèle.
+     */
+    Solveur(TableTransposition table, AtomicBoolean arret) {
+        if (table == null) {
+            throw new IllegalArgumentException("La table de transposition ne peut pas être null");
+        }
+        this.table = table;
+        this.ordres = new int[NB_CASES + 1][Grille.NB_COLONNES];
+        this.notes = new int[NB_CASES + 1][Grille.NB_COLONNES];
+        this.killers = new int[NB_CASES + 1][2];
+        this.historique = new int[Couleur.values().length][Grille.NB_COLONNES];
+        this.arret = arret;
+        this.evaluation = new Evaluation(new Grille());
+        this.ordreCoups = OrdreCoups.MENACES;
+    }
+
+    /**
+     * Résout la position courante d'une partie pour le joueur dont c'est le tour.
+     *
+     * @param partie la partie à analyser (elle n'est pas modifiée).
+     * @return la meilleure colonne et le score de la position.
+     * @throws IllegalArgumentException si la partie est null ou déjà terminée.
+     */
+    public Resultat resoudre(Partie partie) {
+        if (partie == null) {
+            throw new IllegalArgumentException("La partie ne peut pas être null");
+        }
+        if (partie.isPartieFinie()) {
+            throw new IllegalArgumentException("La partie est terminée");
+        }
+        return resoudre(partie.getGrille(), partie.getJoueurCourant().getNom());
+    }
+
+    /**
+     * Résout une position donnée pour le joueur indiqué.
+     * <p>
+     * La grille ne doit pas déjà contenir d'alignement de 4.
+     * </p>
+     *
+     * @param grille  la grille à analyser (elle n'est pas modifiée).
+     * @param joueur  la couleur du joueur au trait.
+     * @return la meilleure colonne et le score de la position,
+     * ou null si la recherche a été interrompue par {@link #interrompre()}.
+     * @throws IllegalArgumentException si un paramètre est null, si la grille n'est pas standard ou est pleine.
+     */
+    public Resultat resoudre(Grille grille, Couleur joueur) {
+        verifier(grille, joueur);
+        this.arret.set(false);
+        return rechercher(grille, joueur);
+    }
+
+    /**
+     * Cherche le meilleur coup d'une partie dans un temps limité.
+     *
+     * @param partie     la partie à analyser (elle n'est pas modifiée).
+     * @param delaiMillis le temps de réflexion maximal en millisecondes, ou 0 pour ne pas limiter le temps.
+     * @return le meilleur coup trouvé avant l'échéance.
+     * @throws IllegalArgumentException si la partie est null ou déjà terminée.
+     */
+    public Resultat meilleurCoup(Partie partie, long delaiMillis) {
+        if (partie == null) {
+            throw new IllegalArgumentException("La partie ne peut pas être null");
+        }
+        if (partie.isPartieFinie()) {
+            throw new IllegalArgumentException("La partie est terminée");
+        }
+        return meilleurCoup(partie.getGrille(), partie.getJoueurCourant().getNom(), delaiMillis, 0);
+    }
+
+    /**
+     * Cherche le meilleur coup d'une position par approfondissement itératif.
+     * <p>
+     * La position est analysée à 1 coup, puis 2, puis 3... jusqu'à la fin de la partie
+     * ou jusqu'à ce que le temps ou le budget de positions soit épuisé. Le résultat de la
+     * dernière profondeur terminée est alors renvoyé : il est exact si la recherche a pu
+     * aller jusqu'au bout ou a trouvé une victoire forcée ; sinon un score de 0 signifie
+     * seulement qu'aucune issue n'a été trouvée dans l'horizon exploré.
+     * </p>
+     *
+     * @param grille       la grille à analyser (elle n'est pas modifiée).
+     * @param joueur       la couleur du joueur au trait.
+     * @param delaiMillis  le temps de réflexion maximal en millisecondes, ou 0 pour ne pas limiter le temps.
+     * @param budgetNoeuds le nombre maximal de positions à visiter, ou 0 pour ne pas le limiter.
+     * @return le meilleur coup trouvé ; jamais null, un coup légal est toujours proposé.
+     * @throws IllegalArgumentException si un paramètre est null ou négatif, si la grille n'est pas standard ou est pleine.
+     */
+    public Resultat meilleurCoup(Grille grille, Couleur joueur, long delaiMillis, long budgetNoeuds) {
+        verifier(grille, joueur);
+        if (delaiMillis < 0 || budgetNoeuds < 0) {
+            throw new IllegalArgumentException("Le délai et le budget ne peuvent pas être négatifs");
+        }
+        this.arret.set(false);
+        long debut = System.nanoTime();
+        preparer(grille, delaiMillis == 0 ? Long.MAX_VALUE : debut + delaiMillis * 1_000_000L,
+                budgetNoeuds == 0 ? Long.MAX_VALUE : budgetNoeuds, true);
+        int n = this.grille.nombreCoups();
+
+        Resultat resultat = victoireImmediate(joueur);
+        if (resultat == null) {
+            resultat = consulterLivre(joueur);
+        }
+        int profondeur = 1;
+        if (resultat == null) {
+            int colonne = premiereColonneJouable();
+            int profondeurMax = NB_CASES - n;
+            for (int p = 1; p <= profondeurMax; p++) {
+                Resultat iteration = racine(joueur, p, colonne);
+                if (iteration == null) {
+                    break;
+                }
+                resultat = iteration;
+                profondeur = p;
+                colonne = iteration.getColonne();
+                // Un score non nul vient toujours d'une fin de partie forcée dans l'horizon
+                if (iteration.getScore() != 0 || p == profondeurMax) {
+                    resultat = new Resultat(colonne, iteration.getScore(), n, true);
+                    break;
+                }
+            }
+            if (resultat == null) {
+                resultat = new Resultat(colonne, 0, n, false);
+            }
+        }
+        terminer(debut, profondeur, resultat.isExact());
+        return resultat;
+    }
+
+    /**
+     * Choisit l'ordre dans lequel les coups sont explorés.
+     * <p>
+     * L'ordre ne change pas le résultat, seulement le nombre de positions visitées :
+     * comparer les {@link #getStatistiques() statistiques} obtenues avec chaque ordre
+     * permet de mesurer le gain d'élagage qu'il apporte.
+     * </p>
+     *
+     * @param ordreCoups l'ordre des coups ({@link OrdreCoups#MENACES} par défaut).
+     * @throws IllegalArgumentException si l'ordre est null.
+     */
+    public void setOrdreCoups(OrdreCoups ordreCoups) {
+        if (ordreCoups == null) {
+            throw new IllegalArgumentException("L'ordre des coups ne peut pas être null");
+        }
+        this.ordreCoups = ordreCoups;
+    }
+
+    /**
+     * Récupère l'ordre dans lequel les coups sont explorés.
+     *
+     * @return l'ordre des coups.
+     */
+    public OrdreCoups getOrdreCoups() {
+        return ordreCoups;
+    }
+
+    /**
+     * Choisit le livre d'ouvertures consulté avant toute recherche.
+     * <p>
+     * Une position du livre est résolue sans visiter aucune position : son résultat exact est
+     * renvoyé tel quel par {@link #resoudre(Grille, Couleur)} et {@link #meilleurCoup(Grille, Couleur, long, long)}.
+     * </p>
+     *
+     * @param livre le livre d'ouvertures, ou null pour ne pas en utiliser (par défaut).
+     */
+    public void setLivre(LivreOuvertures livre) {
+        this.livre = livre;
+    }
+
+    /**
+     * Récupère le livre d'ouvertures consulté avant toute recherche.
+     *
+     * @return le livre, ou null si le solveur n'en utilise pas.
+     */
+    public LivreOuvertures getLivre() {
+        return livre;
+    }
+
+    /**
+     * Récupère les statistiques de la dernière recherche.
+     *
+     * @return les statistiques, ou null si aucune recherche n'a encore été lancée.
+     */
+    public StatistiquesRecherche getStatistiques() {
+        return statistiques;
+    }
+
+    /**
+     * Demande l'arrêt de la résolution en cours.
+     * <p>
+     * Peut être appelée depuis un autre thread ; la résolution s'arrête
+     * au plus quelques milliers de positions plus tard et renvoie null.
+     * </p>
+     */
+    public void interrompre() {
+        this.arret.set(true);
+    }
+
+    /*
+     * Contrôles communs aux points d'entrée du solveur et de la recherche parallèle.
+     */
+    static void verifier(Grille grille, Couleur joueur) {
+        if (grille == null || joueur == null) {
+            throw new IllegalArgumentException("La grille et le joueur ne peuvent pas être null");
+        }
+        if (!grille.isStandard()) {
+            throw new IllegalArgumentException("Le solveur ne traite que la grille standard : " + grille);
+        }
+        if (grille.isFullGrille()) {
+            throw new IllegalArgumentException("La grille est pleine");
+        }
+    }
+
+    /*
+     * Décale l'ordre des coups à la racine : chaque thread d'une recherche parallèle
+     * commence par une colonne différente.
+     */
+    void setDecalageRacine(int decalageRacine) {
+        this.decalageRacine = decalageRacine;
+    }
+
+    /*
+     * Résolution sans remise à zéro de la demande d'interruption, qui peut être partagée.
+     */
+    Resultat rechercher(Grille grille, Couleur joueur) {
+        long debut = System.nanoTime();
+        preparer(grille, Long.MAX_VALUE, Long.MAX_VALUE, false);
+        int n = this.grille.nombreCoups();
+
+        Resultat resultat = victoireImmediate(joueur);
+        if (resultat == null) {
+            resultat = consulterLivre(joueur);
+        }
+        if (resultat == null) {
+            resultat = racine(joueur, NB_CASES - n, TableTransposition.AUCUN_COUP);
+        }
+        terminer(debut, NB_CASES - n, resultat != null);
+        return resultat;
+    }
+
+    /**
+     * Récupère la table de transposition utilisée par ce solveur.
+     *
+     * @return la table de transposition.
+     */
+    public TableTransposition getTable() {
+        return table;
+    }
+
+    /**
+     * Récupère le nombre de positions visitées lors de la dernière résolution.
+     *
+     * @return le nombre de noeuds explorés.
+     */
+    public long getNombreNoeuds() {
+        return nbNoeuds;
+    }
+
+    // L'évaluation n'est tenue à jour que si la recherche peut s'arrêter avant la fin de la partie
+    private void preparer(Grille grille, long echeanceNs, long budgetNoeuds, boolean evaluer) {
+        this.grille = new Grille(grille);
+        this.evaluer = evaluer;
+        this.symetrie = this.grille.isCompatibleMiroir();
+        if (evaluer) {
+            this.evaluation.recalculer(this.grille);
+        }
+        this.echeanceNs = echeanceNs;
+        this.budgetNoeuds = budgetNoeuds;
+        this.nbNoeuds = 0;
+        this.nbCoupures = 0;
+        this.nbCoupuresPremierCoup = 0;
+        this.interrompu = false;
+        for (int[] k : this.killers) {
+            k[0] = TableTransposition.AUCUN_COUP;
+            k[1] = TableTransposition.AUCUN_COUP;
+        }
+        for (int[] h : this.historique) {
+            Arrays.fill(h, 0);
+        }
+    }
+
+    private void terminer(long debut, int profondeur, boolean resolue) {
+        this.statistiques = new StatistiquesRecherche(this.nbNoeuds, System.nanoTime() - debut,
+                profondeur, resolue, this.nbCoupures, this.nbCoupuresPremierCoup);
+    }
+
+    private Resultat consulterLivre(Couleur joueur) {
+        return this.livre == null ? null : this.livre.chercher(this.grille, joueur);
+    }
+
+    private Resultat victoireImmediate(Couleur joueur) {
+        int n = this.grille.nombreCoups();
+        for (int col : ORDRE_COLONNES) {
+            if (this.grille.estCoupGagnant(joueur, col)) {
+                return new Resultat(col, (NB_CASES + 1 - n) / 2, n);
+            }
+        }
+        return null;
+    }
+
+    private int premiereColonneJouable() {
+        for (int col : ORDRE_COLONNES) {
+            if (!this.grille.isFullColonne(col)) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Explore tous les coups de la racine à la profondeur donnée, en commençant par
+     * la colonne indiquée puis selon l'ordre décalé de la racine.
+     * Renvoie null si la recherche a été interrompue.
+     */
+    private Resultat racine(Couleur joueur, int profondeur, int premiereColonne) {
+        int n = this.grille.nombreCoups();
+        int alpha = -SCORE_MAX;
+        int beta = SCORE_MAX;
+        int meilleureColonne = -1;
+        for (int i = -1; i < Grille.NB_COLONNES; i++) {
+            int col;
+            if (i < 0) {
+                col = premiereColonne;
+            } else {
+                col = ORDRE_COLONNES[(i + decalageRacine) % Grille.NB_COLONNES];
+                if (col == premiereColonne) {
+                    continue;
+                }
+            }
+            if (col == TableTransposition.AUCUN_COUP || !jouer(joueur, col)) {
+                continue;
+            }
+            int score = -negamax(joueur.adverse(), -beta, -alpha, profondeur - 1);
+            retirer(joueur, col);
+            if (this.interrompu) {
+                return null;
+            }
+            if (score > alpha) {
+                alpha = score;
+                meilleureColonne = col;
+            }
+        }
+        return new Resultat(meilleureColonne, versResultat(alpha), n, profondeur >= NB_CASES - n);
+    }
+
+    /*
+     * Score de la position pour le joueur au trait, ou une borne si le score sort de la
+     * fenêtre ]alpha, beta[. La position ne contient pas encore d'alignement.
+     * À profondeur 0 la position est notée par l'évaluation (ou 0 pendant une résolution complète) :
+     * aucune issue n'est connue dans l'horizon.
+     * Après une interruption, la valeur renvoyée n'a pas de sens et rien n'est enregistré.
+     */
+    private int negamax(Couleur joueur, int alpha, int beta, int profondeur) {
+        this.nbNoeuds++;
+        if (this.nbNoeuds % INTERVALLE_ARRET == 0 && doitArreter()) {
+            this.interrompu = true;
+        }
+        if (this.interrompu) {
+            return 0;
+        }
+        int n = this.grille.nombreCoups();
+        if (n == NB_CASES) {
+            return 0;
+        }
+        for (int col = 0; col < Grille.NB_COLONNES; col++) {
+            if (this.grille.estCoupGagnant(joueur, col)) {
+                return ECHELLE_VICTOIRE + (NB_CASES + 1 - n) / 2;
+            }
+        }
+        if (profondeur == 0) {
+            return this.evaluer ? noteHorizon(joueur) : 0;
+        }
+        // Si la recherche peut croiser des positions symétriques, une position et son reflet partagent
+        // une entrée, dont le coup est noté dans la grille canonique
+        long cle = this.grille.cle(joueur);
+        boolean miroir = false;
+        if (this.symetrie) {
+            long cleMiroir = this.grille.cleMiroir(joueur);
+            miroir = cleMiroir < cle;
+            if (miroir) {
+                cle = cleMiroir;
+            }
+        }
+        int coupTable = TableTransposition.AUCUN_COUP;
+        long entree = this.table.lire(cle);
+        if (entree != TableTransposition.ABSENTE) {
+            coupTable = coupCanonique(TableTransposition.coup(entree), miroir);
+            if (TableTransposition.profondeur(entree) >= profondeur) {
+                int score = TableTransposition.score(entree);
+                int borne = TableTransposition.borne(entree);
+                if (borne == TableTransposition.EXACTE) {
+                    return score;
+                }
+                if (borne == TableTransposition.INFERIEURE && score > alpha) {
+                    alpha = score;
+                } else if (borne == TableTransposition.SUPERIEURE && score < beta) {
+                    beta = score;
+                }
+                if (alpha >= beta) {
+                    return score;
+                }
+            }
+        }
+        // Sans victoire immédiate, le meilleur score possible est de gagner au coup suivant ; s'il ne reste
+        // qu'une case, c'est le nul
+        int victoireMax = (NB_CASES - 1 - n) / 2;
+        int max = victoireMax == 0 ? 0 : ECHELLE_VICTOIRE + victoireMax;
+        if (beta > max) {
+            beta = max;
+            if (alpha >= beta) {
+                return beta;
+            }
+        }
+
+        int alphaInitial = alpha;
+        int meilleurCoup = TableTransposition.AUCUN_COUP;
+        int nbCoups = ordonner(n, coupTable, joueur);
+        int[] ordre = this.ordres[n];
+        Couleur adversaire = joueur.adverse();
+        for (int i = 0; i < nbCoups; i++) {
+            int col = ordre[i];
+            jouer(joueur, col);
+            int score = -negamax(adversaire, -beta, -alpha, profondeur - 1);
+            retirer(joueur, col);
+            if (this.interrompu) {
+                return 0;
+            }
+            if (score >= beta) {
+                noterCoupure(n, col, joueur, profondeur, i);
+                this.table.enregistrer(cle, score, TableTransposition.INFERIEURE, profondeur, coupCanonique(col, miroir));
+                return score;
+            }
+            if (score > alpha) {
+                alpha = score;
+                meilleurCoup = col;
+            }
+        }
+        int borne = alpha > alphaInitial ? TableTransposition.EXACTE : TableTransposition.SUPERIEURE;
+        this.table.enregistrer(cle, alpha, borne, profondeur, coupCanonique(meilleurCoup, miroir));
+        return alpha;
+    }
+
+    private boolean jouer(Couleur joueur, int col) {
+        int ligne = this.grille.jouerCoup(joueur, col);
+        if (ligne < 0) {
+            return false;
+        }
+        if (this.evaluer) {
+            this.evaluation.poser(joueur, ligne, col);
+        }
+        return true;
+    }
+
+    private void retirer(Couleur joueur, int col) {
+        int ligne = this.grille.retirerJeton(col);
+        if (this.evaluer) {
+            this.evaluation.retirer(joueur, ligne, col);
+        }
+    }
+
+    // Passe un coup de la grille à la grille canonique et inversement
+    private static int coupCanonique(int col, boolean miroir) {
+        return miroir && col != TableTransposition.AUCUN_COUP ? Grille.NB_COLONNES - 1 - col : col;
+    }
+
+    // Note de l'évaluation, ramenée strictement entre les scores de défaite et de victoire
+    private int noteHorizon(Couleur joueur) {
+        int note = this.evaluation.evaluer(joueur);
+        return Math.max(1 - ECHELLE_VICTOIRE, Math.min(ECHELLE_VICTOIRE - 1, note));
+    }
+
+    // Score de la recherche vers score de Resultat : seules les fins de partie forcées comptent
+    private static int versResultat(int score) {
+        if (score > ECHELLE_VICTOIRE) {
+            return score - ECHELLE_VICTOIRE;
+        }
+        if (score < -ECHELLE_VICTOIRE) {
+            return score + ECHELLE_VICTOIRE;
+        }
+        return 0;
+    }
+
+    private boolean doitArreter() {
+        return this.arret.get() || this.nbNoeuds >= this.budgetNoeuds || System.nanoTime() >= this.echeanceNs;
+    }
+
+    /*
+     * Remplit l'ordre d'exploration du niveau n avec les colonnes jouables, triées par note
+     * décroissante. Le tri par insertion est stable : à note égale, le centre passe d'abord.
+     * Renvoie le nombre de coups jouables.
+     */
+    private int ordonner(int n, int coupTable, Couleur joueur) {
+        int[] ordre = this.ordres[n];
+        int[] note = this.notes[n];
+        int nb = 0;
+        for (int col : ORDRE_COLONNES) {
+            if (this.grille.isFullColonne(col)) {
+                continue;
+            }
+            int valeur = noter(n, col, coupTable, joueur);
+            int i = nb;
+            while (i > 0 && note[i - 1] < valeur) {
+                ordre[i] = ordre[i - 1];
+                note[i] = note[i - 1];
+                i--;
+            }
+            ordre[i] = col;
+            note[i] = valeur;
+            nb++;
+        }
+        return nb;
+    }
+
+    private int noter(int n, int col, int coupTable, Couleur joueur) {
+        if (col == coupTable) {
+            return Integer.MAX_VALUE;
+        }
+        if (this.ordreCoups == OrdreCoups.MENACES) {
+            return this.grille.nombreMenaces(joueur, col);
+        }
+        if (this.ordreCoups == OrdreCoups.KILLERS_HISTORIQUE) {
+            if (col == this.killers[n][0]) {
+                return Integer.MAX_VALUE - 1;
+            }
+            if (col == this.killers[n][1]) {
+                return Integer.MAX_VALUE - 2;
+            }
+            return this.historique[joueur.ordinal()][col];
+        }
+        return 0;
+    }
+
+    private void noterCoupure(int n, int col, Couleur joueur, int profondeur, int rang) {
+        this.nbCoupures++;
+        if (rang == 0) {
+            this.nbCoupuresPremierCoup++;
+        }
+        if (this.ordreCoups != OrdreCoups.KILLERS_HISTORIQUE) {
+            return;
+        }
+        if (this.killers[n][0] != col) {
+            this.killers[n][1] = this.killers[n][0];
+            this.killers[n][0] = col;
+        }
+        int[] h = this.historique[joueur.ordinal()];
+        h[col] += profondeur * profondeur;
+        if (h[col] > HISTORIQUE_MAX) {
+            for (int i = 0; i < h.length; i++) {
+                h[i] /= 2;
+            }
+        }
+    }
+}
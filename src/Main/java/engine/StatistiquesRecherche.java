@@ -0,0 +1,110 @@
+package engine;
+
+/**
+ * Statistiques d'une recherche du {@link Solveur}.
+ * <p>
+ * Elles permettent de comparer l'efficacité de l'élagage selon l'ordre des coups :
+ * nombre de positions visitées pour résoudre, vitesse en positions par seconde,
+ * et proportion des coupures obtenues dès le premier coup essayé.
+ * </p>
+ */
+public class StatistiquesRecherche {
+
+    private final long noeuds;
+    private final long dureeNs;
+    private final int profondeur;
+    private final boolean resolue;
+    private final long coupures;
+    private final long coupuresPremierCoup;
+
+    /**
+     * Construit les statistiques d'une recherche.
+     *
+     * @param noeuds              le nombre de positions visitées.
+     * @param dureeNs             la durée de la recherche en nanosecondes.
+     * @param profondeur          la dernière profondeur entièrement explorée.
+     * @param resolue             true si le résultat est exact.
+     * @param coupures            le nombre de coupures beta.
+     * @param coupuresPremierCoup le nombre de coupures beta obtenues dès le premier coup essayé.
+     */
+    public StatistiquesRecherche(long noeuds, long dureeNs, int profondeur, boolean resolue,
+                                 long coupures, long coupuresPremierCoup) {
+        this.noeuds = noeuds;
+        this.dureeNs = dureeNs;
+        this.profondeur = profondeur;
+        this.resolue = resolue;
+        this.coupures = coupures;
+        this.coupuresPremierCoup = coupuresPremierCoup;
+    }
+
+    /**
+     * Récupère le nombre de positions visitées.
+     *
+     * @return le nombre de noeuds.
+     */
+    public long getNoeuds() {
+        return noeuds;
+    }
+
+    /**
+     * Récupère la durée de la recherche.
+     *
+     * @return la durée en nanosecondes.
+     */
+    public long getDureeNs() {
+        return dureeNs;
+    }
+
+    /**
+     * Récupère la dernière profondeur entièrement explorée.
+     *
+     * @return la profondeur en demi-coups.
+     */
+    public int getProfondeur() {
+        return profondeur;
+    }
+
+    /**
+     * Indique si la recherche a abouti à un résultat exact.
+     *
+     * @return true si la position est résolue.
+     */
+    public boolean isResolue() {
+        return resolue;
+    }
+
+    /**
+     * Calcule la vitesse de la recherche.
+     *
+     * @return le nombre de positions visitées par seconde.
+     */
+    public double getNoeudsParSeconde() {
+        return noeuds * 1e9 / Math.max(1L, dureeNs);
+    }
+
+    /**
+     * Calcule la proportion des coupures obtenues dès le premier coup essayé.
+     * <p>
+     * Plus elle est proche de 1, meilleur est l'ordre des coups.
+     * </p>
+     *
+     * @return la proportion, entre 0 et 1 (0 s'il n'y a eu aucune coupure).
+     */
+    public double getTauxCoupurePremierCoup() {
+        if (coupures == 0) {
+            return 0;
+        }
+        return (double) coupuresPremierCoup / coupures;
+    }
+
+    /**
+     * Retourne une représentation textuelle des statistiques.
+     *
+     * @return une chaîne décrivant les noeuds, la vitesse et la qualité de l'ordre des coups.
+     */
+    @Override
+    public String toString() {
+        return String.format("StatistiquesRecherche{noeuds=%d, duree=%.1f ms, noeuds/s=%.0f, profondeur=%d, resolue=%b, coupuresPremierCoup=%.1f%%}",
+                noeuds, dureeNs / 1e6, getNoeudsParSeconde(), profondeur, resolue, 100 * getTauxCoupurePremierCoup());
+    }
+}
@@ -0,0 +1,36 @@
+package engine;
+
+import business.Couleur;
+import business.Grille;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Façon de choisir un coup, pour faire jouer un robot dans un {@link Tournoi}.
+ * <p>
+ * Une instance n'est utilisée que par un thread à la fois ; le tournoi en crée une par thread.
+ * Pour que les résultats d'un tournoi soient reproductibles, le choix ne doit dépendre que de
+ * la position, du générateur reçu et de ce qui s'est passé depuis {@link #nouvellePartie()}.
+ * </p>
+ */
+public interface Strategie {
+
+    /**
+     * Choisit la colonne à jouer.
+     *
+     * @param grille la position courante ; il ne faut ni la conserver ni la modifier.
+     * @param joueur la couleur du joueur au trait.
+     * @param hasard le générateur de la partie, seule source de hasard autorisée.
+     * @return la colonne choisie ; une colonne injouable fait perdre la partie.
+     */
+    int choisirColonne(Grille grille, Couleur joueur, RandomGenerator hasard);
+
+    /**
+     * Prévient qu'une nouvelle partie commence, pour oublier ce qui a été appris pendant la précédente.
+     * <p>
+     * Ne fait rien par défaut.
+     * </p>
+     */
+    default void nouvellePartie() {
+    }
+}
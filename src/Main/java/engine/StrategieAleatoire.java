@@ -0,0 +1,50 @@
+package engine;
+
+import business.Couleur;
+import business.Grille;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Stratégie qui joue une colonne non pleine au hasard, chacune avec la même probabilité.
+ * <p>
+ * Sert d'adversaire de référence : toute stratégie sérieuse doit la battre presque toujours.
+ * </p>
+ */
+public class StrategieAleatoire implements Strategie {
+
+    /**
+     * Choisit une colonne non pleine au hasard.
+     *
+     * @param grille la position courante, qui ne doit pas être pleine.
+     * @param joueur la couleur du joueur au trait (ignorée).
+     * @param hasard le générateur de la partie.
+     * @return une colonne jouable.
+     */
+    @Override
+    public int choisirColonne(Grille grille, Couleur joueur, RandomGenerator hasard) {
+        int nbColonnes = grille.getNbColonnes();
+        int nbJouables = 0;
+        for (int col = 0; col < nbColonnes; col++) {
+            if (!grille.isFullColonne(col)) {
+                nbJouables++;
+            }
+        }
+        int rang = hasard.nextInt(nbJouables);
+        for (int col = 0; ; col++) {
+            if (!grille.isFullColonne(col) && rang-- == 0) {
+                return col;
+            }
+        }
+    }
+
+    /**
+     * Retourne une représentation textuelle de la stratégie.
+     *
+     * @return le nom de la stratégie.
+     */
+    @Override
+    public String toString() {
+        return "StrategieAleatoire";
+    }
+}
@@ -0,0 +1,99 @@
+package engine;
+
+import business.Couleur;
+import business.Grille;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Stratégie qui joue le meilleur coup trouvé par un {@link Solveur} dans un budget de positions.
+ * <p>
+ * Le budget se compte en positions et non en temps : la force du robot ne dépend pas de la
+ * machine ni de la charge, et un tournoi rejoué donne les mêmes coups. La table de transposition
+ * est vidée à chaque nouvelle partie pour la même raison ; elle est petite, pour que le tournoi
+ * puisse en allouer une par thread.
+ * </p>
+ */
+public class StrategieSolveur implements Strategie {
+
+    /**
+     * Taille de la table de transposition de chaque instance : 4 Mo.
+     */
+    public static final long TAILLE_TABLE = 4L * 1024 * 1024;
+
+    private final Solveur solveur;
+    private final long budgetNoeuds;
+
+    /**
+     * Construit une stratégie qui analyse au plus un nombre donné de positions par coup.
+     *
+     * @param budgetNoeuds le nombre maximal de positions visitées par coup.
+     * @throws IllegalArgumentException si le budget n'est pas strictement positif.
+     */
+    public StrategieSolveur(long budgetNoeuds) {
+        if (budgetNoeuds <= 0) {
+            throw new IllegalArgumentException("Budget de noeuds invalide : " + budgetNoeuds);
+        }
+        this.solveur = new Solveur(new TableTransposition(TAILLE_TABLE, PolitiqueRemplacement.PROFONDEUR));
+        this.budgetNoeuds = budgetNoeuds;
+    }
+
+    /**
+     * Construit une stratégie qui joue les coups d'un livre d'ouvertures, puis cherche dans un budget.
+     * <p>
+     * Un même livre peut être partagé par les stratégies de tous les threads d'un tournoi.
+     * </p>
+     *
+     * @param budgetNoeuds le nombre maximal de positions visitées par coup hors du livre.
+     * @param livre        le livre d'ouvertures consulté avant toute recherche.
+     * @throws IllegalArgumentException si le budget n'est pas strictement positif ou si le livre est null.
+     */
+    public StrategieSolveur(long budgetNoeuds, LivreOuvertures livre) {
+        this(budgetNoeuds);
+        if (livre == null) {
+            throw new IllegalArgumentException("Le livre ne peut pas être null");
+        }
+        this.solveur.setLivre(livre);
+    }
+
+    /**
+     * Choisit le meilleur coup trouvé dans le budget.
+     *
+     * @param grille la position courante, sur la grille standard.
+     * @param joueur la couleur du joueur au trait.
+     * @param hasard le générateur de la partie (ignoré : la recherche est déterministe).
+     * @return la colonne choisie par le solveur.
+     * @throws IllegalArgumentException si la grille n'est pas standard ou est pleine.
+     */
+    @Override
+    public int choisirColonne(Grille grille, Couleur joueur, RandomGenerator hasard) {
+        return this.solveur.meilleurCoup(grille, joueur, 0, this.budgetNoeuds).getColonne();
+    }
+
+    /**
+     * Vide la table de transposition.
+     */
+    @Override
+    public void nouvellePartie() {
+        this.solveur.getTable().vider();
+    }
+
+    /**
+     * Récupère le nombre maximal de positions visitées par coup.
+     *
+     * @return le budget de noeuds.
+     */
+    public long getBudgetNoeuds() {
+        return budgetNoeuds;
+    }
+
+    /**
+     * Retourne une représentation textuelle de la stratégie.
+     *
+     * @return une chaîne contenant le budget de noeuds et le livre d'ouvertures.
+     */
+    @Override
+    public String toString() {
+        return "StrategieSolveur{budgetNoeuds=" + budgetNoeuds + ", livre=" + solveur.getLivre() + "}";
+    }
+}
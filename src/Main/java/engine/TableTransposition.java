@@ -0,0 +1,204 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Table de transposition de taille fixe pour la recherche.
+ * <p>
+ * Mémorise le résultat des positions déjà analysées, identifiées par une clé de position
+ * ({@link business.Grille#cle(business.Couleur)}, ou {@link business.Grille#cleCanonique(business.Couleur)}
+ * pour ranger une position et sa symétrique dans la même entrée). Les entrées sont stockées dans deux tableaux
+ * de {@code long} alloués une fois pour toutes : aucune allocation ni boxing n'a lieu
+ * pendant la recherche et la mémoire occupée ne dépasse jamais la taille demandée.
+ * </p>
+ * <p>
+ * Une entrée regroupe dans un seul {@code long} le score, le type de borne, la profondeur
+ * et le meilleur coup. {@link #lire(long)} renvoie cette valeur, que l'on décode avec
+ * {@link #score(long)}, {@link #borne(long)}, {@link #profondeur(long)} et {@link #coup(long)}.
+ * </p>
+ * <p>
+ * La table peut être partagée sans verrou entre plusieurs threads de recherche.
+ * La clé est stockée combinée par ou exclusif avec l'entrée : si deux écritures concurrentes
+ * laissent une clé et une entrée qui ne vont pas ensemble, la lecture ne retrouve pas la clé
+ * et considère la position comme absente.
+ * </p>
+ */
+public class TableTransposition {
+
+    /**
+     * Valeur renvoyée par {@link #lire(long)} quand la position est absente de la table.
+     */
+    public static final long ABSENTE = 0L;
+
+    /**
+     * Type de borne : le score est exact.
+     */
+    public static final int EXACTE = 0;
+    /**
+     * Type de borne : le score réel est supérieur ou égal au score stocké.
+     */
+    public static final int INFERIEURE = 1;
+    /**
+     * Type de borne : le score réel est inférieur ou égal au score stocké.
+     */
+    public static final int SUPERIEURE = 2;
+
+    /**
+     * Valeur de {@link #coup(long)} quand aucun meilleur coup n'est connu.
+     */
+    public static final int AUCUN_COUP = 0xFF;
+
+    private static final int OCTETS_PAR_ENTREE = 2 * Long.BYTES;
+    private static final int DECALAGE_SCORE = 128;
+    private static final long PRESENTE = 1L << 32;
+
+    private final long[] cles;
+    private final long[] entrees;
+    private final int bitsIndex;
+    private final PolitiqueRemplacement politique;
+
+    /**
+     * Construit une table vide dont la mémoire ne dépasse pas la taille donnée.
+     * <p>
+     * Le nombre d'entrées est la plus grande puissance de 2 qui tient dans cette taille.
+     * </p>
+     *
+     * @param tailleMaxOctets la mémoire maximale occupée par la table, en octets.
+     * @param politique       la règle de remplacement en cas de collision.
+     * @throws IllegalArgumentException si la taille est trop petite pour deux entrées
+     *                                  ou si la politique est null.
+     */
+    public TableTransposition(long tailleMaxOctets, PolitiqueRemplacement politique) {
+        if (tailleMaxOctets < 2 * OCTETS_PAR_ENTREE) {
+            throw new IllegalArgumentException("Taille de table trop petite : " + tailleMaxOctets + " octets");
+        }
+        if (politique == null) {
+            throw new IllegalArgumentException("La politique de remplacement ne peut pas être null");
+        }
+        long nbEntreesMax = Math.min(tailleMaxOctets / OCTETS_PAR_ENTREE, 1L << 30);
+        this.bitsIndex = 63 - Long.numberOfLeadingZeros(nbEntreesMax);
+        this.cles = new long[1 << bitsIndex];
+        this.entrees = new long[1 << bitsIndex];
+        this.politique = politique;
+    }
+
+    /**
+     * Recherche une position dans la table.
+     *
+     * @param cle la clé de la position.
+     * @return l'entrée codée de la position, ou {@link #ABSENTE} si elle n'est pas dans la table.
+     */
+    public long lire(long cle) {
+        int i = index(cle);
+        long entree = entrees[i];
+        if ((cles[i] ^ entree) != cle) {
+            return ABSENTE;
+        }
+        return entree;
+    }
+
+    /**
+     * Enregistre le résultat de l'analyse d'une position.
+     *
+     * @param cle        la clé de la position.
+     * @param score      le score trouvé, entre -128 et 127.
+     * @param borne      {@link #EXACTE}, {@link #INFERIEURE} ou {@link #SUPERIEURE}.
+     * @param profondeur la profondeur de recherche ayant produit ce score, entre 0 et 255.
+     * @param coup       le meilleur coup trouvé, ou {@link #AUCUN_COUP}.
+     */
+    public void enregistrer(long cle, int score, int borne, int profondeur, int coup) {
+        int i = index(cle);
+        long ancienne = entrees[i];
+        if (politique == PolitiqueRemplacement.PROFONDEUR && ancienne != ABSENTE
+                && (cles[i] ^ ancienne) != cle && profondeur(ancienne) > profondeur) {
+            return;
+        }
+        long entree = PRESENTE
+                | ((long) (coup & 0xFF) << 24)
+                | ((long) (profondeur & 0xFF) << 16)
+                | ((long) (borne & 0xFF) << 8)
+                | ((score + DECALAGE_SCORE) & 0xFF);
+        cles[i] = cle ^ entree;
+        entrees[i] = entree;
+    }
+
+    /**
+     * Vide la table.
+     */
+    public void vider() {
+        Arrays.fill(cles, 0L);
+        Arrays.fill(entrees, 0L);
+    }
+
+    /**
+     * Récupère le nombre d'entrées de la table.
+     *
+     * @return la capacité de la table.
+     */
+    public int getCapacite() {
+        return cles.length;
+    }
+
+    /**
+     * Récupère la politique de remplacement de la table.
+     *
+     * @return la politique utilisée en cas de collision.
+     */
+    public PolitiqueRemplacement getPolitique() {
+        return politique;
+    }
+
+    /**
+     * Extrait le score d'une entrée.
+     *
+     * @param entree une entrée renvoyée par {@link #lire(long)}.
+     * @return le score stocké.
+     */
+    public static int score(long entree) {
+        return (int) (entree & 0xFF) - DECALAGE_SCORE;
+    }
+
+    /**
+     * Extrait le type de borne d'une entrée.
+     *
+     * @param entree une entrée renvoyée par {@link #lire(long)}.
+     * @return {@link #EXACTE}, {@link #INFERIEURE} ou {@link #SUPERIEURE}.
+     */
+    public static int borne(long entree) {
+        return (int) ((entree >>> 8) & 0xFF);
+    }
+
+    /**
+     * Extrait la profondeur d'une entrée.
+     *
+     * @param entree une entrée renvoyée par {@link #lire(long)}.
+     * @return la profondeur stockée.
+     */
+    public static int profondeur(long entree) {
+        return (int) ((entree >>> 16) & 0xFF);
+    }
+
+    /**
+     * Extrait le meilleur coup d'une entrée.
+     *
+     * @param entree une entrée renvoyée par {@link #lire(long)}.
+     * @return la colonne du meilleur coup, ou {@link #AUCUN_COUP}.
+     */
+    public static int coup(long entree) {
+        return (int) ((entree >>> 24) & 0xFF);
+    }
+
+    /**
+     * Retourne une représentation textuelle de la table.
+     *
+     * @return une chaîne décrivant la capacité et la politique de remplacement.
+     */
+    @Override
+    public String toString() {
+        return "TableTransposition{capacite=" + getCapacite() + ", politique=" + politique + "}";
+    }
+
+    private int index(long cle) {
+        return (int) ((cle * 0x9E3779B97F4A7C15L) >>> (64 - bitsIndex));
+    }
+}
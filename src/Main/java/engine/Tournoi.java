@@ -0,0 +1,261 @@
+package engine;
+
+import business.Couleur;
+import business.Grille;
+import business.Partie;
+import business.Puissance4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fait jouer deux stratégies l'une contre l'autre sur un grand nombre de parties, sur tous les coeurs.
+ * <p>
+ * Les parties sont réparties en lots de {@value #PARTIES_PAR_LOT} que les threads se partagent
+ * au fur et à mesure. Chaque lot a son propre générateur, tiré de la graine du tournoi par
+ * {@link SplittableRandom#split()} : les threads ne se disputent jamais un générateur commun, et
+ * le hasard d'une partie (premier joueur, coups d'ouverture, choix des stratégies) ne dépend que
+ * de la graine et du numéro de son lot. Le même tournoi rejoué avec la même graine donne donc le
+ * même résultat, quel que soit le nombre de threads, pourvu que les stratégies respectent le
+ * contrat de {@link Strategie}.
+ * </p>
+ * <p>
+ * La stratégie A joue les jaunes et B les rouges ; le premier joueur est tiré au sort à chaque
+ * partie. Une stratégie qui propose une colonne injouable perd la partie.
+ * </p>
+ * <p>
+ * Chaque thread crée ses propres stratégies et les ferme à la fin du tournoi si elles sont
+ * {@link AutoCloseable}. Les threads du tournoi occupent déjà les coeurs : une stratégie ne
+ * doit pas lancer ses propres threads pour choisir un coup.
+ * </p>
+ */
+public class Tournoi {
+
+    /**
+     * Nombre de parties jouées d'affilée par un thread avec le même générateur.
+     */
+    public static final int PARTIES_PAR_LOT = 64;
+
+    // Indices du bilan renvoyé par chaque thread
+    private static final int VICTOIRES = 0;
+    private static final int NULS = 1;
+    private static final int DEFAITES = 2;
+    private static final int COUPS = 3;
+
+    private final Supplier<? extends Strategie> fabriqueA;
+    private final Supplier<? extends Strategie> fabriqueB;
+    private int nbThreads;
+    private int coupsOuverture;
+
+    /**
+     * Construit un tournoi entre deux stratégies, sur tous les coeurs disponibles.
+     *
+     * @param fabriqueA crée la stratégie A, appelée une fois par thread à chaque tournoi joué.
+     * @param fabriqueB crée la stratégie B, appelée une fois par thread à chaque tournoi joué.
+     * @throws IllegalArgumentException si une fabrique est null.
+     */
+    public Tournoi(Supplier<? extends Strategie> fabriqueA, Supplier<? extends Strategie> fabriqueB) {
+        if (fabriqueA == null || fabriqueB == null) {
+            throw new IllegalArgumentException("Les stratégies ne peuvent pas être null");
+        }
+        this.fabriqueA = fabriqueA;
+        this.fabriqueB = fabriqueB;
+        this.nbThreads = Runtime.getRuntime().availableProcessors();
+        this.coupsOuverture = 0;
+    }
+
+    /**
+     * Choisit le nombre de threads qui jouent les parties.
+     *
+     * @param nbThreads le nombre de threads (par défaut, le nombre de coeurs).
+     * @throws IllegalArgumentException si le nombre de threads n'est pas strictement positif.
+     */
+    public void setNbThreads(int nbThreads) {
+        if (nbThreads <= 0) {
+            throw new IllegalArgumentException("Nombre de threads invalide : " + nbThreads);
+        }
+        this.nbThreads = nbThreads;
+    }
+
+    /**
+     * Récupère le nombre de threads qui jouent les parties.
+     *
+     * @return le nombre de threads.
+     */
+    public int getNbThreads() {
+        return nbThreads;
+    }
+
+    /**
+     * Choisit le nombre de coups joués au hasard au début de chaque partie.
+     * <p>
+     * Deux stratégies déterministes rejoueraient sinon toujours les deux mêmes parties :
+     * quelques coups d'ouverture aléatoires diversifient les positions rencontrées.
+     * </p>
+     *
+     * @param coupsOuverture le nombre de coups aléatoires (0 par défaut).
+     * @throws IllegalArgumentException si le nombre est négatif.
+     */
+    public void setCoupsOuverture(int coupsOuverture) {
+        if (coupsOuverture < 0) {
+            throw new IllegalArgumentException("Nombre de coups d'ouverture invalide : " + coupsOuverture);
+        }
+        this.coupsOuverture = coupsOuverture;
+    }
+
+    /**
+     * Récupère le nombre de coups joués au hasard au début de chaque partie.
+     *
+     * @return le nombre de coups d'ouverture aléatoires.
+     */
+    public int getCoupsOuverture() {
+        return coupsOuverture;
+    }
+
+    /**
+     * Joue un nombre donné de parties entre A et B.
+     *
+     * @param nbParties le nombre de parties.
+     * @param graine    la graine dont est tiré tout le hasard du tournoi.
+     * @return le bilan du point de vue de A.
+     * @throws IllegalArgumentException si le nombre de parties est négatif.
+     * @throws IllegalStateException    si une stratégie échoue ou si l'attente est interrompue.
+     */
+    public ResultatTournoi jouer(int nbParties, long graine) {
+        if (nbParties < 0) {
+            throw new IllegalArgumentException("Nombre de parties invalide : " + nbParties);
+        }
+        int nbLots = (nbParties + PARTIES_PAR_LOT - 1) / PARTIES_PAR_LOT;
+        // Les générateurs sont tirés dans l'ordre des lots, avant que les threads ne démarrent
+        SplittableRandom racine = new SplittableRandom(graine);
+        SplittableRandom[] hasards = new SplittableRandom[nbLots];
+        for (int i = 0; i < nbLots; i++) {
+            hasards[i] = racine.split();
+        }
+        AtomicInteger prochainLot = new AtomicInteger();
+        int nbTravailleurs = Math.max(1, Math.min(this.nbThreads, nbLots));
+        ExecutorService executeur = Executors.newFixedThreadPool(nbTravailleurs, tache -> {
+            Thread thread = new Thread(tache, "tournoi");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long debut = System.nanoTime();
+        long[] bilan = new long[4];
+        try {
+            List<Future<long[]>> travaux = new ArrayList<>(nbTravailleurs);
+            for (int t = 0; t < nbTravailleurs; t++) {
+                travaux.add(executeur.submit(() -> jouerLots(hasards, prochainLot, nbParties)));
+            }
+            for (Future<long[]> travail : travaux) {
+                long[] partiel = travail.get();
+                for (int i = 0; i < bilan.length; i++) {
+                    bilan[i] += partiel[i];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournoi interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec d'une partie du tournoi", e.getCause());
+        } finally {
+            executeur.shutdownNow();
+        }
+        return new ResultatTournoi((int) bilan[VICTOIRES], (int) bilan[NULS], (int) bilan[DEFAITES],
+                bilan[COUPS], System.nanoTime() - debut);
+    }
+
+    /**
+     * Retourne une représentation textuelle du tournoi.
+     *
+     * @return une chaîne décrivant les threads et le nombre de coups d'ouverture.
+     */
+    @Override
+    public String toString() {
+        return "Tournoi{threads=" + nbThreads + ", coupsOuverture=" + coupsOuverture + "}";
+    }
+
+    /**
+     * Fait jouer un solveur contre la stratégie aléatoire et affiche le bilan.
+     *
+     * @param args le nombre de parties (1000 par défaut), la graine (1 par défaut)
+     *             et le budget de noeuds du solveur par coup (10 000 par défaut).
+     */
+    public static void main(String[] args) {
+        int nbParties = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long graine = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        long budget = args.length > 2 ? Long.parseLong(args[2]) : 10_000;
+        Tournoi tournoi = new Tournoi(() -> new StrategieSolveur(budget), StrategieAleatoire::new);
+        System.out.println(tournoi.jouer(nbParties, graine));
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    // Corps d'un thread : prend des lots jusqu'à épuisement, avec ses propres stratégies
+    private long[] jouerLots(SplittableRandom[] hasards, AtomicInteger prochainLot, int nbParties) {
+        Strategie a = this.fabriqueA.get();
+        try {
+            Strategie b = this.fabriqueB.get();
+            try {
+                StrategieAleatoire ouverture = new StrategieAleatoire();
+                long[] bilan = new long[4];
+                int lot;
+                while ((lot = prochainLot.getAndIncrement()) < hasards.length) {
+                    SplittableRandom hasard = hasards[lot];
+                    int fin = Math.min(nbParties, (lot + 1) * PARTIES_PAR_LOT);
+                    for (int p = lot * PARTIES_PAR_LOT; p < fin; p++) {
+                        a.nouvellePartie();
+                        b.nouvellePartie();
+                        jouerPartie(a, b, ouverture, hasard, bilan);
+                    }
+                }
+                return bilan;
+            } finally {
+                fermer(b);
+            }
+        } finally {
+            fermer(a);
+        }
+    }
+
+    // Une stratégie peut tenir des threads ou des fichiers : le thread qui l'a créée la ferme
+    private static void fermer(Strategie strategie) {
+        if (strategie instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) strategie).close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Échec de la fermeture d'une stratégie", e);
+            }
+        }
+    }
+
+    private void jouerPartie(Strategie a, Strategie b, Strategie ouverture, SplittableRandom hasard, long[] bilan) {
+        Partie partie = new Partie(hasard);
+        Puissance4 jeu = new Puissance4(partie);
+        Grille grille = partie.getGrille();
+        for (int n = 0; ; n++) {
+            Couleur joueur = partie.getJoueurCourant().getNom();
+            Strategie strategie = n < this.coupsOuverture ? ouverture : joueur == Couleur.JAUNE ? a : b;
+            int statut = jeu.tenterJouer(strategie.choisirColonne(grille, joueur, hasard));
+            if (statut == Puissance4.COUP_JOUE) {
+                continue;
+            }
+            bilan[COUPS] += statut < 0 ? n : n + 1;
+            if (statut == Puissance4.MATCH_NUL) {
+                bilan[NULS]++;
+            } else {
+                // Victoire du joueur, ou coup injouable qui le fait perdre
+                boolean gagnantJaune = (statut == Puissance4.VICTOIRE) == (joueur == Couleur.JAUNE);
+                bilan[gagnantJaune ? VICTOIRES : DEFAITES]++;
+            }
+            return;
+        }
+    }
+}
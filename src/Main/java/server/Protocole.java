@@ -0,0 +1,286 @@
+package server;
+
+import business.Couleur;
+import business.Puissance4Concurrent;
+import business.Puissance4Exception;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Protocole texte du serveur : une commande par ligne, une ligne de réponse par commande.
+ * <p>
+ * Les réponses commencent par {@code OK} ou par {@code ERR} suivi de la cause.
+ * Les mots-clés ne tiennent pas compte de la casse.
+ * </p>
+ * <ul>
+ * <li>{@code NOUVELLE [lignes colonnes alignement]} : ouvre une partie, répond {@code OK <id>}.</li>
+ * <li>{@code JOUER <id> <colonne> [version]} : répond {@code OK COUP_JOUE}, {@code OK VICTOIRE}
+ * ou {@code OK MATCH_NUL}, sinon {@code ERR PARTIE_FINIE}, {@code ERR COLONNE_INVALIDE}
+ * ou {@code ERR COLONNE_PLEINE}. Avec une version (lue par {@code ETAT}), le coup n'est joué
+ * que si la partie n'a pas changé depuis, sinon la réponse est {@code ERR VERSION_PERIMEE}.</li>
+ * <li>{@code ANNULER <id>} : annule le dernier coup, répond {@code OK}.</li>
+ * <li>{@code ABANDON <id>} : le joueur courant abandonne, répond {@code OK <couleur du gagnant>}.</li>
+ * <li>{@code ETAT <id>} : répond {@code OK} suivi de {@link Session#decrire(StringBuilder)}.</li>
+ * <li>{@code FIN <id>} : ferme la partie, répond {@code OK}.</li>
+ * <li>{@code STATS} : répond {@code OK} suivi des {@link StatistiquesSessions} du registre.</li>
+ * <li>{@code QUITTER} : répond {@code OK} puis ferme la connexion.</li>
+ * </ul>
+ * <p>
+ * Une instance lit les lignes d'une seule connexion et n'est pas thread-safe ; le registre,
+ * lui, est partagé. L'analyse d'une ligne ne crée aucun objet, si bien qu'un coup ne coûte
+ * que la recherche de la session et le coup lui-même. Chaque commande réserve sa session
+ * le temps de l'exécuter ({@link RegistreSessions#ouvrir(long)}), ce qui recharge une partie
+ * évincée sur disque ; si elle ne peut être relue, la réponse est {@code ERR} suivi de la cause.
+ * </p>
+ */
+public class Protocole {
+
+    // Réponses à JOUER, indexées par statut de Puissance4Concurrent.tenterJouer - VERSION_PERIMEE
+    private static final String[] REPONSES_COUP = {
+            "ERR VERSION_PERIMEE", "ERR COLONNE_PLEINE", "ERR COLONNE_INVALIDE", "ERR PARTIE_FINIE",
+            "OK COUP_JOUE", "OK VICTOIRE", "OK MATCH_NUL"
+    };
+
+    private final RegistreSessions registre;
+    // Position de lecture dans la ligne en cours d'analyse
+    private int position;
+
+    /**
+     * Construit le protocole d'une connexion.
+     *
+     * @param registre le registre des sessions partagé par le serveur.
+     * @throws IllegalArgumentException si le registre est null.
+     */
+    public Protocole(RegistreSessions registre) {
+        if (registre == null) {
+            throw new IllegalArgumentException("Le registre ne peut pas être null");
+        }
+        this.registre = registre;
+    }
+
+    /**
+     * Exécute une commande.
+     *
+     * @param ligne   la commande, sans le saut de ligne.
+     * @param reponse le tampon où écrire la réponse, sans saut de ligne.
+     * @return false si le client a demandé à quitter, true sinon.
+     */
+    public boolean executer(String ligne, StringBuilder reponse) {
+        this.position = 0;
+        int debut = debutMot(ligne);
+        int longueur = this.position - debut;
+
+        if (estMot(ligne, debut, longueur, "JOUER")) {
+            Session session = session(ligne, reponse);
+            if (session != null) {
+                try {
+                    jouer(session, ligne, reponse);
+                } finally {
+                    session.liberer();
+                }
+            }
+        } else if (estMot(ligne, debut, longueur, "NOUVELLE")) {
+            nouvelle(ligne, reponse);
+        } else if (estMot(ligne, debut, longueur, "ETAT")) {
+            Session session = sessionSeule(ligne, reponse);
+            if (session != null) {
+                try {
+                    reponse.append("OK ");
+                    session.decrire(reponse);
+                } finally {
+                    session.liberer();
+                }
+            }
+        } else if (estMot(ligne, debut, longueur, "ANNULER")) {
+            Session session = sessionSeule(ligne, reponse);
+            if (session != null) {
+                try {
+                    session.annulerCoup();
+                    reponse.append("OK");
+                } catch (Puissance4Exception e) {
+                    reponse.append("ERR ").append(e.getMessage());
+                } finally {
+                    session.liberer();
+                }
+            }
+        } else if (estMot(ligne, debut, longueur, "ABANDON")) {
+            Session session = sessionSeule(ligne, reponse);
+            if (session != null) {
+                try {
+                    Couleur gagnant = session.abandonner();
+                    reponse.append("OK ").append(gagnant.name());
+                } catch (Puissance4Exception e) {
+                    reponse.append("ERR ").append(e.getMessage());
+                } finally {
+                    session.liberer();
+                }
+            }
+        } else if (estMot(ligne, debut, longueur, "FIN")) {
+            fermer(ligne, reponse);
+        } else if (estMot(ligne, debut, longueur, "STATS")) {
+            if (finLigne(ligne)) {
+                reponse.append("OK ").append(this.registre.getStatistiques());
+            } else {
+                reponse.append("ERR ARGUMENT_INVALIDE");
+            }
+        } else if (estMot(ligne, debut, longueur, "QUITTER")) {
+            reponse.append("OK");
+            return false;
+        } else {
+            reponse.append("ERR COMMANDE_INCONNUE");
+        }
+        return true;
+    }
+
+    /**
+     * Retourne une représentation textuelle du protocole.
+     *
+     * @return une chaîne contenant le registre utilisé.
+     */
+    @Override
+    public String toString() {
+        return "Protocole{registre=" + registre + "}";
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    private void jouer(Session session, String ligne, StringBuilder reponse) {
+        long colonne = nombre(ligne);
+        boolean avecVersion = !finLigne(ligne);
+        long version = avecVersion ? nombre(ligne) : 0;
+        if (colonne == Long.MIN_VALUE || version < 0 || !finLigne(ligne)) {
+            reponse.append("ERR ARGUMENT_INVALIDE");
+            return;
+        }
+        // Une colonne hors des entiers est aussi invalide qu'une colonne négative
+        int col = entier(colonne) ? (int) colonne : -1;
+        int statut = avecVersion ? session.jouer(col, version) : session.jouer(col);
+        reponse.append(REPONSES_COUP[statut - Puissance4Concurrent.VERSION_PERIMEE]);
+    }
+
+    private void nouvelle(String ligne, StringBuilder reponse) {
+        Session session;
+        try {
+            if (finLigne(ligne)) {
+                session = this.registre.creer();
+            } else {
+                long lignes = nombre(ligne);
+                long colonnes = nombre(ligne);
+                long alignement = nombre(ligne);
+                if (!entier(lignes) || !entier(colonnes) || !entier(alignement) || !finLigne(ligne)) {
+                    reponse.append("ERR ARGUMENT_INVALIDE");
+                    return;
+                }
+                session = this.registre.creer((int) lignes, (int) colonnes, (int) alignement);
+            }
+        } catch (IllegalArgumentException e) {
+            reponse.append("ERR ").append(e.getMessage());
+            return;
+        } catch (UncheckedIOException e) {
+            // Numéros de session non réservés sur disque
+            reponse.append("ERR ").append(e.getCause().getMessage());
+            return;
+        }
+        reponse.append("OK ").append(session.getId());
+    }
+
+    private void fermer(String ligne, StringBuilder reponse) {
+        long id = nombre(ligne);
+        if (id == Long.MIN_VALUE || !finLigne(ligne)) {
+            reponse.append("ERR ARGUMENT_INVALIDE");
+            return;
+        }
+        try {
+            reponse.append(this.registre.fermer(id) ? "OK" : "ERR PARTIE_INCONNUE");
+        } catch (IOException e) {
+            reponse.append("ERR ").append(e.getMessage());
+        }
+    }
+
+    /*
+     * Lit le numéro de session qui suit la commande et réserve la session, à rendre par liberer() ;
+     * écrit l'erreur et renvoie null si le numéro est invalide ou la session introuvable.
+     */
+    private Session session(String ligne, StringBuilder reponse) {
+        long id = nombre(ligne);
+        if (id == Long.MIN_VALUE) {
+            reponse.append("ERR ARGUMENT_INVALIDE");
+            return null;
+        }
+        Session session;
+        try {
+            session = this.registre.ouvrir(id);
+        } catch (IOException e) {
+            reponse.append("ERR ").append(e.getMessage());
+            return null;
+        }
+        if (session == null) {
+            reponse.append("ERR PARTIE_INCONNUE");
+        }
+        return session;
+    }
+
+    // Comme session(), pour les commandes dont le numéro est le seul argument
+    private Session sessionSeule(String ligne, StringBuilder reponse) {
+        Session session = session(ligne, reponse);
+        if (session != null && !finLigne(ligne)) {
+            session.liberer();
+            reponse.append("ERR ARGUMENT_INVALIDE");
+            return null;
+        }
+        return session;
+    }
+
+    // Saute les espaces puis avance jusqu'à la fin du mot ; renvoie le début du mot
+    private int debutMot(String ligne) {
+        int i = this.position;
+        int fin = ligne.length();
+        while (i < fin && ligne.charAt(i) == ' ') {
+            i++;
+        }
+        int debut = i;
+        while (i < fin && ligne.charAt(i) != ' ') {
+            i++;
+        }
+        this.position = i;
+        return debut;
+    }
+
+    // Lit un entier positif ou négatif ; renvoie Long.MIN_VALUE s'il est absent ou mal formé
+    private long nombre(String ligne) {
+        int debut = debutMot(ligne);
+        int fin = this.position;
+        boolean negatif = debut < fin && ligne.charAt(debut) == '-';
+        int i = negatif ? debut + 1 : debut;
+        if (i == fin || fin - i > 18) {
+            return Long.MIN_VALUE;
+        }
+        long valeur = 0;
+        for (; i < fin; i++) {
+            int chiffre = ligne.charAt(i) - '0';
+            if (chiffre < 0 || chiffre > 9) {
+                return Long.MIN_VALUE;
+            }
+            valeur = valeur * 10 + chiffre;
+        }
+        return negatif ? -valeur : valeur;
+    }
+
+    private boolean finLigne(String ligne) {
+        int i = this.position;
+        int fin = ligne.length();
+        while (i < fin && ligne.charAt(i) == ' ') {
+            i++;
+        }
+        return i == fin;
+    }
+
+    private static boolean estMot(String ligne, int debut, int longueur, String mot) {
+        return longueur == mot.length() && ligne.regionMatches(true, debut, mot, 0, longueur);
+    }
+
+    private static boolean entier(long valeur) {
+        return valeur >= Integer.MIN_VALUE && valeur <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,424 @@
+package server;
+
+import business.EtatPartie;
+import business.MagasinSauvegardes;
+import business.Partie;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registre des sessions du serveur, indexé par numéro de partie.
+ * <p>
+ * Le registre est partagé par toutes les connexions : la création, l'ouverture et la
+ * fermeture d'une session peuvent être appelées depuis n'importe quel thread sans verrou global.
+ * </p>
+ * <p>
+ * Construit avec un fichier de débordement, le registre est aussi un cache : il garde en
+ * mémoire au plus {@code capacite} sessions et écrit les autres dans un
+ * {@link MagasinSauvegardes} (quelques dizaines d'octets par partie). Un thread d'entretien
+ * évince les sessions les moins récemment utilisées quand la capacité est dépassée, et
+ * celles restées inactives plus longtemps que le délai donné. Une session évincée est
+ * rechargée du disque, sans que le client le voie, à sa prochaine ouverture. Les parties sur
+ * une grille non standard n'ont pas de format disque et restent toujours en mémoire.
+ * </p>
+ * <p>
+ * Une session n'est jamais évincée entre {@link #ouvrir(long)} et {@link Session#liberer()} :
+ * aucun coup ne peut être perdu par une éviction concurrente.
+ * </p>
+ */
+public class RegistreSessions implements AutoCloseable {
+
+    /**
+     * Nombre de sessions gardées en mémoire par défaut quand le registre déborde sur disque.
+     */
+    public static final int CAPACITE_DEFAUT = 10_000;
+
+    /**
+     * Délai d'inactivité par défaut après lequel une session est évincée, en millisecondes.
+     */
+    public static final long DELAI_INACTIVITE_DEFAUT = TimeUnit.MINUTES.toMillis(5);
+
+    // Une fois la capacité dépassée, on évince de quoi redescendre à 90 % pour ne pas trier à chaque création
+    private static final int MARGE_EVICTION_POURCENT = 10;
+
+    // Les numéros de session sont réservés dans le fichier de débordement par blocs de cette taille
+    private static final int BLOC_NUMEROS = 1024;
+
+    private final Map<Long, Session> sessions;
+    private final AtomicLong prochainId;
+    // Tout ce qui suit ne sert qu'avec un fichier de débordement
+    private final MagasinSauvegardes magasin;
+    private final Object verrouNumeros;
+    private volatile long limiteNumeros;
+    private final int capacite;
+    private final long delaiInactiviteNs;
+    private final ScheduledExecutorService entretien;
+    private final AtomicBoolean entretienDemande;
+    private final LongAdder succes;
+    private final LongAdder defauts;
+    private final LongAdder evictionsCapacite;
+    private final LongAdder evictionsInactivite;
+
+    /**
+     * Construit un registre vide, entièrement en mémoire ; les numéros de session commencent à 1.
+     */
+    public RegistreSessions() {
+        this.sessions = new ConcurrentHashMap<>();
+        this.prochainId = new AtomicLong(1);
+        this.magasin = null;
+        this.verrouNumeros = null;
+        this.limiteNumeros = Long.MAX_VALUE;
+        this.capacite = Integer.MAX_VALUE;
+        this.delaiInactiviteNs = 0;
+        this.entretien = null;
+        this.entretienDemande = new AtomicBoolean();
+        this.succes = new LongAdder();
+        this.defauts = new LongAdder();
+        this.evictionsCapacite = new LongAdder();
+        this.evictionsInactivite = new LongAdder();
+    }
+
+    /**
+     * Construit un registre qui évince vers un fichier les sessions froides.
+     * <p>
+     * Si le fichier contient déjà des sessions (registre fermé par {@link #close()}),
+     * elles restent accessibles sous leur numéro. Les nouvelles sessions sont numérotées après
+     * tous les numéros déjà attribués, même ceux de sessions fermées depuis : un client qui a
+     * gardé un ancien numéro ne peut pas tomber sur la partie d'un autre.
+     * </p>
+     *
+     * @param fichierDebordement le fichier où écrire les sessions évincées.
+     * @param capacite           le nombre maximal de sessions gardées en mémoire.
+     * @param delaiInactivite    le délai d'inactivité avant éviction en millisecondes, ou 0 pour aucun.
+     * @throws IOException si le fichier ne peut être lu ou créé.
+     * @throws IllegalArgumentException si le fichier est null, la capacité inférieure à 1
+     *                                  ou le délai négatif.
+     */
+    public RegistreSessions(Path fichierDebordement, int capacite, long delaiInactivite) throws IOException {
+        if (capacite < 1) {
+            throw new IllegalArgumentException("Capacité invalide : " + capacite);
+        }
+        if (delaiInactivite < 0) {
+            throw new IllegalArgumentException("Délai d'inactivité invalide : " + delaiInactivite);
+        }
+        this.magasin = new MagasinSauvegardes(fichierDebordement);
+        // Le magasin garde le plus grand numéro réservé, même si sa session a disparu du disque
+        long premierId = Math.max(1, this.magasin.getProchainId());
+        this.verrouNumeros = new Object();
+        this.limiteNumeros = premierId;
+
+        this.sessions = new ConcurrentHashMap<>();
+        this.prochainId = new AtomicLong(premierId);
+        this.capacite = capacite;
+        this.delaiInactiviteNs = TimeUnit.MILLISECONDS.toNanos(delaiInactivite);
+        this.entretien = Executors.newSingleThreadScheduledExecutor(tache -> {
+            Thread thread = new Thread(tache, "entretien-sessions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.entretienDemande = new AtomicBoolean();
+        this.succes = new LongAdder();
+        this.defauts = new LongAdder();
+        this.evictionsCapacite = new LongAdder();
+        this.evictionsInactivite = new LongAdder();
+        if (delaiInactivite > 0) {
+            long periode = Math.max(10, delaiInactivite / 2);
+            this.entretien.scheduleWithFixedDelay(this::entretenir, periode, periode, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Ouvre une session sur une nouvelle partie standard.
+     * <p>
+     * La session n'est pas réservée : il faut passer par {@link #ouvrir(long)} pour agir dessus.
+     * </p>
+     *
+     * @return la session créée.
+     * @throws IllegalStateException si le registre déborde sur disque et a épuisé ses numéros.
+     * @throws UncheckedIOException  si les numéros ne peuvent être réservés dans le fichier de débordement.
+     */
+    public Session creer() {
+        return enregistrer(new Partie());
+    }
+
+    /**
+     * Ouvre une session sur une nouvelle partie aux dimensions données.
+     *
+     * @param lignes     le nombre de lignes de la grille.
+     * @param colonnes   le nombre de colonnes de la grille.
+     * @param alignement le nombre de jetons à aligner pour gagner.
+     * @return la session créée.
+     * @throws IllegalArgumentException si les dimensions ou l'alignement sont invalides.
+     * @throws IllegalStateException    si le registre déborde sur disque et a épuisé ses numéros.
+     * @throws UncheckedIOException     si les numéros ne peuvent être réservés dans le fichier de débordement.
+     */
+    public Session creer(int lignes, int colonnes, int alignement) {
+        return enregistrer(new Partie(lignes, colonnes, alignement));
+    }
+
+    /**
+     * Réserve une session pour agir dessus, en la rechargeant du disque si elle a été évincée.
+     * <p>
+     * La session réservée doit être rendue par {@link Session#liberer()}.
+     * </p>
+     *
+     * @param id le numéro de la session.
+     * @return la session réservée, ou null si elle n'existe pas ou a été fermée.
+     * @throws IOException si la session évincée ne peut être relue.
+     */
+    public Session ouvrir(long id) throws IOException {
+        boolean rechargee = false;
+        while (true) {
+            Session session = this.sessions.get(id);
+            if (session == null) {
+                if (this.magasin == null || id > Integer.MAX_VALUE) {
+                    return null;
+                }
+                try {
+                    session = this.sessions.computeIfAbsent(id, this::recharger);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                if (session == null) {
+                    return null;
+                }
+                rechargee = true;
+                verifierCapacite();
+            }
+            if (session.acquerir()) {
+                (rechargee ? this.defauts : this.succes).increment();
+                return session;
+            }
+            // Éviction en cours : la session sera sur disque dans un instant
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Ferme une session, en mémoire ou sur disque.
+     *
+     * @param id le numéro de la session.
+     * @return true si la session existait.
+     * @throws IOException si la session évincée ne peut être effacée du disque.
+     */
+    public boolean fermer(long id) throws IOException {
+        if (this.magasin == null) {
+            return this.sessions.remove(id) != null;
+        }
+        boolean[] existait = new boolean[1];
+        try {
+            // Même clé que l'éviction et le rechargement : la session ne peut pas réapparaître
+            this.sessions.compute(id, (cle, session) -> {
+                try {
+                    boolean surDisque = id <= Integer.MAX_VALUE && this.magasin.supprimer((int) id);
+                    existait[0] = session != null || surDisque;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return existait[0];
+    }
+
+    /**
+     * Récupère le nombre de sessions en mémoire.
+     *
+     * @return le nombre de sessions chaudes du registre.
+     */
+    public int getNombreSessions() {
+        return this.sessions.size();
+    }
+
+    /**
+     * Récupère les statistiques du cache de sessions.
+     *
+     * @return les compteurs de succès, de défauts et d'évictions depuis la construction.
+     */
+    public StatistiquesSessions getStatistiques() {
+        return new StatistiquesSessions(this.sessions.size(),
+                this.magasin == null ? 0 : this.magasin.getNombreSauvegardes(),
+                this.succes.sum(), this.defauts.sum(), this.evictionsCapacite.sum(), this.evictionsInactivite.sum());
+    }
+
+    /**
+     * Écrit toutes les sessions standard inutilisées dans le fichier de débordement, puis le ferme ;
+     * les autres sessions sont perdues. Sans fichier de débordement, ne fait rien.
+     *
+     * @throws IOException si la fermeture du fichier échoue.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.magasin == null) {
+            return;
+        }
+        this.entretien.shutdown();
+        try {
+            this.entretien.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Session session : this.sessions.values()) {
+            evincer(session);
+        }
+        this.magasin.close();
+    }
+
+    /**
+     * Retourne une représentation textuelle du registre.
+     *
+     * @return une chaîne contenant le nombre de sessions en mémoire et le prochain numéro.
+     */
+    @Override
+    public String toString() {
+        return "RegistreSessions{sessions=" + sessions.size() + ", prochainId=" + prochainId.get()
+                + (magasin == null ? "" : ", capacite=" + capacite + ", magasin=" + magasin) + "}";
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    private Session enregistrer(Partie partie) {
+        long id = this.prochainId.getAndIncrement();
+        if (this.magasin != null) {
+            if (id >= Integer.MAX_VALUE) {
+                throw new IllegalStateException("Plus de numéro de session disponible");
+            }
+            reserverNumero(id);
+        }
+        Session session = new Session(id, partie);
+        this.sessions.put(id, session);
+        verifierCapacite();
+        return session;
+    }
+
+    // Le bloc du numéro est écrit sur disque avant que le numéro soit donné à un client
+    private void reserverNumero(long id) {
+        if (id < this.limiteNumeros) {
+            return;
+        }
+        synchronized (this.verrouNumeros) {
+            if (id >= this.limiteNumeros) {
+                long dernier = Math.min(id + BLOC_NUMEROS - 1, Integer.MAX_VALUE - 1L);
+                try {
+                    this.magasin.reserver((int) dernier);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                this.limiteNumeros = dernier + 1;
+            }
+        }
+    }
+
+    // Demande un entretien si la capacité est dépassée ; les demandes simultanées n'en font qu'un
+    private void verifierCapacite() {
+        if (this.sessions.size() > this.capacite && this.entretienDemande.compareAndSet(false, true)) {
+            this.entretien.execute(this::entretenir);
+        }
+    }
+
+    // Appelé sous le verrou de la clé : relit la session évincée et l'efface du disque
+    private Session recharger(long id) {
+        try {
+            Partie partie = this.magasin.charger((int) id);
+            if (partie == null) {
+                return null;
+            }
+            // La version de l'état est rangée dans le nom de la sauvegarde
+            long version = Long.parseLong(this.magasin.getResume((int) id).getNom());
+            this.magasin.supprimer((int) id);
+            return new Session(id, partie, version);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Thread d'entretien uniquement : évince d'abord les sessions inactives, puis, si la capacité
+     * est encore dépassée, les moins récemment utilisées jusqu'à redescendre sous la marge.
+     */
+    private void entretenir() {
+        this.entretienDemande.set(false);
+        long maintenant = System.nanoTime();
+        if (this.delaiInactiviteNs > 0) {
+            for (Session session : this.sessions.values()) {
+                if (maintenant - session.getDerniereUtilisation() > this.delaiInactiviteNs && evincer(session)) {
+                    this.evictionsInactivite.increment();
+                }
+            }
+        }
+        int exces = this.sessions.size() - this.capacite;
+        if (exces <= 0) {
+            return;
+        }
+        exces += (int) ((long) this.capacite * MARGE_EVICTION_POURCENT / 100);
+        // Les dates sont relevées une fois : elles changent pendant le tri
+        List<Candidat> candidats = new ArrayList<>(this.sessions.size());
+        for (Session session : this.sessions.values()) {
+            if (session.isStandard()) {
+                candidats.add(new Candidat(session, session.getDerniereUtilisation()));
+            }
+        }
+        candidats.sort(Comparator.comparingLong(candidat -> candidat.date));
+        for (int i = 0; i < candidats.size() && exces > 0; i++) {
+            if (evincer(candidats.get(i).session)) {
+                this.evictionsCapacite.increment();
+                exces--;
+            }
+        }
+    }
+
+    // Écrit la session sur disque et la retire de la mémoire, si personne ne l'utilise
+    private boolean evincer(Session session) {
+        if (!session.isStandard() || !session.bloquer()) {
+            return false;
+        }
+        boolean[] evincee = new boolean[1];
+        try {
+            this.sessions.compute(session.getId(), (id, presente) -> {
+                if (presente != session) {
+                    // Fermée entre-temps
+                    return presente;
+                }
+                try {
+                    EtatPartie etat = session.getEtat();
+                    this.magasin.sauvegarder((int) (long) id, etat.versPartie(), Long.toString(etat.getVersion()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                evincee[0] = true;
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            // Disque indisponible : la session reste en mémoire
+        }
+        if (!evincee[0]) {
+            session.debloquer();
+        }
+        return evincee[0];
+    }
+
+    private static final class Candidat {
+        private final Session session;
+        private final long date;
+
+        private Candidat(Session session, long date) {
+            this.session = session;
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serveur de parties de Puissance 4 sur TCP.
+ * <p>
+ * Chaque connexion est servie par son propre thread virtuel, qui lit les commandes ligne
+ * par ligne et répond selon le {@link Protocole}. Un thread virtuel bloqué sur sa socket
+ * ne coûte que quelques centaines d'octets : le serveur tient des milliers de connexions
+ * simultanées sans pool à dimensionner. Les parties sont rangées dans un
+ * {@link RegistreSessions} partagé, si bien que deux connexions peuvent jouer la même partie.
+ * </p>
+ * <p>
+ * Les réponses sont envoyées dès que le client n'a plus de commande en attente : un client
+ * qui enchaîne plusieurs commandes sans attendre reçoit ses réponses en un seul envoi.
+ * </p>
+ */
+public class ServeurJeu implements AutoCloseable {
+
+    /**
+     * Port d'écoute par défaut.
+     */
+    public static final int PORT_DEFAUT = 4444;
+
+    // File d'attente des connexions pas encore acceptées
+    private static final int FILE_CONNEXIONS = 1024;
+
+    // Pause avant de réessayer après un échec d'acceptation
+    private static final long ATTENTE_APRES_ERREUR_MS = 100;
+
+    private final ServerSocket socketServeur;
+    private final RegistreSessions registre;
+    private final ExecutorService connexions;
+    private final Set<Socket> clients;
+
+    /**
+     * Ouvre le port d'écoute du serveur, sans encore accepter de connexion.
+     *
+     * @param port le port d'écoute, ou 0 pour un port libre choisi par le système.
+     * @throws IOException si le port ne peut pas être ouvert.
+     */
+    public ServeurJeu(int port) throws IOException {
+        this(port, new RegistreSessions());
+    }
+
+    /**
+     * Ouvre le port d'écoute d'un serveur qui range ses parties dans un registre donné,
+     * par exemple un registre qui évince les parties inactives sur disque.
+     *
+     * @param port     le port d'écoute, ou 0 pour un port libre choisi par le système.
+     * @param registre le registre des sessions, que le serveur ne ferme pas.
+     * @throws IOException si le port ne peut pas être ouvert.
+     * @throws IllegalArgumentException si le registre est null.
+     */
+    public ServeurJeu(int port, RegistreSessions registre) throws IOException {
+        if (registre == null) {
+            throw new IllegalArgumentException("Le registre ne peut pas être null");
+        }
+        this.socketServeur = new ServerSocket(port, FILE_CONNEXIONS);
+        this.registre = registre;
+        this.connexions = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("connexion-", 1).factory());
+        this.clients = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Accepte les connexions en arrière-plan et rend la main aussitôt.
+     */
+    public void demarrer() {
+        Thread.ofVirtual().name("accepteur").start(this::accepter);
+    }
+
+    /**
+     * Accepte les connexions jusqu'à la fermeture du serveur ou l'interruption du thread.
+     * <p>
+     * Chaque connexion acceptée est confiée à un nouveau thread virtuel. Un échec d'acceptation
+     * est signalé sur la sortie d'erreur, puis l'acceptation reprend après une courte pause.
+     * </p>
+     */
+    public void accepter() {
+        while (!this.socketServeur.isClosed()) {
+            Socket socket;
+            try {
+                socket = this.socketServeur.accept();
+            } catch (IOException e) {
+                if (this.socketServeur.isClosed()) {
+                    return;
+                }
+                // Erreur passagère (connexion perdue, plus de descripteurs) : on attend avant de réessayer
+                System.err.println("Échec de l'acceptation d'une connexion : " + e.getMessage());
+                try {
+                    Thread.sleep(ATTENTE_APRES_ERREUR_MS);
+                } catch (InterruptedException interruption) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            this.clients.add(socket);
+            try {
+                this.connexions.execute(() -> servir(socket));
+            } catch (RuntimeException e) {
+                // Le serveur se ferme : la connexion n'est pas servie
+                fermerSocket(socket);
+            }
+        }
+    }
+
+    /**
+     * Récupère le port d'écoute effectif.
+     *
+     * @return le port du serveur (utile quand il a été construit avec le port 0).
+     */
+    public int getPort() {
+        return this.socketServeur.getLocalPort();
+    }
+
+    /**
+     * Récupère le registre des parties hébergées.
+     *
+     * @return le registre des sessions.
+     */
+    public RegistreSessions getRegistre() {
+        return registre;
+    }
+
+    /**
+     * Récupère le nombre de connexions ouvertes.
+     *
+     * @return le nombre de clients connectés.
+     */
+    public int getNombreConnexions() {
+        return this.clients.size();
+    }
+
+    /**
+     * Ferme le port d'écoute et toutes les connexions, puis attend la fin de leurs threads.
+     * Les parties restent dans le registre.
+     */
+    @Override
+    public void close() {
+        fermerSocket(this.socketServeur);
+        this.connexions.shutdown();
+        for (Socket socket : this.clients) {
+            fermerSocket(socket);
+        }
+        try {
+            this.connexions.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retourne une représentation textuelle du serveur.
+     *
+     * @return une chaîne contenant le port, le nombre de connexions et le registre.
+     */
+    @Override
+    public String toString() {
+        return "ServeurJeu{port=" + getPort() + ", connexions=" + clients.size() + ", registre=" + registre + "}";
+    }
+
+    /**
+     * Lance un serveur et accepte les connexions jusqu'à l'arrêt du programme.
+     * <p>
+     * Arguments, tous facultatifs : le port d'écoute (par défaut {@link #PORT_DEFAUT}), le
+     * fichier où évincer les parties (sans fichier, toutes restent en mémoire), le nombre de
+     * parties gardées en mémoire (par défaut {@link RegistreSessions#CAPACITE_DEFAUT}) et le
+     * délai d'inactivité avant éviction en secondes (par défaut 300).
+     * </p>
+     *
+     * @param args le port, le fichier de débordement, la capacité et le délai d'inactivité.
+     * @throws IOException si le port ou le fichier ne peuvent pas être ouverts.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : PORT_DEFAUT;
+        RegistreSessions registre;
+        if (args.length > 1) {
+            int capacite = args.length > 2 ? Integer.parseInt(args[2]) : RegistreSessions.CAPACITE_DEFAUT;
+            long delai = args.length > 3 ? TimeUnit.SECONDS.toMillis(Long.parseLong(args[3]))
+                    : RegistreSessions.DELAI_INACTIVITE_DEFAUT;
+            registre = new RegistreSessions(Path.of(args[1]), capacite, delai);
+        } else {
+            registre = new RegistreSessions();
+        }
+        try (registre; ServeurJeu serveur = new ServeurJeu(port, registre)) {
+            System.out.println("Serveur Puissance4 à l'écoute sur le port " + serveur.getPort());
+            serveur.accepter();
+        }
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    private void servir(Socket socket) {
+        try (socket;
+             BufferedReader lecteur = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer ecrivain = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            // Les réponses sont courtes : on ne les retient pas en attendant d'en avoir d'autres
+            socket.setTcpNoDelay(true);
+            Protocole protocole = new Protocole(this.registre);
+            StringBuilder reponse = new StringBuilder(128);
+            char[] tampon = new char[128];
+            boolean continuer = true;
+            String ligne;
+            while (continuer && (ligne = lecteur.readLine()) != null) {
+                reponse.setLength(0);
+                continuer = protocole.executer(ligne, reponse);
+                reponse.append('\n');
+                int longueur = reponse.length();
+                if (longueur > tampon.length) {
+                    tampon = new char[Math.max(longueur, 2 * tampon.length)];
+                }
+                reponse.getChars(0, longueur, tampon, 0);
+                ecrivain.write(tampon, 0, longueur);
+                if (!continuer || !lecteur.ready()) {
+                    ecrivain.flush();
+                }
+            }
+        } catch (IOException e) {
+            // Connexion coupée par le client ou fermée par le serveur : rien à répondre
+        } finally {
+            this.clients.remove(socket);
+        }
+    }
+
+    private static void fermerSocket(AutoCloseable socket) {
+        try {
+            socket.close();
+        } catch (Exception e) {
+            // Déjà fermée
+        }
+    }
+}
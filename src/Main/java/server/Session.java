@@ -0,0 +1,234 @@
+package server;
+
+import business.Couleur;
+import business.EtatPartie;
+import business.Partie;
+import business.Puissance4;
+import business.Puissance4Concurrent;
+import business.Puissance4Exception;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Une partie hébergée par le serveur, identifiée par un numéro.
+ * <p>
+ * Plusieurs connexions peuvent agir sur la même session (un joueur par connexion, ou
+ * les deux joueurs sur une seule, plus des spectateurs). La partie est tenue par un
+ * {@link Puissance4Concurrent} : chaque coup est appliqué atomiquement sans verrou, et
+ * les lectures d'état ne bloquent jamais les joueurs.
+ * </p>
+ * <p>
+ * Le registre peut évincer une session inactive vers le disque. Une session s'obtient donc par
+ * {@link RegistreSessions#ouvrir(long)} et se rend par {@link #liberer()} : une session
+ * en cours d'utilisation n'est jamais évincée.
+ * </p>
+ */
+public class Session {
+
+    // Marque d'une session évincée ou en cours d'éviction dans le compteur d'utilisateurs
+    private static final int EVINCEE = -1;
+
+    private final long id;
+    private final Puissance4Concurrent jeu;
+    private final boolean standard;
+    private final AtomicInteger utilisateurs;
+    private volatile long derniereUtilisation;
+
+    /**
+     * Construit une session autour d'une nouvelle partie.
+     *
+     * @param id     le numéro de la session.
+     * @param partie la partie à héberger.
+     * @throws IllegalArgumentException si la partie est null.
+     */
+    public Session(long id, Partie partie) {
+        this(id, partie, 0);
+    }
+
+    /**
+     * Construit une session autour d'une partie rechargée, en reprenant la version de son état :
+     * un coup conditionné par une version lue avant l'éviction reste correctement vérifié.
+     *
+     * @param id      le numéro de la session.
+     * @param partie  la partie à héberger.
+     * @param version la version de l'état de la partie.
+     * @throws IllegalArgumentException si la partie est null ou si la version est négative.
+     */
+    public Session(long id, Partie partie, long version) {
+        if (partie == null) {
+            throw new IllegalArgumentException("La partie ne peut pas être null");
+        }
+        this.id = id;
+        this.jeu = new Puissance4Concurrent(partie, version);
+        this.standard = partie.getGrille().isStandard();
+        this.utilisateurs = new AtomicInteger();
+        this.derniereUtilisation = System.nanoTime();
+    }
+
+    /**
+     * Récupère le numéro de la session.
+     *
+     * @return le numéro attribué par le registre.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Joue un coup pour le joueur courant.
+     *
+     * @param colonne la colonne où jouer.
+     * @return le statut de {@link Puissance4#tenterJouer(int)}.
+     */
+    public int jouer(int colonne) {
+        return this.jeu.tenterJouer(colonne);
+    }
+
+    /**
+     * Joue un coup pour le joueur courant, si la partie est toujours dans la version donnée.
+     *
+     * @param colonne         la colonne où jouer.
+     * @param versionAttendue la version de l'état sur laquelle le coup a été choisi.
+     * @return le statut de {@link Puissance4Concurrent#tenterJouer(int, long)}.
+     * @throws IllegalArgumentException si la version est négative.
+     */
+    public int jouer(int colonne, long versionAttendue) {
+        return this.jeu.tenterJouer(colonne, versionAttendue);
+    }
+
+    /**
+     * Annule le dernier coup joué.
+     *
+     * @throws Puissance4Exception si aucun coup n'a été joué ou si la partie a été abandonnée.
+     */
+    public void annulerCoup() throws Puissance4Exception {
+        this.jeu.annulerCoup();
+    }
+
+    /**
+     * Fait abandonner le joueur courant.
+     *
+     * @return la couleur du gagnant, c'est-à-dire de l'adversaire.
+     * @throws Puissance4Exception si la partie est déjà finie.
+     */
+    public Couleur abandonner() throws Puissance4Exception {
+        return this.jeu.abandonner().getGagnant();
+    }
+
+    /**
+     * Récupère l'état courant de la partie, sans verrou.
+     *
+     * @return l'instantané le plus récent.
+     */
+    public EtatPartie getEtat() {
+        return this.jeu.getEtat();
+    }
+
+    /**
+     * Décrit l'état de la partie sur une ligne : {@code EN_COURS}, {@code VICTOIRE},
+     * {@code ABANDON} ou {@code MATCH_NUL}, puis la couleur du joueur courant (partie en cours)
+     * ou du gagnant ({@code -} pour un match nul), puis la version de l'état, puis les colonnes
+     * jouées séparées par des virgules ({@code -} si aucun coup n'a été joué).
+     *
+     * @param sortie le tampon où écrire la description.
+     */
+    public void decrire(StringBuilder sortie) {
+        EtatPartie etat = this.jeu.getEtat();
+        Couleur couleur;
+        if (!etat.isPartieFinie()) {
+            sortie.append("EN_COURS ");
+            couleur = etat.getJoueurCourant();
+        } else if (etat.isParAbandon()) {
+            sortie.append("ABANDON ");
+            couleur = etat.getGagnant();
+        } else if (etat.getGagnant() != null) {
+            sortie.append("VICTOIRE ");
+            couleur = etat.getGagnant();
+        } else {
+            sortie.append("MATCH_NUL ");
+            couleur = null;
+        }
+        sortie.append(couleur == null ? "-" : couleur.name()).append(' ');
+        sortie.append(etat.getVersion()).append(' ');
+
+        int[] coups = etat.getCoups();
+        if (coups.length == 0) {
+            sortie.append('-');
+        }
+        for (int i = 0; i < coups.length; i++) {
+            if (i > 0) {
+                sortie.append(',');
+            }
+            sortie.append(coups[i]);
+        }
+    }
+
+    /**
+     * Rend la session après usage, pour qu'elle puisse de nouveau être évincée si elle reste inactive.
+     */
+    public void liberer() {
+        this.derniereUtilisation = System.nanoTime();
+        this.utilisateurs.decrementAndGet();
+    }
+
+    /**
+     * Réserve la session pour une action, sauf si elle est en cours d'éviction.
+     *
+     * @return true si la session est réservée, false si elle est évincée.
+     */
+    boolean acquerir() {
+        while (true) {
+            int n = this.utilisateurs.get();
+            if (n == EVINCEE) {
+                return false;
+            }
+            if (this.utilisateurs.compareAndSet(n, n + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Marque la session comme évincée, si personne ne l'utilise.
+     *
+     * @return true si la session est marquée et ne sera plus réservée.
+     */
+    boolean bloquer() {
+        return this.utilisateurs.compareAndSet(0, EVINCEE);
+    }
+
+    /**
+     * Annule {@link #bloquer()} quand l'éviction a échoué.
+     */
+    void debloquer() {
+        this.utilisateurs.set(0);
+    }
+
+    /**
+     * Récupère la date de la dernière action terminée sur la session.
+     *
+     * @return la date en nanosecondes ({@link System#nanoTime()}).
+     */
+    long getDerniereUtilisation() {
+        return this.derniereUtilisation;
+    }
+
+    /**
+     * Vérifie si la partie peut être écrite sur disque au format des sauvegardes.
+     *
+     * @return true si la partie est jouée sur la grille standard.
+     */
+    boolean isStandard() {
+        return this.standard;
+    }
+
+    /**
+     * Retourne une représentation textuelle de la session.
+     *
+     * @return une chaîne contenant le numéro et la partie.
+     */
+    @Override
+    public String toString() {
+        return "Session{id=" + id + ", etat=" + jeu.getEtat() + "}";
+    }
+}
@@ -0,0 +1,115 @@
+package server;
+
+/**
+ * Statistiques du cache de sessions d'un {@link RegistreSessions}.
+ * <p>
+ * Un succès est une session trouvée en mémoire, un défaut une session rechargée du disque.
+ * Les évictions sont comptées séparément selon leur cause : dépassement de la capacité
+ * (la session la moins récemment utilisée part en premier) ou inactivité prolongée.
+ * </p>
+ */
+public class StatistiquesSessions {
+
+    private final int sessionsEnMemoire;
+    private final int sessionsSurDisque;
+    private final long succes;
+    private final long defauts;
+    private final long evictionsCapacite;
+    private final long evictionsInactivite;
+
+    /**
+     * Construit les statistiques du cache.
+     *
+     * @param sessionsEnMemoire   le nombre de sessions en mémoire.
+     * @param sessionsSurDisque   le nombre de sessions évincées sur disque.
+     * @param succes              le nombre de sessions trouvées en mémoire.
+     * @param defauts             le nombre de sessions rechargées du disque.
+     * @param evictionsCapacite   le nombre d'évictions dues à la capacité.
+     * @param evictionsInactivite le nombre d'évictions dues à l'inactivité.
+     */
+    public StatistiquesSessions(int sessionsEnMemoire, int sessionsSurDisque, long succes, long defauts,
+                                long evictionsCapacite, long evictionsInactivite) {
+        this.sessionsEnMemoire = sessionsEnMemoire;
+        this.sessionsSurDisque = sessionsSurDisque;
+        this.succes = succes;
+        this.defauts = defauts;
+        this.evictionsCapacite = evictionsCapacite;
+        this.evictionsInactivite = evictionsInactivite;
+    }
+
+    /**
+     * Récupère le nombre de sessions en mémoire.
+     *
+     * @return le nombre de sessions chaudes.
+     */
+    public int getSessionsEnMemoire() {
+        return sessionsEnMemoire;
+    }
+
+    /**
+     * Récupère le nombre de sessions évincées sur disque.
+     *
+     * @return le nombre de sessions froides.
+     */
+    public int getSessionsSurDisque() {
+        return sessionsSurDisque;
+    }
+
+    /**
+     * Récupère le nombre de sessions trouvées en mémoire.
+     *
+     * @return le nombre de succès.
+     */
+    public long getSucces() {
+        return succes;
+    }
+
+    /**
+     * Récupère le nombre de sessions rechargées du disque.
+     *
+     * @return le nombre de défauts.
+     */
+    public long getDefauts() {
+        return defauts;
+    }
+
+    /**
+     * Récupère le nombre d'évictions dues au dépassement de la capacité.
+     *
+     * @return le nombre d'évictions par ancienneté d'utilisation.
+     */
+    public long getEvictionsCapacite() {
+        return evictionsCapacite;
+    }
+
+    /**
+     * Récupère le nombre d'évictions dues à l'inactivité.
+     *
+     * @return le nombre d'évictions par délai d'inactivité.
+     */
+    public long getEvictionsInactivite() {
+        return evictionsInactivite;
+    }
+
+    /**
+     * Calcule la proportion d'accès servis depuis la mémoire.
+     *
+     * @return le taux de succès entre 0 et 1, ou 1 si aucun accès n'a eu lieu.
+     */
+    public double getTauxSucces() {
+        long acces = succes + defauts;
+        return acces == 0 ? 1.0 : (double) succes / acces;
+    }
+
+    /**
+     * Retourne une représentation textuelle des statistiques.
+     *
+     * @return une chaîne décrivant l'occupation du cache, ses succès et ses évictions.
+     */
+    @Override
+    public String toString() {
+        return String.format("StatistiquesSessions{memoire=%d, disque=%d, succes=%d, defauts=%d, tauxSucces=%.1f%%, evictionsCapacite=%d, evictionsInactivite=%d}",
+                sessionsEnMemoire, sessionsSurDisque, succes, defauts, 100 * getTauxSucces(),
+                evictionsCapacite, evictionsInactivite);
+    }
+}
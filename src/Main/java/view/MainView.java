@@ -2,25 +2,32 @@ package view;
 
 import business.*;
 import java.io.IOException;
+import java.util.Date;
+import java.util.List;
 import java.util.Scanner;
 
 public class MainView {
     private static Scanner scanner = new Scanner(System.in);
+    // Emplacement du magasin de sauvegardes d'où vient la partie (-1 : nouvelle partie)
+    private static int emplacement = -1;
 
     public static void main(String[] args) {
         System.out.println("Bienvenue au jeu Puissance4 !");
 
         // --- 1. PROPOSER DE CHARGER LA PARTIE ---
         Puissance4 jeu = demarrerJeu();
+        // Une sauvegarde choisie dans le magasin peut contenir une partie déjà finie, donc déjà archivée
+        boolean finieAuChargement = jeu.gameIsOver();
 
         while (!jeu.gameIsOver()) {
             display(jeu.getPartie());
 
             Joueur joueurCourant = jeu.getPartie().getJoueurCourant();
-            System.out.println("Tour du joueur : " + joueurCourant.getNom());
+            int numeroCoup = jeu.getPartie().getGrille().nombreCoups() + 1;
+            System.out.println("Tour du joueur : " + joueurCourant.getNom() + " (coup n°" + numeroCoup + ")");
 
-            // On ajoute l'option -2 pour sauvegarder
-            System.out.println("Entrez colonne (0-" + (Grille.NB_COLONNES - 1) + "), -1 (Abandon), -2 (Sauvegarder & Quitter) :");
+            // On ajoute l'option -2 pour sauvegarder et -3 pour annuler
+            System.out.println("Entrez colonne (0-" + (jeu.getPartie().getGrille().getNbColonnes() - 1) + "), -1 (Abandon), -2 (Sauvegarder & Quitter), -3 (Annuler le coup) :");
 
             try {
                 if (!scanner.hasNextInt()) {
@@ -35,12 +42,21 @@ public class MainView {
                 } else if (choix == -2) {
                     // --- 2. GESTION DE LA SAUVEGARDE ---
                     try {
-                        SauvegardeManager.sauvegarder(jeu.getPartie());
-                        System.out.println("Partie sauvegardée avec succès ! A bientôt.");
+                        sauvegarderDernierePartie(jeu.getPartie());
+                        MagasinSauvegardes magasin = SauvegardeManager.getMagasin();
+                        if (emplacement < 0) {
+                            emplacement = magasin.ajouter(jeu.getPartie(), null);
+                        } else {
+                            magasin.sauvegarder(emplacement, jeu.getPartie(), null);
+                        }
+                        SauvegardeManager.terminer(); // attend la fin de l'écriture en arrière-plan
+                        System.out.println("Partie sauvegardée avec succès (emplacement n°" + emplacement + ") ! A bientôt.");
                         return; // On arrête le programme proprement
                     } catch (IOException e) {
                         System.out.println("ERREUR lors de la sauvegarde : " + e.getMessage());
                     }
+                } else if (choix == -3) {
+                    jeu.annulerCoup();
                 } else {
                     jeu.jouer(choix);
                 }
@@ -64,14 +80,34 @@ public class MainView {
         } else {
             System.out.println("MATCH NUL ! La grille est pleine.");
         }
+        try {
+            // Une partie reprise d'une ancienne sauvegarde n'a pas l'ordre de ses coups : on ne l'archive pas
+            Partie partie = jeu.getPartie();
+            if (!finieAuChargement && partie.getHistoriqueCoups().length == partie.getGrille().nombreCoups()) {
+                SauvegardeManager.getArchive().archiver(partie);
+            }
+            SauvegardeManager.terminer();
+        } catch (IOException e) {
+            System.out.println("ERREUR lors de l'archivage de la partie : " + e.getMessage());
+        }
 
         scanner.close();
     }
 
+    // Écrit la partie reprise par le choix 2 en arrière-plan, pendant l'écriture dans le magasin
+    private static void sauvegarderDernierePartie(Partie partie) {
+        SauvegardeManager.sauvegarderEnArrierePlan(partie).whenComplete((ok, erreur) -> {
+            if (erreur != null) {
+                System.out.println("ERREUR lors de la sauvegarde : " + erreur.getMessage());
+            }
+        });
+    }
+
     // --- NOUVELLE MÉTHODE POUR GÉRER LE MENU DE DÉPART ---
     private static Puissance4 demarrerJeu() {
         System.out.println("1. Nouvelle Partie");
         System.out.println("2. Charger la dernière partie");
+        System.out.println("3. Choisir une sauvegarde");
         System.out.print("Votre choix : ");
 
         int choix = 0;
@@ -84,8 +120,12 @@ public class MainView {
         if (choix == 2) {
             try {
                 Partie partieSauvegardee = SauvegardeManager.charger();
-                if (partieSauvegardee != null) {
+                // Une partie terminée n'a plus rien à reprendre (fichier écrit par une ancienne version)
+                if (partieSauvegardee != null && partieSauvegardee.isPartieFinie()) {
+                    System.out.println("La dernière partie sauvegardée est terminée. Création d'une nouvelle partie.");
+                } else if (partieSauvegardee != null) {
                     System.out.println("Partie chargée !");
+                    retrouverEmplacement(partieSauvegardee);
                     // On utilise le constructeur que tu m'as montré dans ton image !
                     return new Puissance4(partieSauvegardee);
                 } else {
@@ -95,21 +135,74 @@ public class MainView {
                 System.out.println("Erreur au chargement (fichier corrompu ?). Nouvelle partie lancée.");
             }
         }
+        if (choix == 3) {
+            Puissance4 jeu = choisirSauvegarde();
+            if (jeu != null) {
+                return jeu;
+            }
+        }
         return new Puissance4(); // Nouvelle partie par défaut
     }
 
+    // La dernière partie vient aussi du magasin : la sauvegarder de nouveau remplacera son emplacement
+    private static void retrouverEmplacement(Partie partie) {
+        try {
+            emplacement = SauvegardeManager.retrouverEmplacement(partie);
+        } catch (IOException e) {
+            System.out.println("Magasin de sauvegardes illisible : la partie sera sauvegardée dans un nouvel emplacement.");
+        }
+    }
+
+    private static Puissance4 choisirSauvegarde() {
+        try {
+            MagasinSauvegardes magasin = SauvegardeManager.getMagasin();
+            List<ResumeSauvegarde> resumes = magasin.lister();
+            if (resumes.isEmpty()) {
+                System.out.println("Aucune sauvegarde trouvée. Création d'une nouvelle partie.");
+                return null;
+            }
+            for (ResumeSauvegarde resume : resumes) {
+                String etat = resume.isPartieFinie() ? "terminée" : "en cours";
+                System.out.println("  " + resume.getId() + ". " + resume.getNbCoups() + " coups, " + etat
+                        + " (" + new Date(resume.getDate()) + ")");
+            }
+            System.out.print("Numéro de la sauvegarde : ");
+            if (!scanner.hasNextInt()) {
+                scanner.next();
+                return null;
+            }
+            int id = scanner.nextInt();
+            Partie partie = magasin.charger(id);
+            if (partie == null) {
+                System.out.println("Emplacement inconnu. Création d'une nouvelle partie.");
+                return null;
+            }
+            System.out.println("Partie chargée !");
+            emplacement = id;
+            return new Puissance4(partie);
+        } catch (IOException e) {
+            System.out.println("Erreur au chargement (fichier corrompu ?). Nouvelle partie lancée.");
+            return null;
+        }
+    }
+
     public static void display(Partie partie) {
         // ... (Ta méthode display reste identique, ne change rien ici)
         Grille grille = partie.getGrille();
         Jeton[][] plateau = grille.getJetons();
 
-        System.out.println("\n 0 1 2 3 4 5 6");
-        System.out.println("---------------");
+        StringBuilder numeros = new StringBuilder("\n");
+        for (int j = 0; j < grille.getNbColonnes(); j++) {
+            numeros.append(' ').append(j % 10);
+        }
+        String bordure = "-".repeat(2 * grille.getNbColonnes() + 1);
+        System.out.println(numeros);
+        System.out.println(bordure);
 
 
-        for (int i = 0; i < Grille.NB_LIGNES; i++) {
+        for (int i = 0; i < grille.getNbLignes(); i++) {
             System.out.print("|");
-            for (int j = 0; j < Grille.NB_COLONNES; j++) {
+            for (int j = 0; j < grille.getNbColonnes(); j++) {
                 Jeton jeton = plateau[i][j];
                 if (jeton == null) {
                     System.out.print(".");
@@ -125,6 +218,6 @@ public class MainView {
             }
             System.out.println();
         }
-        System.out.println("---------------\n");
+        System.out.println(bordure + "\n");
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package benchmark;
+
+import business.Couleur;
+import business.Grille;
+import engine.Evaluation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare la mise à jour incrémentale d'une {@link Evaluation} (poser, évaluer, retirer un jeton,
+ * comme à chaque noeud du solveur) au recalcul complet depuis la grille.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    private Grille grille;
+    private Evaluation evaluation;
+    private int colonne;
+
+    /**
+     * Prépare une position de milieu de partie et son évaluation.
+     */
+    @Setup
+    public void preparer() {
+        this.grille = Plateaux.grille(Plateaux.coups(16));
+        this.evaluation = new Evaluation(this.grille);
+        this.colonne = Plateaux.colonneLibre(this.grille);
+    }
+
+    /**
+     * Joue un coup, évalue la position puis annule le coup, en mettant l'évaluation à jour.
+     *
+     * @return la note de la position après le coup.
+     */
+    @Benchmark
+    public int incremental() {
+        int ligne = this.grille.jouerCoup(Couleur.JAUNE, this.colonne);
+        this.evaluation.poser(Couleur.JAUNE, ligne, this.colonne);
+        int note = this.evaluation.evaluer(Couleur.JAUNE);
+        this.evaluation.retirer(Couleur.JAUNE, this.grille.retirerJeton(this.colonne), this.colonne);
+        return note;
+    }
+
+    /**
+     * Joue un coup, réévalue toute la grille puis annule le coup.
+     *
+     * @return la note de la position après le coup.
+     */
+    @Benchmark
+    public int recalcul() {
+        this.grille.jouerCoup(Couleur.JAUNE, this.colonne);
+        this.evaluation.recalculer(this.grille);
+        int note = this.evaluation.evaluer(Couleur.JAUNE);
+        this.grille.retirerJeton(this.colonne);
+        return note;
+    }
+}
@@ -0,0 +1,129 @@
+package benchmark;
+
+import business.Couleur;
+import business.Grille;
+import business.InstantaneGrille;
+import business.Jeton;
+import business.Position;
+import business.Puissance4Exception;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure les opérations élémentaires de {@link Grille} sur une grille vide,
+ * en milieu de partie et presque pleine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrilleBenchmark {
+
+    /**
+     * Nombre de jetons déjà posés : grille vide, milieu de partie, presque pleine.
+     */
+    @Param({"0", "20", "38"})
+    public int remplissage;
+
+    private Grille grille;
+    private Grille grilleBoucles;
+    private Jeton jeton;
+    private int colonne;
+    private Position dernierePosition;
+
+    /**
+     * Prépare la grille de la mesure.
+     */
+    @Setup
+    public void preparer() {
+        int[] coups = Plateaux.coups(remplissage);
+        this.grille = Plateaux.grille(coups);
+        this.grilleBoucles = Plateaux.grille(coups);
+        this.grilleBoucles.setDetectionParBoucles(true);
+
+        Couleur auTrait = remplissage % 2 == 0 ? Couleur.JAUNE : Couleur.ROUGE;
+        this.jeton = Jeton.de(auTrait);
+        this.colonne = Plateaux.colonneLibre(this.grille);
+
+        // Dernier jeton posé, ou le bas de la colonne centrale sur une grille vide
+        int derniereColonne = coups.length == 0 ? this.colonne : coups[coups.length - 1];
+        int ligne = Grille.NB_LIGNES - Math.max(1, this.grille.hauteurColonne(derniereColonne));
+        this.dernierePosition = new Position(ligne, derniereColonne);
+    }
+
+    /**
+     * Insère un jeton puis le retire pour garder la grille identique d'une mesure à l'autre.
+     *
+     * @return la ligne d'insertion.
+     * @throws Puissance4Exception si la colonne est pleine (n'arrive pas).
+     */
+    @Benchmark
+    public int insererJeton() throws Puissance4Exception {
+        int ligne = this.grille.insererJeton(this.jeton, this.colonne);
+        this.grille.retirerJeton(this.colonne);
+        return ligne;
+    }
+
+    /**
+     * Détection d'alignement par bitboard sur le dernier jeton posé.
+     *
+     * @return true si un alignement est trouvé.
+     */
+    @Benchmark
+    public boolean alignementRealise() {
+        return this.grille.alignementRealise(this.dernierePosition);
+    }
+
+    /**
+     * Détection d'alignement par les boucles de parcours, pour comparaison.
+     *
+     * @return true si un alignement est trouvé.
+     */
+    @Benchmark
+    public boolean alignementRealiseBoucles() {
+        return this.grilleBoucles.alignementRealise(this.dernierePosition);
+    }
+
+    /**
+     * Test de grille pleine.
+     *
+     * @return true si la grille est pleine.
+     */
+    @Benchmark
+    public boolean isFullGrille() {
+        return this.grille.isFullGrille();
+    }
+
+    /**
+     * Vue tableau de la grille, utilisée par l'affichage.
+     *
+     * @return le tableau des jetons.
+     */
+    @Benchmark
+    public Jeton[][] getJetons() {
+        return this.grille.getJetons();
+    }
+
+    /**
+     * Instantané immuable de la grille, qui remplace la copie du tableau pour les lecteurs.
+     *
+     * @return l'instantané.
+     */
+    @Benchmark
+    public InstantaneGrille instantane() {
+        return this.grille.instantane();
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import business.EcouteurCoups;
+import business.Grille;
+import business.LecteurCoups;
+import business.Puissance4;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure la lecture d'un tampon direct de 1 Mo de parties aléatoires complètes, une par ligne.
+ * <p>
+ * Un score de {@code n} opérations par seconde correspond à un débit de {@code n} Mo/s.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LecteurCoupsBenchmark {
+
+    private static final int TAILLE = 1 << 20;
+
+    private ByteBuffer tampon;
+    private LecteurCoups lecteur;
+    private Blackhole trou;
+
+    /**
+     * Remplit le tampon et prépare un lecteur qui consomme chaque partie.
+     *
+     * @param trou le puits de JMH qui empêche d'éliminer le travail de l'écouteur.
+     */
+    @Setup
+    public void preparer(Blackhole trou) {
+        this.trou = trou;
+        this.tampon = ByteBuffer.allocateDirect(TAILLE);
+        SplittableRandom hasard = new SplittableRandom(42);
+        byte[] ligne = new byte[Grille.NB_LIGNES * Grille.NB_COLONNES + 1];
+        while (true) {
+            int longueur = partieAleatoire(hasard, ligne);
+            if (longueur > this.tampon.remaining()) {
+                break;
+            }
+            this.tampon.put(ligne, 0, longueur);
+        }
+        this.tampon.flip();
+        this.lecteur = new LecteurCoups(new EcouteurCoups() {
+            @Override
+            public void partie(long numero, Grille grille, int nbCoups, int issue) {
+                LecteurCoupsBenchmark.this.trou.consume(issue);
+            }
+        });
+    }
+
+    /**
+     * Lit tout le tampon.
+     *
+     * @return le nombre de parties lues.
+     */
+    @Benchmark
+    public long lire() {
+        return this.lecteur.lire(this.tampon.duplicate());
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    private static int partieAleatoire(SplittableRandom hasard, byte[] ligne) {
+        Puissance4 jeu = new Puissance4();
+        int n = 0;
+        while (!jeu.gameIsOver()) {
+            int col = hasard.nextInt(Grille.NB_COLONNES);
+            if (jeu.tenterJouer(col) >= 0) {
+                ligne[n++] = (byte) ('1' + col);
+            }
+        }
+        ligne[n++] = '\n';
+        return n;
+    }
+}
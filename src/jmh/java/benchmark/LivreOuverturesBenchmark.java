@@ -0,0 +1,91 @@
+package benchmark;
+
+import business.Couleur;
+import business.Grille;
+import engine.GenerateurLivre;
+import engine.LivreOuvertures;
+import engine.Resultat;
+import engine.Solveur;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare la réponse d'un {@link LivreOuvertures} projeté en mémoire à la résolution de la même
+ * position par le {@link Solveur}. Le livre est généré à la préparation depuis une position de
+ * {@value #COUPS_DEPART} coups, jusqu'à {@value #PROFONDEUR} coups : assez pour une dichotomie
+ * sur quelques milliers de clés sans allonger la campagne de mesure.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LivreOuverturesBenchmark {
+
+    private static final int COUPS_DEPART = 16;
+    private static final int PROFONDEUR = 20;
+
+    private Path fichier;
+    private LivreOuvertures livre;
+    private Solveur solveur;
+    private Grille grille;
+
+    /**
+     * Génère le livre dans un fichier temporaire et l'ouvre.
+     *
+     * @throws IOException si le fichier ne peut être écrit ou lu.
+     */
+    @Setup
+    public void preparer() throws IOException {
+        this.grille = Plateaux.grille(Plateaux.coups(COUPS_DEPART));
+        this.fichier = Files.createTempFile("livre", ".p4l");
+        new GenerateurLivre(PROFONDEUR).generer(this.grille, Couleur.JAUNE, this.fichier);
+        this.livre = new LivreOuvertures(this.fichier);
+        this.solveur = new Solveur();
+    }
+
+    /**
+     * Supprime le fichier du livre.
+     *
+     * @throws IOException si la suppression échoue.
+     */
+    @TearDown
+    public void terminer() throws IOException {
+        Files.deleteIfExists(this.fichier);
+    }
+
+    /**
+     * Cherche la position de départ dans le livre.
+     *
+     * @return le résultat lu dans le livre.
+     */
+    @Benchmark
+    public Resultat livre() {
+        return this.livre.chercher(this.grille, Couleur.JAUNE);
+    }
+
+    /**
+     * Résout la position de départ, la table de transposition étant conservée entre deux appels.
+     *
+     * @return le résultat de la résolution.
+     */
+    @Benchmark
+    public Resultat solveur() {
+        return this.solveur.resoudre(this.grille, Couleur.JAUNE);
+    }
+}
@@ -0,0 +1,76 @@
+package benchmark;
+
+import business.Couleur;
+import business.Grille;
+import engine.RechercheMonteCarlo;
+import engine.ResultatMonteCarlo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure une recherche {@link RechercheMonteCarlo} de {@value #SIMULATIONS} simulations sur un thread,
+ * depuis une grille vide standard et depuis une grande grille qui ne tient pas dans un mot.
+ * Le temps mesuré divisé par le nombre de simulations donne le coût d'une itération complète
+ * (sélection, développement, simulation et rétropropagation).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonteCarloBenchmark {
+
+    private static final int SIMULATIONS = 10_000;
+
+    /**
+     * Dimensions de la grille : lignes, colonnes et alignement.
+     */
+    @Param({"6x7x4", "9x10x5"})
+    public String dimensions;
+
+    private RechercheMonteCarlo recherche;
+    private Grille grille;
+
+    /**
+     * Prépare la grille et la recherche.
+     */
+    @Setup
+    public void preparer() {
+        String[] d = dimensions.split("x");
+        this.grille = new Grille(Integer.parseInt(d[0]), Integer.parseInt(d[1]), Integer.parseInt(d[2]));
+        this.recherche = new RechercheMonteCarlo(1);
+        this.recherche.setGraine(1);
+    }
+
+    /**
+     * Arrête la recherche.
+     */
+    @TearDown
+    public void terminer() {
+        this.recherche.close();
+    }
+
+    /**
+     * Cherche un coup en partant d'un arbre vide.
+     *
+     * @return le résultat de la recherche.
+     */
+    @Benchmark
+    public ResultatMonteCarlo rechercher() {
+        this.recherche.nouvellePartie();
+        return this.recherche.meilleurCoup(this.grille, Couleur.JAUNE, 0, SIMULATIONS);
+    }
+}
@@ -0,0 +1,53 @@
+package benchmark;
+
+import business.Grille;
+import business.Puissance4;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le débit de parties aléatoires complètes, en parties par seconde.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartieBenchmark {
+
+    private SplittableRandom hasard;
+
+    /**
+     * Initialise le générateur avec une graine fixe.
+     */
+    @Setup
+    public void preparer() {
+        this.hasard = new SplittableRandom(42);
+    }
+
+    /**
+     * Joue une partie aléatoire complète par l'API sans exception.
+     *
+     * @return le jeu terminé.
+     */
+    @Benchmark
+    public Puissance4 partieAleatoire() {
+        Puissance4 jeu = new Puissance4();
+        while (!jeu.gameIsOver()) {
+            jeu.tenterJouer(this.hasard.nextInt(Grille.NB_COLONNES));
+        }
+        return jeu;
+    }
+}
@@ -0,0 +1,108 @@
+package benchmark;
+
+import business.Couleur;
+import business.Grille;
+import business.Puissance4;
+
+import java.util.Random;
+
+/**
+ * Fabrique les positions de départ des benchmarks.
+ * <p>
+ * Les positions sont tirées au hasard à partir d'une graine fixe, sans alignement de 4,
+ * pour que chaque campagne de mesure travaille sur exactement les mêmes grilles.
+ * Échanger les couleurs ne crée pas d'alignement : une suite de coups reste donc valable
+ * quel que soit le joueur qui commence.
+ * </p>
+ */
+public final class Plateaux {
+
+    private static final long GRAINE = 20240601L;
+
+    private Plateaux() {
+    }
+
+    /**
+     * Tire une suite de coups ne formant aucun alignement de 4.
+     *
+     * @param nbCoups le nombre de coups à jouer (au plus 40).
+     * @return les colonnes jouées, dans l'ordre.
+     */
+    public static int[] coups(int nbCoups) {
+        Random hasard = new Random(GRAINE);
+        while (true) {
+            int[] coups = tirer(hasard, nbCoups);
+            if (coups != null) {
+                return coups;
+            }
+        }
+    }
+
+    /**
+     * Construit une grille en jouant une suite de coups.
+     *
+     * @param coups les colonnes jouées, dans l'ordre, JAUNE commençant.
+     * @return la grille obtenue.
+     */
+    public static Grille grille(int[] coups) {
+        Grille grille = new Grille();
+        Couleur joueur = Couleur.JAUNE;
+        for (int col : coups) {
+            grille.jouerCoup(joueur, col);
+            joueur = joueur.adverse();
+        }
+        return grille;
+    }
+
+    /**
+     * Construit un jeu en jouant une suite de coups.
+     *
+     * @param coups les colonnes jouées, dans l'ordre.
+     * @return le jeu obtenu, dont la partie n'est pas finie.
+     */
+    public static Puissance4 jeu(int[] coups) {
+        Puissance4 jeu = new Puissance4();
+        for (int col : coups) {
+            jeu.tenterJouer(col);
+        }
+        return jeu;
+    }
+
+    /**
+     * Cherche la colonne non pleine la plus proche du centre.
+     *
+     * @param grille la grille à examiner.
+     * @return l'indice de la colonne.
+     */
+    public static int colonneLibre(Grille grille) {
+        for (int i = 0; i < Grille.NB_COLONNES; i++) {
+            int col = Grille.NB_COLONNES / 2 + (1 - 2 * (i % 2)) * (i + 1) / 2;
+            if (!grille.isFullColonne(col)) {
+                return col;
+            }
+        }
+        throw new IllegalStateException("La grille est pleine");
+    }
+
+    private static int[] tirer(Random hasard, int nbCoups) {
+        Grille grille = new Grille();
+        Couleur joueur = Couleur.JAUNE;
+        int[] coups = new int[nbCoups];
+        for (int i = 0; i < nbCoups; i++) {
+            int col = -1;
+            for (int essai = 0; essai < 4 * Grille.NB_COLONNES && col < 0; essai++) {
+                int c = hasard.nextInt(Grille.NB_COLONNES);
+                if (!grille.isFullColonne(c) && !grille.estCoupGagnant(joueur, c)) {
+                    col = c;
+                }
+            }
+            if (col < 0) {
+                return null;
+            }
+            grille.jouerCoup(joueur, col);
+            coups[i] = col;
+            joueur = joueur.adverse();
+        }
+        return coups;
+    }
+}
@@ -0,0 +1,89 @@
+package benchmark;
+
+import business.Puissance4;
+import business.Puissance4Concurrent;
+import business.Puissance4Exception;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure un coup isolé joué par le contrôleur {@link Puissance4}, et par le contrôleur
+ * partageable {@link Puissance4Concurrent}, sur une grille vide, en milieu de partie et presque pleine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Puissance4Benchmark {
+
+    /**
+     * Nombre de jetons déjà posés : grille vide, milieu de partie, presque pleine.
+     */
+    @Param({"0", "20", "38"})
+    public int remplissage;
+
+    private Puissance4 jeu;
+    private Puissance4Concurrent jeuConcurrent;
+    private int colonne;
+
+    /**
+     * Prépare la partie de la mesure.
+     */
+    @Setup
+    public void preparer() {
+        this.jeu = Plateaux.jeu(Plateaux.coups(remplissage));
+        this.jeuConcurrent = new Puissance4Concurrent(this.jeu.getPartie());
+        this.colonne = Plateaux.colonneLibre(this.jeu.getPartie().getGrille());
+    }
+
+    /**
+     * Joue un coup par l'API historique puis l'annule.
+     *
+     * @throws Puissance4Exception si la colonne est pleine (n'arrive pas).
+     */
+    @Benchmark
+    public void jouer() throws Puissance4Exception {
+        this.jeu.jouer(this.colonne);
+        this.jeu.annulerCoup();
+    }
+
+    /**
+     * Joue un coup par l'API sans exception puis l'annule.
+     *
+     * @return le statut du coup.
+     * @throws Puissance4Exception si l'annulation échoue (n'arrive pas).
+     */
+    @Benchmark
+    public int tenterJouer() throws Puissance4Exception {
+        int statut = this.jeu.tenterJouer(this.colonne);
+        this.jeu.annulerCoup();
+        return statut;
+    }
+
+    /**
+     * Joue un coup par le contrôleur partageable puis l'annule : chaque action publie
+     * un nouvel instantané de la partie.
+     *
+     * @return le statut du coup.
+     * @throws Puissance4Exception si l'annulation échoue (n'arrive pas).
+     */
+    @Benchmark
+    public int tenterJouerConcurrent() throws Puissance4Exception {
+        int statut = this.jeuConcurrent.tenterJouer(this.colonne);
+        this.jeuConcurrent.annulerCoup();
+        return statut;
+    }
+}
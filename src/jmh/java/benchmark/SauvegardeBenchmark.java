@@ -0,0 +1,111 @@
+package benchmark;
+
+import business.FormatBinaire;
+import business.Partie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare l'encodage d'une partie par sérialisation Java (ancien format des sauvegardes)
+ * et par {@link FormatBinaire}, en mémoire pour ne pas mesurer le disque.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SauvegardeBenchmark {
+
+    /**
+     * Nombre de jetons déjà posés : grille vide, milieu de partie, presque pleine.
+     */
+    @Param({"0", "20", "38"})
+    public int remplissage;
+
+    private Partie partie;
+    private byte[] serialisee;
+    private byte[] binaire;
+
+    /**
+     * Prépare la partie et ses deux encodages.
+     *
+     * @throws IOException si la sérialisation échoue (n'arrive pas).
+     */
+    @Setup
+    public void preparer() throws IOException {
+        this.partie = Plateaux.jeu(Plateaux.coups(remplissage)).getPartie();
+        this.serialisee = serialiser();
+        this.binaire = FormatBinaire.encoder(this.partie);
+    }
+
+    /**
+     * Sérialise la partie avec {@link ObjectOutputStream}.
+     *
+     * @return les octets produits.
+     * @throws IOException si la sérialisation échoue (n'arrive pas).
+     */
+    @Benchmark
+    public byte[] sauvegarderSerialisation() throws IOException {
+        return serialiser();
+    }
+
+    /**
+     * Relit la partie avec {@link ObjectInputStream}.
+     *
+     * @return la partie relue.
+     * @throws IOException            si la lecture échoue (n'arrive pas).
+     * @throws ClassNotFoundException si la classe Partie est introuvable (n'arrive pas).
+     */
+    @Benchmark
+    public Object chargerSerialisation() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(this.serialisee))) {
+            return ois.readObject();
+        }
+    }
+
+    /**
+     * Encode la partie au format binaire.
+     *
+     * @return les octets produits.
+     */
+    @Benchmark
+    public byte[] sauvegarderBinaire() {
+        return FormatBinaire.encoder(this.partie);
+    }
+
+    /**
+     * Décode la partie au format binaire, en rejouant ses coups.
+     *
+     * @return la partie relue.
+     * @throws IOException si les octets sont invalides (n'arrive pas).
+     */
+    @Benchmark
+    public Partie chargerBinaire() throws IOException {
+        return FormatBinaire.decoder(this.binaire);
+    }
+
+    private byte[] serialiser() throws IOException {
+        ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(octets)) {
+            oos.writeObject(this.partie);
+        }
+        return octets.toByteArray();
+    }
+}
@@ -0,0 +1,169 @@
+package benchmark;
+
+import business.Grille;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import server.Protocole;
+import server.RegistreSessions;
+import server.ServeurJeu;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le coût d'un coup joué à travers le serveur.
+ * <p>
+ * {@link #executerCoup()} ne mesure que le traitement d'une commande {@code JOUER} par le
+ * protocole ; {@link #allerRetour()} mesure l'aller-retour complet d'un client sur la boucle
+ * locale, pile réseau comprise. Les deux jouent des coups aléatoires et passent à une nouvelle
+ * partie à chaque fin ; les commandes sont préparées à l'avance pour ne pas mesurer leur construction.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServeurBenchmark {
+
+    // Nombre de parties ouvertes à l'avance, et donc de parties jouées avant d'en rouvrir
+    private static final int NB_PARTIES = 1 << 12;
+
+    private final StringBuilder reponse = new StringBuilder(128);
+    private final SplittableRandom hasard = new SplittableRandom(42);
+    private Protocole protocole;
+    private String[][] commandes;
+    private int partie;
+
+    private ServeurJeu serveur;
+    private Socket client;
+    private OutputStream sortie;
+    private BufferedReader entree;
+    private byte[][] commandesClient;
+
+    /**
+     * Ouvre les parties du protocole en mémoire, démarre un serveur sur un port libre
+     * et y connecte un client.
+     *
+     * @throws IOException si le serveur ne peut pas démarrer.
+     */
+    @Setup(Level.Trial)
+    public void preparer() throws IOException {
+        this.protocole = new Protocole(new RegistreSessions());
+        this.commandes = ouvrirParties(this.protocole);
+
+        this.serveur = new ServeurJeu(0);
+        this.serveur.demarrer();
+        this.client = new Socket("localhost", this.serveur.getPort());
+        this.client.setTcpNoDelay(true);
+        this.sortie = this.client.getOutputStream();
+        this.entree = new BufferedReader(new InputStreamReader(this.client.getInputStream(), StandardCharsets.UTF_8));
+        this.commandesClient = ouvrirPartieClient();
+    }
+
+    /**
+     * Arrête le client et le serveur.
+     *
+     * @throws IOException si la fermeture du client échoue.
+     */
+    @TearDown(Level.Trial)
+    public void arreter() throws IOException {
+        this.client.close();
+        this.serveur.close();
+    }
+
+    /**
+     * Traite une commande {@code JOUER} dans le protocole, sans réseau.
+     *
+     * @return la longueur de la réponse.
+     */
+    @Benchmark
+    public int executerCoup() {
+        this.reponse.setLength(0);
+        this.protocole.executer(this.commandes[this.partie][this.hasard.nextInt(Grille.NB_COLONNES)], this.reponse);
+        if (partieFinie(this.reponse)) {
+            // On passe à la partie suivante ; après la dernière, on les rouvre toutes dans un nouveau registre
+            if (++this.partie == NB_PARTIES) {
+                this.protocole = new Protocole(new RegistreSessions());
+                this.commandes = ouvrirParties(this.protocole);
+                this.partie = 0;
+            }
+        }
+        return this.reponse.length();
+    }
+
+    /**
+     * Envoie une commande {@code JOUER} au serveur et attend sa réponse.
+     *
+     * @return la réponse du serveur.
+     * @throws IOException si la connexion est coupée.
+     */
+    @Benchmark
+    public String allerRetour() throws IOException {
+        this.sortie.write(this.commandesClient[this.hasard.nextInt(Grille.NB_COLONNES)]);
+        String reponse = this.entree.readLine();
+        if (partieFinie(reponse)) {
+            this.sortie.write(this.commandesClient[Grille.NB_COLONNES]);
+            this.entree.readLine();
+            this.commandesClient = ouvrirPartieClient();
+        }
+        return reponse;
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    // Ouvre NB_PARTIES parties et prépare, pour chacune, la commande JOUER de chaque colonne
+    private static String[][] ouvrirParties(Protocole protocole) {
+        String[][] commandes = new String[NB_PARTIES][];
+        StringBuilder reponse = new StringBuilder();
+        for (int i = 0; i < NB_PARTIES; i++) {
+            reponse.setLength(0);
+            protocole.executer("NOUVELLE", reponse);
+            commandes[i] = commandesJouer(reponse.substring(3));
+        }
+        return commandes;
+    }
+
+    // Ouvre une partie sur le serveur ; la dernière commande préparée la ferme
+    private byte[][] ouvrirPartieClient() throws IOException {
+        this.sortie.write("NOUVELLE\n".getBytes(StandardCharsets.UTF_8));
+        String id = this.entree.readLine().substring(3);
+        String[] lignes = commandesJouer(id);
+        byte[][] commandes = new byte[Grille.NB_COLONNES + 1][];
+        for (int col = 0; col < Grille.NB_COLONNES; col++) {
+            commandes[col] = (lignes[col] + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+        commandes[Grille.NB_COLONNES] = ("FIN " + id + "\n").getBytes(StandardCharsets.UTF_8);
+        return commandes;
+    }
+
+    // Seuls COUP_JOUE et COLONNE_PLEINE laissent la partie continuer
+    private static boolean partieFinie(CharSequence reponse) {
+        return reponse.charAt(3) != 'C' && reponse.charAt(4) != 'C';
+    }
+
+    private static String[] commandesJouer(String id) {
+        String[] commandes = new String[Grille.NB_COLONNES];
+        for (int col = 0; col < Grille.NB_COLONNES; col++) {
+            commandes[col] = "JOUER " + id + " " + col;
+        }
+        return commandes;
+    }
+}
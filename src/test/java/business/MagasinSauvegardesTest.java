@@ -0,0 +1,142 @@
+package business;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MagasinSauvegardesTest {
+
+    private static final int NB_EMPLACEMENTS = 3000;
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void relitLesSauvegardesApresReouverture() throws IOException {
+        Path fichier = this.dossier.resolve("magasin.p4s");
+        Partie partie = partie(3, 3, 4);
+        try (MagasinSauvegardes magasin = new MagasinSauvegardes(fichier)) {
+            assertEquals(0, magasin.ajouter(partie, "première"));
+            assertEquals(1, magasin.ajouter(partie(0), "seconde"));
+            assertTrue(magasin.supprimer(1));
+        }
+        try (MagasinSauvegardes magasin = new MagasinSauvegardes(fichier)) {
+            assertEquals(1, magasin.getNombreSauvegardes());
+            assertEquals("première", magasin.getResume(0).getNom());
+            assertArrayEquals(partie.getHistoriqueCoups(), magasin.charger(0).getHistoriqueCoups());
+            assertNull(magasin.charger(1));
+        }
+    }
+
+    @Test
+    void neRessusciteAucuneSuppressionFaitePendantUnCompactage() throws Exception {
+        // La suppression doit tomber pendant la recopie : on recommence pour multiplier les entrelacements
+        for (int essai = 0; essai < 20; essai++) {
+            Path fichier = this.dossier.resolve("compactage-" + essai + ".p4s");
+            long octetsMorts;
+            try (MagasinSauvegardes magasin = new MagasinSauvegardes(fichier)) {
+                for (int passe = 0; passe < 2; passe++) {
+                    for (int id = 0; id < NB_EMPLACEMENTS; id++) {
+                        magasin.sauvegarder(id, partie(id % 7), null);
+                    }
+                }
+                var compactage = magasin.compacter();
+                for (int id = 0; id < NB_EMPLACEMENTS; id += 2) {
+                    magasin.supprimer(id);
+                }
+                compactage.get();
+                assertEquals(NB_EMPLACEMENTS / 2, magasin.getNombreSauvegardes());
+                octetsMorts = magasin.getOctetsMorts();
+            }
+            try (MagasinSauvegardes magasin = new MagasinSauvegardes(fichier)) {
+                assertEquals(NB_EMPLACEMENTS / 2, magasin.lister().size(), "essai " + essai);
+                assertNull(magasin.getResume(0));
+                assertNotNull(magasin.getResume(1));
+                // Les copies périmées restent comptées comme mortes
+                assertEquals(octetsMorts, magasin.getOctetsMorts(), "essai " + essai);
+            }
+        }
+    }
+
+    @Test
+    void compacterPorteSurToutCeQuiPrecedeLAppel() throws Exception {
+        Path fichier = this.dossier.resolve("attente.p4s");
+        try (MagasinSauvegardes magasin = new MagasinSauvegardes(fichier)) {
+            for (int id = 0; id < NB_EMPLACEMENTS; id++) {
+                magasin.sauvegarder(id, partie(1), null);
+            }
+            var premier = magasin.compacter();
+            for (int id = 0; id < NB_EMPLACEMENTS; id++) {
+                magasin.supprimer(id);
+            }
+            magasin.compacter().get();
+            assertTrue(premier.isDone());
+            assertEquals(0, magasin.getNombreSauvegardes());
+            assertEquals(0, magasin.getOctetsMorts());
+        }
+    }
+
+    @Test
+    void neReattribuePasLesIdentifiantsSupprimesOuReserves() throws Exception {
+        Path fichier = this.dossier.resolve("identifiants.p4s");
+        try (MagasinSauvegardes magasin = new MagasinSauvegardes(fichier)) {
+            magasin.ajouter(partie(0), null);
+            magasin.ajouter(partie(1), null);
+            magasin.supprimer(1);
+            magasin.reserver(9);
+            magasin.compacter().get();
+        }
+        try (MagasinSauvegardes magasin = new MagasinSauvegardes(fichier)) {
+            assertEquals(10, magasin.getProchainId());
+            assertEquals(10, magasin.ajouter(partie(2), null));
+        }
+    }
+
+    @Test
+    void effaceUnEnregistrementIntactMaisIllisible() throws IOException {
+        Path fichier = this.dossier.resolve("illisible.p4s");
+        long tailleSaine;
+        try (MagasinSauvegardes magasin = new MagasinSauvegardes(fichier)) {
+            magasin.ajouter(partie(3), null);
+            tailleSaine = magasin.getTailleFichier();
+        }
+        // Somme de contrôle juste, mais la partie n'est pas au format binaire
+        byte[] partie = {9, 9, 9, 9, 9};
+        ByteBuffer enregistrement = ByteBuffer.allocate(16 + partie.length + 4);
+        enregistrement.put((byte) 1).putInt(5).putLong(0).putShort((short) 0).put((byte) partie.length).put(partie);
+        CRC32 crc = new CRC32();
+        crc.update(enregistrement.array(), 0, enregistrement.position());
+        enregistrement.putInt((int) crc.getValue()).flip();
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.APPEND)) {
+            canal.write(enregistrement);
+        }
+
+        try (MagasinSauvegardes magasin = new MagasinSauvegardes(fichier)) {
+            assertEquals(1, magasin.getNombreSauvegardes());
+            assertNull(magasin.getResume(5));
+            assertEquals(tailleSaine, magasin.getTailleFichier());
+        }
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    private static Partie partie(int... colonnes) {
+        Puissance4 jeu = new Puissance4(new Partie(Couleur.JAUNE));
+        for (int colonne : colonnes) {
+            jeu.tenterJouer(colonne);
+        }
+        return jeu.getPartie();
+    }
+}
@@ -0,0 +1,100 @@
+package server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegistreSessionsTest {
+
+    private static final int NB_SESSIONS = 3000;
+    private static final int CAPACITE = 100;
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void retrouveApresRedemarrageExactementLesSessionsOuvertes() throws IOException {
+        Path fichier = this.dossier.resolve("sessions.p4s");
+        long premier;
+        try (RegistreSessions registre = new RegistreSessions(fichier, CAPACITE, 0)) {
+            premier = registre.creer().getId();
+            for (int i = 1; i < NB_SESSIONS; i++) {
+                registre.creer();
+            }
+            for (long id = premier; id < premier + NB_SESSIONS; id++) {
+                jouer(registre, id);
+            }
+            // FIN sur des sessions en mémoire ou déjà évincées
+            for (long id = premier; id < premier + NB_SESSIONS; id += 3) {
+                assertTrue(registre.fermer(id));
+            }
+        }
+
+        long dernier;
+        try (RegistreSessions registre = new RegistreSessions(fichier, CAPACITE, 0)) {
+            for (long id = premier; id < premier + NB_SESSIONS; id++) {
+                if ((id - premier) % 3 == 1) {
+                    // Fermée sur disque sans être rechargée
+                    assertTrue(registre.fermer(id));
+                } else if ((id - premier) % 3 == 2) {
+                    // Rechargée, jouée, puis évincée de nouveau par la capacité ou la fermeture
+                    jouer(registre, id);
+                }
+            }
+            dernier = registre.creer().getId();
+            assertTrue(dernier >= premier + NB_SESSIONS);
+        }
+
+        try (RegistreSessions registre = new RegistreSessions(fichier, CAPACITE, 0)) {
+            for (long id = premier; id < premier + NB_SESSIONS; id++) {
+                Session session = registre.ouvrir(id);
+                if ((id - premier) % 3 != 2) {
+                    assertNull(session, "session " + id);
+                    continue;
+                }
+                assertNotNull(session, "session " + id);
+                try {
+                    assertEquals(2, session.getEtat().getNbCoups(), "session " + id);
+                } finally {
+                    session.liberer();
+                }
+            }
+            // Aucun numéro déjà donné, même à une session fermée, n'est redistribué
+            assertTrue(registre.creer().getId() > dernier);
+        }
+    }
+
+    @Test
+    void neRedistribuePasLeNumeroDUneSessionFermee() throws IOException {
+        Path fichier = this.dossier.resolve("numeros.p4s");
+        long ferme;
+        try (RegistreSessions registre = new RegistreSessions(fichier, CAPACITE, 0)) {
+            registre.creer();
+            ferme = registre.creer().getId();
+            assertTrue(registre.fermer(ferme));
+        }
+        try (RegistreSessions registre = new RegistreSessions(fichier, CAPACITE, 0)) {
+            assertTrue(registre.creer().getId() > ferme);
+            assertNull(registre.ouvrir(ferme));
+        }
+    }
+
+    // --- MÉTHODES PRIVÉES ---
+
+    private static void jouer(RegistreSessions registre, long id) throws IOException {
+        Session session = registre.ouvrir(id);
+        assertNotNull(session, "session " + id);
+        try {
+            session.jouer((int) (id % 7));
+        } finally {
+            session.liberer();
+        }
+    }
+}